@@ -0,0 +1,115 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vgplan.plan.Database;
+import org.vgplan.plan.KanbanProjectManager;
+import org.vgplan.plan.KanbanProjectManager.Task;
+import org.vgplan.plan.TaskRepository;
+
+/**
+ * Board load through the pooled {@link TaskRepository}: the first page of
+ * every column, as shown at start-up, and a keyset walk over all pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardLoadBenchmark {
+    /** Rows per column page, as in {@code KanbanProjectManager}. */
+    static final int PAGE_SIZE = 200;
+
+    @Param({ "1000", "10000", "100000" })
+    public int tasks;
+
+    private TaskRepository repository;
+
+    /**
+     * Opens the pools on the generated project.
+     *
+     * @throws IOException  if the project cannot be generated
+     * @throws SQLException if the project cannot be generated
+     */
+    @Setup
+    public void open() throws IOException, SQLException {
+        Database.open(SyntheticProject.jdbcUrl(SyntheticProject.database(tasks)));
+        repository = new TaskRepository(Database.reader(), Database.writer());
+    }
+
+    /**
+     * Closes the pools.
+     */
+    @TearDown
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * The queries behind the first paint of the board: the status fix-up and
+     * one page per column.
+     *
+     * @param bh consumes the pages
+     * @throws SQLException if a query fails
+     */
+    @Benchmark
+    public void firstPages(Blackhole bh) throws SQLException {
+        List<String> statuses = KanbanProjectManager.STATUS_LIST;
+        bh.consume(repository.resetUnknownStatuses(statuses, statuses.get(0)));
+        for (String status : statuses) {
+            bh.consume(repository.loadPage(status, 0, PAGE_SIZE));
+        }
+    }
+
+    /**
+     * Every page of every column, as when all columns are scrolled to the end.
+     *
+     * @return the number of tasks read
+     * @throws SQLException if a query fails
+     */
+    @Benchmark
+    public int allPages() throws SQLException {
+        int read = 0;
+        for (String status : KanbanProjectManager.STATUS_LIST) {
+            List<Task> page;
+            int afterId = 0;
+            do {
+                page = repository.loadPage(status, afterId, PAGE_SIZE);
+                read += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).id();
+                }
+            } while (page.size() == PAGE_SIZE);
+        }
+        return read;
+    }
+
+    /**
+     * The per-status counts printed by {@code KanbanCli count}.
+     *
+     * @return the counts
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public Map<String, Integer> countByStatus() throws SQLException {
+        return repository.countByStatus();
+    }
+}
@@ -0,0 +1,83 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vgplan.plan.BulkImporter;
+import org.vgplan.plan.Database;
+
+/**
+ * Importing a whole project CSV into an empty database with
+ * {@link BulkImporter}, including the change log triggers. Every invocation
+ * starts from a fresh file, so the mode is single shot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int tasks;
+
+    private Path csv;
+
+    /**
+     * Generates the CSV once.
+     *
+     * @throws IOException if it cannot be written
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        csv = SyntheticProject.csv(tasks);
+    }
+
+    /**
+     * Creates an empty database and opens the pools on it.
+     *
+     * @throws IOException  if the old file cannot be removed
+     * @throws SQLException if the schema cannot be created
+     */
+    @Setup(Level.Invocation)
+    public void open() throws IOException, SQLException {
+        Path db = SyntheticProject.emptyDatabase(SyntheticProject.dataDirectory().resolve("import-" + tasks + ".db"));
+        Database.open(SyntheticProject.jdbcUrl(db));
+    }
+
+    /**
+     * Closes the pools.
+     */
+    @TearDown(Level.Invocation)
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * Imports the CSV.
+     *
+     * @return the import report
+     * @throws IOException  if the file cannot be read
+     * @throws SQLException if the import fails
+     */
+    @Benchmark
+    public BulkImporter.ImportReport importCsv() throws IOException, SQLException {
+        return new BulkImporter(Database.writer()).importFile(csv, report -> {
+        });
+    }
+}
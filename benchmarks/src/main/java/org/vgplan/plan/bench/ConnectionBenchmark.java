@@ -0,0 +1,72 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vgplan.plan.Database;
+
+/**
+ * Cost of borrowing a reader connection from the Hikari pool, as the board
+ * does, against opening one per call, as {@code KanbanCli} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionBenchmark {
+    @Param({ "true", "false" })
+    public boolean pooled;
+
+    /**
+     * Opens the smallest generated project, pooled or not.
+     *
+     * @throws IOException  if the project cannot be generated
+     * @throws SQLException if the project cannot be generated
+     */
+    @Setup
+    public void open() throws IOException, SQLException {
+        String url = SyntheticProject.jdbcUrl(SyntheticProject.database(1000));
+        if (pooled) {
+            Database.open(url);
+        } else {
+            Database.openUnpooled(url);
+        }
+    }
+
+    /**
+     * Closes the database.
+     */
+    @TearDown
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * Gets a reader connection and gives it back.
+     *
+     * @return the auto-commit flag, so the borrow cannot be optimized away
+     * @throws SQLException if no connection can be had
+     */
+    @Benchmark
+    public boolean borrowReader() throws SQLException {
+        try (Connection conn = Database.reader().getConnection()) {
+            return conn.getAutoCommit();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vgplan.plan.Database;
+import org.vgplan.plan.DatabaseUtil;
+import org.vgplan.plan.HierarchyExporter;
+import org.vgplan.plan.HierarchyNode;
+import org.vgplan.plan.HierarchyTreeLoader;
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * Building the project hierarchy: the eager tree of every node, the lazy
+ * path the dialog loads to reach the first task, and the streaming export.
+ * Tree items are created without starting the JavaFX toolkit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HierarchyBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int tasks;
+
+    private final DatabaseUtil dbUtil = new DatabaseUtil();
+
+    /**
+     * Opens the pools on the generated project.
+     *
+     * @throws IOException  if the project cannot be generated
+     * @throws SQLException if the project cannot be generated
+     */
+    @Setup
+    public void open() throws IOException, SQLException {
+        Database.open(SyntheticProject.jdbcUrl(SyntheticProject.database(tasks)));
+    }
+
+    /**
+     * Closes the pools.
+     */
+    @TearDown
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * Loads every phase, epic, task and sub-task into a tree.
+     *
+     * @return the root item
+     * @throws SQLException if a level query fails
+     */
+    @Benchmark
+    public TreeItem<HierarchyNode> eagerTree() throws SQLException {
+        TreeItem<HierarchyNode> root = new TreeItem<>(new HierarchyNode(HierarchyType.ROOT, null, "root"));
+        try (Connection conn = Database.reader().getConnection()) {
+            new HierarchyTreeLoader().load(conn, root);
+        }
+        return root;
+    }
+
+    /**
+     * Expands the root, the first phase, its first epic and its first task,
+     * one child query each.
+     *
+     * @return the children of the first task
+     * @throws SQLException if a query fails
+     */
+    @Benchmark
+    public List<DatabaseUtil.HierarchyRow> lazyFirstPath() throws SQLException {
+        List<DatabaseUtil.HierarchyRow> rows = dbUtil.loadChildRows(new HierarchyNode(HierarchyType.ROOT, null, "root"));
+        for (int level = 0; level < 3 && !rows.isEmpty(); level++) {
+            rows = dbUtil.loadChildRows(rows.get(0).node());
+        }
+        return rows;
+    }
+
+    /**
+     * Streams the whole hierarchy as JSON to a discarding writer.
+     *
+     * @return the export counts
+     * @throws IOException  never, the writer discards
+     * @throws SQLException if a query fails
+     */
+    @Benchmark
+    public HierarchyExporter.ExportReport exportJson() throws IOException, SQLException {
+        return new HierarchyExporter(Database.reader()).export(Writer.nullWriter(), HierarchyExporter.Format.JSON);
+    }
+}
@@ -0,0 +1,109 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vgplan.plan.Database;
+import org.vgplan.plan.DatabaseUtil;
+import org.vgplan.plan.HierarchyNode;
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+import org.vgplan.plan.TaskRepository;
+
+/**
+ * Deleting from the hierarchy: a whole phase subtree, one epic and one
+ * board task. Every invocation works on a fresh copy of the project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HierarchyDeleteBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int tasks;
+
+    private int phaseId;
+    private int epicId;
+    private int taskId;
+
+    /**
+     * Copies the generated project, opens the pools on the copy and picks
+     * the first phase, epic and task.
+     *
+     * @throws IOException  if the copy fails
+     * @throws SQLException if the ids cannot be read
+     */
+    @Setup(Level.Invocation)
+    public void open() throws IOException, SQLException {
+        Path copy = SyntheticProject.copy(tasks, SyntheticProject.dataDirectory().resolve("delete-" + tasks + ".db"));
+        Database.open(SyntheticProject.jdbcUrl(copy));
+        try (Connection conn = Database.reader().getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT (SELECT MIN(phase_id) FROM project_phases), "
+                        + "(SELECT MAX(epic_id) FROM epics), (SELECT MAX(id) FROM tasks)")) {
+            rs.next();
+            phaseId = rs.getInt(1);
+            epicId = rs.getInt(2);
+            taskId = rs.getInt(3);
+        }
+    }
+
+    /**
+     * Closes the pools.
+     */
+    @TearDown(Level.Invocation)
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * Deletes the first phase with its epics, tasks and sub-tasks.
+     *
+     * @return what was deleted
+     * @throws SQLException if the delete fails
+     */
+    @Benchmark
+    public DatabaseUtil.DeletedSubtree deletePhase() throws SQLException {
+        return new DatabaseUtil().deleteHierarchyNode(new HierarchyNode(HierarchyType.PHASE, phaseId, "Phase"));
+    }
+
+    /**
+     * Deletes the last epic with its tasks and sub-tasks.
+     *
+     * @return what was deleted
+     * @throws SQLException if the delete fails
+     */
+    @Benchmark
+    public DatabaseUtil.DeletedSubtree deleteEpic() throws SQLException {
+        return new DatabaseUtil().deleteHierarchyNode(new HierarchyNode(HierarchyType.EPIC, epicId, "Epic"));
+    }
+
+    /**
+     * Deletes the last task from the board.
+     *
+     * @return whether the task was deleted
+     * @throws SQLException if the delete fails
+     */
+    @Benchmark
+    public boolean deleteTask() throws SQLException {
+        return new TaskRepository(Database.reader(), Database.writer()).delete(taskId);
+    }
+}
@@ -0,0 +1,178 @@
+package org.vgplan.plan.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.vgplan.plan.BulkImporter;
+import org.vgplan.plan.Database;
+import org.vgplan.plan.KanbanProjectManager;
+import org.vgplan.plan.SchemaMigrator;
+
+/**
+ * Generates reproducible project databases for the benchmarks. A project of
+ * {@code n} tasks has 50 tasks per epic and 20 epics per phase, and every
+ * other task has one sub-task; statuses, assignees, priorities and due dates
+ * are drawn from a fixed seed. The data is written as an import CSV and
+ * loaded with {@link BulkImporter}, so the databases have the production
+ * schema and indexes.
+ * <p>
+ * Files are kept under {@code target/bench-data} (or the directory in the
+ * {@code vgplan.bench.dir} system property) and reused by later runs.
+ */
+public final class SyntheticProject {
+    /** Tasks per epic. */
+    public static final int TASKS_PER_EPIC = 50;
+    /** Epics per phase. */
+    public static final int EPICS_PER_PHASE = 20;
+
+    private static final long SEED = 42;
+    private static final List<String> ASSIGNEES = List.of("Anil", "Bhavana", "Chen", "Dana", "Emeka", "Farah",
+            "Goran", "Hiro");
+    private static final List<String> MODULES = List.of("Ingress", "Egress", "MDM Customization", "Planning",
+            "General");
+    private static final List<String> PRIORITIES = List.of("High", "Medium", "Low");
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2025, 1, 1);
+
+    private SyntheticProject() {
+    }
+
+    /**
+     * Returns the directory holding the generated files.
+     *
+     * @return the data directory, created if missing
+     * @throws IOException if it cannot be created
+     */
+    public static Path dataDirectory() throws IOException {
+        return Files.createDirectories(Path.of(System.getProperty("vgplan.bench.dir", "target/bench-data")));
+    }
+
+    /**
+     * Returns the import CSV of a project, writing it on first use.
+     *
+     * @param tasks the number of tasks
+     * @return the CSV file
+     * @throws IOException if the file cannot be written
+     */
+    public static Path csv(int tasks) throws IOException {
+        Path file = dataDirectory().resolve("project-" + tasks + ".csv");
+        if (!Files.exists(file)) {
+            Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+            writeCsv(partial, tasks);
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * Returns a populated template database, generating it on first use.
+     * Benchmarks that write should work on a {@link #copy(int, Path)}.
+     *
+     * @param tasks the number of tasks
+     * @return the database file
+     * @throws IOException  if the files cannot be written
+     * @throws SQLException if the import fails
+     */
+    public static Path database(int tasks) throws IOException, SQLException {
+        Path file = dataDirectory().resolve("project-" + tasks + ".db");
+        if (!Files.exists(file)) {
+            Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.deleteIfExists(partial);
+            Database.openUnpooled(jdbcUrl(partial));
+            try {
+                migrate();
+                new BulkImporter(Database.writer()).importFile(csv(tasks), report -> {
+                });
+            } finally {
+                Database.close();
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * Copies the template database of a project.
+     *
+     * @param tasks  the number of tasks
+     * @param target the file to write
+     * @return the copy
+     * @throws IOException  if the copy fails
+     * @throws SQLException if the template cannot be generated
+     */
+    public static Path copy(int tasks, Path target) throws IOException, SQLException {
+        Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-wal"));
+        Files.deleteIfExists(target.resolveSibling(target.getFileName() + "-shm"));
+        return Files.copy(database(tasks), target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Creates an empty database with the current schema.
+     *
+     * @param target the file to write; an existing file is replaced
+     * @return the database file
+     * @throws IOException  if the old file cannot be removed
+     * @throws SQLException if the schema cannot be created
+     */
+    public static Path emptyDatabase(Path target) throws IOException, SQLException {
+        for (String suffix : List.of("", "-wal", "-shm")) {
+            Files.deleteIfExists(target.resolveSibling(target.getFileName() + suffix));
+        }
+        Database.openUnpooled(jdbcUrl(target));
+        try {
+            migrate();
+        } finally {
+            Database.close();
+        }
+        return target;
+    }
+
+    /**
+     * Returns the JDBC URL of a database file.
+     *
+     * @param file the database file
+     * @return the SQLite JDBC URL
+     */
+    public static String jdbcUrl(Path file) {
+        return "jdbc:sqlite:" + file.toAbsolutePath();
+    }
+
+    private static void migrate() throws SQLException {
+        try (Connection conn = Database.writer().getConnection()) {
+            new SchemaMigrator().migrate(conn);
+        }
+    }
+
+    /**
+     * Writes one import record per task, naming its phase, epic and, for
+     * every other task, a sub-task.
+     */
+    private static void writeCsv(Path file, int tasks) throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<String> statuses = KanbanProjectManager.STATUS_LIST;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("phase,epic,task,subtask,status,priority,assignee,module,due_date,description\n");
+            for (int t = 0; t < tasks; t++) {
+                int epic = t / TASKS_PER_EPIC;
+                int phase = epic / EPICS_PER_PHASE;
+                out.write(String.join(",", "Phase " + phase, "Epic " + epic, "Task " + t,
+                        t % 2 == 0 ? "Sub-task " + t : "",
+                        statuses.get(random.nextInt(statuses.size())),
+                        PRIORITIES.get(random.nextInt(PRIORITIES.size())),
+                        ASSIGNEES.get(random.nextInt(ASSIGNEES.size())),
+                        MODULES.get(random.nextInt(MODULES.size())),
+                        FIRST_DUE_DATE.plusDays(random.nextInt(365)).toString(),
+                        "Synthetic task " + t + " for benchmarking"));
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.vgplan.plan.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vgplan.plan.Database;
+import org.vgplan.plan.KanbanProjectManager;
+import org.vgplan.plan.TaskRepository;
+
+/**
+ * Moving a single card: one committed status update through the writer
+ * pool, the write behind every drag and drop. Runs on a copy of the project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMoveBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int tasks;
+
+    private TaskRepository repository;
+    private int[] taskIds;
+    private int next;
+
+    /**
+     * Copies the generated project and opens the pools on the copy.
+     *
+     * @throws IOException  if the copy fails
+     * @throws SQLException if the task ids cannot be read
+     */
+    @Setup
+    public void open() throws IOException, SQLException {
+        Path copy = SyntheticProject.copy(tasks, SyntheticProject.dataDirectory().resolve("move-" + tasks + ".db"));
+        Database.open(SyntheticProject.jdbcUrl(copy));
+        repository = new TaskRepository(Database.reader(), Database.writer());
+        try (Connection conn = Database.reader().getConnection(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT id FROM tasks ORDER BY id")) {
+            taskIds = new int[tasks];
+            int count = 0;
+            while (rs.next() && count < tasks) {
+                taskIds[count++] = rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Closes the pools.
+     */
+    @TearDown
+    public void close() {
+        Database.close();
+    }
+
+    /**
+     * Moves the next task, spread over the table, to the next column.
+     *
+     * @return whether the task was updated
+     * @throws SQLException if the update fails
+     */
+    @Benchmark
+    public boolean move() throws SQLException {
+        List<String> statuses = KanbanProjectManager.STATUS_LIST;
+        int i = next++;
+        int taskId = taskIds[(int) ((i * 7919L) % taskIds.length)];
+        return repository.updateStatus(taskId, statuses.get(i % statuses.size()));
+    }
+}
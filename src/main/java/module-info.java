@@ -4,6 +4,7 @@ module org.vgplan.plan {
     requires transitive javafx.graphics;
     requires org.kordamp.bootstrapfx.core;
     requires java.sql;
+    requires java.management;
     requires com.zaxxer.hikari;
 
     opens org.vgplan.plan to javafx.fxml;
@@ -0,0 +1,159 @@
+package org.vgplan.plan;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Runs JDBC work off the JavaFX Application Thread.
+ * <p>
+ * Reads run on virtual threads, at most {@link #MAX_CONCURRENT_READS} at a
+ * time. Writes run one after another on a single writer thread, so two quick
+ * edits of the same task reach the database in the order they were made.
+ * Results are handed back to the UI with {@link #onFxThread}.
+ * <p>
+ * Each call is named, and with {@link Metrics} enabled its run time is
+ * recorded as {@code db.read.<name>} or {@code db.write.<name>}, and the time
+ * it waited for a thread or permit as {@code db.read.queue} or
+ * {@code db.write.queue}.
+ */
+public final class AsyncDataAccess {
+    /** Upper bound on reads running at the same time. */
+    public static final int MAX_CONCURRENT_READS = 4;
+
+    private static final Semaphore READ_PERMITS = new Semaphore(MAX_CONCURRENT_READS);
+    private static final ExecutorService READ_EXECUTOR = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("db-read-", 0).factory());
+    private static final ExecutorService WRITE_EXECUTOR = Executors
+            .newSingleThreadExecutor(Thread.ofVirtual().name("db-write").factory());
+
+    /**
+     * A unit of JDBC work.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        /**
+         * Runs the work.
+         *
+         * @return the result
+         * @throws SQLException if the database access fails
+         */
+        T call() throws SQLException;
+    }
+
+    private AsyncDataAccess() {
+    }
+
+    /**
+     * Runs a read on a virtual thread, bounded by the read permits.
+     *
+     * @param name names the call in the metrics
+     * @param call the work to run
+     * @param <T>  the result type
+     * @return a future completed with the result
+     */
+    public static <T> CompletableFuture<T> read(String name, SqlCall<T> call) {
+        long queued = Metrics.start();
+        return CompletableFuture.supplyAsync(() -> {
+            READ_PERMITS.acquireUninterruptibly();
+            try {
+                Metrics.stop("db.read.queue", queued);
+                return run("db.read." + name, call);
+            } finally {
+                READ_PERMITS.release();
+            }
+        }, READ_EXECUTOR);
+    }
+
+    /**
+     * Queues a write on the single writer thread.
+     *
+     * @param name names the call in the metrics
+     * @param call the work to run
+     * @param <T>  the result type
+     * @return a future completed with the result
+     */
+    public static <T> CompletableFuture<T> write(String name, SqlCall<T> call) {
+        long queued = Metrics.start();
+        return CompletableFuture.supplyAsync(() -> {
+            Metrics.stop("db.write.queue", queued);
+            return run("db.write." + name, call);
+        }, WRITE_EXECUTOR);
+    }
+
+    /**
+     * Delivers the outcome of a future on the JavaFX Application Thread.
+     *
+     * @param future    the future to observe
+     * @param onSuccess receives the result
+     * @param onFailure receives the underlying cause of a failure
+     * @param <T>       the result type
+     */
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess,
+            Consumer<Throwable> onFailure) {
+        onThread(Platform::runLater, future, onSuccess, onFailure);
+    }
+
+    /**
+     * Delivers the outcome of a future through an executor, normally the
+     * JavaFX Application Thread.
+     *
+     * @param thread    runs the callback
+     * @param future    the future to observe
+     * @param onSuccess receives the result
+     * @param onFailure receives the underlying cause of a failure
+     * @param <T>       the result type
+     */
+    static <T> void onThread(Executor thread, CompletableFuture<T> future, Consumer<T> onSuccess,
+            Consumer<Throwable> onFailure) {
+        future.whenComplete((result, error) -> thread.execute(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            }
+        }));
+    }
+
+    /**
+     * Stops accepting work and waits briefly for queued writes to finish.
+     */
+    public static void shutdown() {
+        WRITE_EXECUTOR.shutdown();
+        READ_EXECUTOR.shutdown();
+        try {
+            if (!WRITE_EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Pending database writes did not finish before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs and times a call, wrapping a checked SQL failure for the future.
+     */
+    private static <T> T run(String timer, SqlCall<T> call) {
+        long start = Metrics.start();
+        try {
+            return call.call();
+        } catch (SQLException e) {
+            Metrics.count(timer + ".errors", 1);
+            throw new CompletionException(e);
+        } finally {
+            Metrics.stop(timer, start);
+        }
+    }
+}
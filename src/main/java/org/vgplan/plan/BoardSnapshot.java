@@ -0,0 +1,168 @@
+package org.vgplan.plan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Compact binary copy of the cards on the board, written when the application
+ * stops and painted at the next start before the database is opened. It is
+ * only a first impression: the board reconciles every column against SQLite
+ * in the background.
+ * <p>
+ * The file holds a magic number and format version, a table of the distinct
+ * assignee, module and priority strings, and then per column its status and
+ * the card fields of its first tasks, with strings as table indexes and due
+ * dates as epoch days. Titles and table strings are stored as a byte count
+ * and UTF-8 bytes, so no length limit applies. A file that does not match the current format or
+ * statuses is ignored.
+ */
+public final class BoardSnapshot {
+    /** Most cards kept per column. */
+    public static final int MAX_TASKS_PER_COLUMN = 200;
+
+    private static final int MAGIC = 0x56474253; // "VGBS"
+    private static final short VERSION = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private BoardSnapshot() {
+    }
+
+    /**
+     * Writes the first cards of every column. The file is replaced
+     * atomically, so a crash never leaves a torn snapshot behind.
+     *
+     * @param file    the snapshot file
+     * @param columns the tasks of each column in display order, keyed by status
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Map<String, List<Task>> columns) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, List<Task>> shown = new LinkedHashMap<>();
+        columns.forEach((status, tasks) -> {
+            List<Task> head = tasks.subList(0, Math.min(tasks.size(), MAX_TASKS_PER_COLUMN));
+            shown.put(status, head);
+            for (Task task : head) {
+                for (String value : new String[] { task.assignee(), task.module(), task.priority() }) {
+                    if (value != null && index.putIfAbsent(value, strings.size()) == null) {
+                        strings.add(value);
+                    }
+                }
+            }
+        });
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                writeString(out, value);
+            }
+            out.writeShort(shown.size());
+            for (Map.Entry<String, List<Task>> column : shown.entrySet()) {
+                out.writeUTF(column.getKey());
+                out.writeInt(column.getValue().size());
+                for (Task task : column.getValue()) {
+                    writeTask(out, task, index);
+                }
+            }
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot written for the same columns.
+     *
+     * @param file     the snapshot file
+     * @param statuses the board statuses in column order
+     * @return the tasks, or an empty list if there is no usable snapshot
+     */
+    public static List<Task> read(Path file, List<String> statuses) {
+        long start = Metrics.start();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                return List.of();
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(in);
+            }
+            int columnCount = in.readShort();
+            if (columnCount != statuses.size()) {
+                return List.of();
+            }
+            List<Task> tasks = new ArrayList<>();
+            for (String status : statuses) {
+                if (!status.equals(in.readUTF())) {
+                    return List.of();
+                }
+                for (int n = in.readInt(); n > 0; n--) {
+                    tasks.add(readTask(in, status, strings));
+                }
+            }
+            Metrics.stop("board.snapshot.read", start);
+            return tasks;
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable board snapshot " + file + ": " + e);
+            return List.of();
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task task, Map<String, Integer> index) throws IOException {
+        out.writeInt(task.id());
+        writeString(out, task.title());
+        out.writeInt(task.assignee() == null ? -1 : index.get(task.assignee()));
+        out.writeInt(task.module() == null ? -1 : index.get(task.module()));
+        out.writeInt(task.priority() == null ? -1 : index.get(task.priority()));
+        out.writeLong(task.dueDate() == null ? NO_DATE : task.dueDate().toEpochDay());
+    }
+
+    private static Task readTask(DataInputStream in, String status, String[] strings) throws IOException {
+        int id = in.readInt();
+        String title = readString(in);
+        String assignee = lookup(strings, in.readInt());
+        String module = lookup(strings, in.readInt());
+        String priority = lookup(strings, in.readInt());
+        long dueDate = in.readLong();
+        return Task.of(id, title, null, assignee, module, status, priority,
+                dueDate == NO_DATE ? null : LocalDate.ofEpochDay(dueDate));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Snapshot ends inside a string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String lookup(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+}
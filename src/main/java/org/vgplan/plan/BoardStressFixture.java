@@ -0,0 +1,178 @@
+package org.vgplan.plan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Synthetic load for the board. When the application is started with
+ * {@code -Dvgplan.stressTasks=50000} the columns are filled with generated tasks
+ * instead of the database contents, every column scrolls continuously for a few
+ * seconds and the frame times are printed to standard output.
+ * <p>
+ * The run uses a temporary database seeded with the same tasks instead of
+ * {@code project_kanban.db}, so moving, editing or deleting synthetic cards
+ * exercises the real write paths without touching project data.
+ */
+public final class BoardStressFixture {
+    /** System property holding the number of synthetic tasks to load. */
+    public static final String TASK_COUNT_PROPERTY = "vgplan.stressTasks";
+    /** How long frame times are recorded, in seconds. */
+    public static final int RECORD_SECONDS = 10;
+
+    private static final String[] PRIORITIES = { "High", "Medium", "Low" };
+
+    private BoardStressFixture() {
+    }
+
+    /**
+     * Returns the requested number of synthetic tasks.
+     *
+     * @return the task count, or 0 when the fixture is disabled
+     */
+    public static int requestedTaskCount() {
+        return Integer.getInteger(TASK_COUNT_PROPERTY, 0);
+    }
+
+    /**
+     * Generates tasks spread over the given statuses, weighted towards the last
+     * one the way a long-running board collects "Done" tasks.
+     *
+     * @param count    the number of tasks
+     * @param statuses the column statuses
+     * @return the generated tasks with ids 1..count
+     */
+    public static List<Task> generateTasks(int count, List<String> statuses) {
+        List<Task> tasks = new ArrayList<>(count);
+        LocalDate start = LocalDate.now();
+        for (int id = 1; id <= count; id++) {
+            int bucket = id % (statuses.size() * 2);
+            String status = statuses.get(Math.min(bucket, statuses.size() - 1));
+            tasks.add(Task.of(id, "Synthetic task " + id, null, "Dev" + (id % 6 + 1), "General", status,
+                    PRIORITIES[id % PRIORITIES.length], id % 3 == 0 ? start.plusDays(id % 90) : null));
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates an empty database file for one fixture run, deleted when the
+     * application exits.
+     *
+     * @return the JDBC URL of the temporary database
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public static String temporaryDatabaseUrl() {
+        try {
+            Path file = Files.createTempFile("vgplan-stress-", ".db");
+            for (String suffix : new String[] { "", "-wal", "-shm" }) {
+                file.resolveSibling(file.getFileName() + suffix).toFile().deleteOnExit();
+            }
+            return "jdbc:sqlite:" + file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the stress fixture database", e);
+        }
+    }
+
+    /**
+     * Inserts the synthetic tasks, keeping their ids, in one transaction.
+     *
+     * @param conn  a writable connection to the temporary database
+     * @param tasks the tasks from {@link #generateTasks(int, List)}
+     * @throws SQLException if the insert fails; nothing is inserted
+     */
+    public static void seed(Connection conn, List<Task> tasks) throws SQLException {
+        String sql = "INSERT INTO tasks(id, title, assignee, module, status, priority, due_date) VALUES(?,?,?,?,?,?,?)";
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Task task : tasks) {
+                pstmt.setInt(1, task.id());
+                pstmt.setString(2, task.title());
+                pstmt.setString(3, task.assignee());
+                pstmt.setString(4, task.module());
+                pstmt.setString(5, task.status());
+                pstmt.setString(6, task.priority());
+                pstmt.setString(7, task.dueDate() != null ? task.dueDate().toString() : null);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Calls {@code perFrame} on every pulse for {@link #RECORD_SECONDS} and then
+     * prints the distribution of the intervals between pulses.
+     *
+     * @param label    the name printed with the report
+     * @param perFrame work to do on each frame, e.g. scrolling the columns
+     */
+    public static void recordFrameTimes(String label, Runnable perFrame) {
+        new AnimationTimer() {
+            private final long[] intervals = new long[RECORD_SECONDS * 240];
+            private int frames;
+            private long startNanos;
+            private long lastNanos;
+
+            @Override
+            public void handle(long now) {
+                if (startNanos == 0) {
+                    startNanos = now;
+                } else if (frames < intervals.length) {
+                    intervals[frames++] = now - lastNanos;
+                }
+                lastNanos = now;
+                perFrame.run();
+                if (now - startNanos >= RECORD_SECONDS * 1_000_000_000L || frames == intervals.length) {
+                    stop();
+                    report(label, Arrays.copyOf(intervals, frames));
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Prints frame count, mean, percentiles and worst frame in milliseconds.
+     */
+    private static void report(String label, long[] intervals) {
+        if (intervals.length == 0) {
+            System.out.println("[stress] " + label + ": no frames recorded");
+            return;
+        }
+        Arrays.sort(intervals);
+        long total = 0;
+        for (long interval : intervals) {
+            total += interval;
+        }
+        Runtime rt = Runtime.getRuntime();
+        System.out.printf("[stress] %s: %d frames, mean %.2f ms, p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms, heap %d MB%n",
+                label, intervals.length, total / 1e6 / intervals.length, percentile(intervals, 0.50),
+                percentile(intervals, 0.95), percentile(intervals, 0.99), intervals[intervals.length - 1] / 1e6,
+                (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024));
+    }
+
+    /**
+     * Returns the given percentile of sorted nanosecond values in milliseconds.
+     */
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,349 @@
+package org.vgplan.plan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+/**
+ * Streaming bulk import of the Phase → Epic → Task → Sub-Task structure from
+ * CSV or JSON Lines.
+ * <p>
+ * Every record names a path through the hierarchy with the fields
+ * {@code phase}, {@code epic}, {@code task} and {@code subtask}; trailing
+ * levels may be empty. Task records may also carry {@code description},
+ * {@code assignee}, {@code module}, {@code status}, {@code priority} and
+ * {@code due_date}. Parents are matched by name under their own parent, first
+ * against the existing rows and then against rows created earlier in the
+ * file, so no lookup query is issued per record. Ids are assigned in memory
+ * and rows are inserted through JDBC batches, committed every
+ * {@link #CHUNK_SIZE} records. If a record fails, its chunk is rolled back and
+ * earlier chunks stay committed.
+ */
+public class BulkImporter {
+    /** Records per transaction. */
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_PHASE = "INSERT INTO project_phases (phase_id, phase_name) VALUES (?, ?)";
+    private static final String INSERT_EPIC = "INSERT INTO epics (epic_id, epic_name, phase_id) VALUES (?, ?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, title, description, assignee, module, status, "
+            + "priority, due_date, epic_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBTASK = "INSERT INTO subtasks (subtask_id, subtask_name, task_id) VALUES (?, ?, ?)";
+
+    private final DataSource writer;
+
+    /**
+     * Progress and outcome of an import.
+     *
+     * @param records      records read
+     * @param phases       phases created
+     * @param epics        epics created
+     * @param tasks        tasks created
+     * @param subtasks     sub-tasks created
+     * @param elapsedNanos time spent so far
+     */
+    public record ImportReport(long records, int phases, int epics, int tasks, int subtasks, long elapsedNanos) {
+        /**
+         * Returns the number of rows inserted.
+         *
+         * @return phases, epics, tasks and sub-tasks created
+         */
+        public int rowsInserted() {
+            return phases + epics + tasks + subtasks;
+        }
+
+        /**
+         * Returns the import throughput.
+         *
+         * @return records read per second
+         */
+        public double recordsPerSecond() {
+            return elapsedNanos == 0 ? 0 : records * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d records (%d phases, %d epics, %d tasks, %d sub-tasks) in %d ms, %.0f records/s",
+                    records, phases, epics, tasks, subtasks, elapsedNanos / 1_000_000, recordsPerSecond());
+        }
+    }
+
+    /**
+     * Key of a named child under a parent id; 0 stands for no parent.
+     */
+    private record ChildKey(int parentId, String name) {
+    }
+
+    /**
+     * Creates an importer writing through the given data source.
+     *
+     * @param writer the data source for writes
+     */
+    public BulkImporter(DataSource writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Imports a file, choosing the format from its extension: {@code .csv} for
+     * CSV, anything else for JSON Lines.
+     *
+     * @param file     the file to import
+     * @param progress receives a report after every committed chunk; called on the importing thread
+     * @return the final report
+     * @throws IOException  if the file cannot be read or a record is malformed
+     * @throws SQLException if an insert fails
+     */
+    public ImportReport importFile(Path file, Consumer<ImportReport> progress) throws IOException, SQLException {
+        BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        boolean csv = file.getFileName().toString().toLowerCase().endsWith(".csv");
+        try (ImportRecordReader records = csv ? ImportRecordReader.csv(in) : ImportRecordReader.jsonLines(in)) {
+            return importRecords(records, progress);
+        }
+    }
+
+    /**
+     * Imports all records of a reader.
+     *
+     * @param records  the records
+     * @param progress receives a report after every committed chunk
+     * @return the final report
+     * @throws IOException  if a record cannot be read or is malformed
+     * @throws SQLException if an insert fails
+     */
+    public ImportReport importRecords(ImportRecordReader records, Consumer<ImportReport> progress)
+            throws IOException, SQLException {
+        try (Connection conn = writer.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Session session = new Session(conn)) {
+                Map<String, String> record;
+                while ((record = records.next()) != null) {
+                    session.add(record, records.lineNumber());
+                    if (session.records % CHUNK_SIZE == 0) {
+                        progress.accept(session.commit());
+                    }
+                }
+                ImportReport report = session.commit();
+                progress.accept(report);
+                return report;
+            } catch (IOException | SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                ChangeBus.publish(new ChangeEvent.BulkChanged("bulk import"));
+            }
+        }
+    }
+
+    /**
+     * The id maps, batches and counters of one import.
+     */
+    private static final class Session implements AutoCloseable {
+        private final long started = System.nanoTime();
+        private final Connection conn;
+        private final Map<String, Integer> phaseIds = new HashMap<>();
+        private final Map<ChildKey, Integer> epicIds = new HashMap<>();
+        private final Map<ChildKey, Integer> taskIds = new HashMap<>();
+        private final Map<ChildKey, Integer> subtaskIds = new HashMap<>();
+        private final PreparedStatement phaseInsert;
+        private final PreparedStatement epicInsert;
+        private final PreparedStatement taskInsert;
+        private final PreparedStatement subtaskInsert;
+        private int nextPhaseId;
+        private int nextEpicId;
+        private int nextTaskId;
+        private int nextSubtaskId;
+        private long records;
+        private int phases;
+        private int epics;
+        private int tasks;
+        private int subtasks;
+
+        Session(Connection conn) throws SQLException {
+            this.conn = conn;
+            loadExisting();
+            nextPhaseId = nextId("project_phases", "phase_id");
+            nextEpicId = nextId("epics", "epic_id");
+            nextTaskId = nextId("tasks", "id");
+            nextSubtaskId = nextId("subtasks", "subtask_id");
+            phaseInsert = conn.prepareStatement(INSERT_PHASE);
+            epicInsert = conn.prepareStatement(INSERT_EPIC);
+            taskInsert = conn.prepareStatement(INSERT_TASK);
+            subtaskInsert = conn.prepareStatement(INSERT_SUBTASK);
+        }
+
+        /**
+         * Resolves one record's path, batching inserts for the missing levels.
+         */
+        void add(Map<String, String> record, int line) throws IOException, SQLException {
+            String phase = record.get("phase");
+            String epic = record.get("epic");
+            String task = record.get("task");
+            String subtask = record.get("subtask");
+            if ((epic != null && phase == null) || (subtask != null && task == null)) {
+                throw new IOException("Line " + line + ": missing parent for an epic or sub-task");
+            }
+            if (phase == null && task == null) {
+                throw new IOException("Line " + line + ": a record needs a phase or a task");
+            }
+            records++;
+            Integer phaseId = phase != null ? phaseId(phase) : null;
+            Integer epicId = epic != null ? epicId(phaseId, epic) : null;
+            if (task != null) {
+                int taskId = taskId(epicId, task, record, line);
+                if (subtask != null) {
+                    subtaskId(taskId, subtask);
+                }
+            }
+        }
+
+        /**
+         * Flushes the batches parents first and commits the chunk.
+         */
+        ImportReport commit() throws SQLException {
+            phaseInsert.executeBatch();
+            epicInsert.executeBatch();
+            taskInsert.executeBatch();
+            subtaskInsert.executeBatch();
+            ChangeLogWatcher.commitOwn(conn);
+            return new ImportReport(records, phases, epics, tasks, subtasks, System.nanoTime() - started);
+        }
+
+        private int phaseId(String name) throws SQLException {
+            Integer id = phaseIds.get(name);
+            if (id == null) {
+                id = ++nextPhaseId;
+                phaseInsert.setInt(1, id);
+                phaseInsert.setString(2, name);
+                phaseInsert.addBatch();
+                phaseIds.put(name, id);
+                phases++;
+            }
+            return id;
+        }
+
+        private int epicId(int phaseId, String name) throws SQLException {
+            ChildKey key = new ChildKey(phaseId, name);
+            Integer id = epicIds.get(key);
+            if (id == null) {
+                id = ++nextEpicId;
+                epicInsert.setInt(1, id);
+                epicInsert.setString(2, name);
+                epicInsert.setInt(3, phaseId);
+                epicInsert.addBatch();
+                epicIds.put(key, id);
+                epics++;
+            }
+            return id;
+        }
+
+        private int taskId(Integer epicId, String title, Map<String, String> record, int line)
+                throws IOException, SQLException {
+            ChildKey key = new ChildKey(epicId != null ? epicId : 0, title);
+            Integer id = taskIds.get(key);
+            if (id != null) {
+                return id;
+            }
+            id = ++nextTaskId;
+            taskInsert.setInt(1, id);
+            taskInsert.setString(2, title);
+            taskInsert.setString(3, record.get("description"));
+            taskInsert.setString(4, record.get("assignee"));
+            taskInsert.setString(5, record.get("module"));
+            String status = record.get("status");
+            taskInsert.setString(6, KanbanProjectManager.STATUS_LIST.contains(status) ? status
+                    : KanbanProjectManager.STATUS_LIST.get(0));
+            taskInsert.setString(7, record.get("priority"));
+            taskInsert.setString(8, dueDate(record.get("due_date"), line));
+            taskInsert.setObject(9, epicId);
+            taskInsert.addBatch();
+            taskIds.put(key, id);
+            tasks++;
+            return id;
+        }
+
+        private void subtaskId(int taskId, String name) throws SQLException {
+            ChildKey key = new ChildKey(taskId, name);
+            if (!subtaskIds.containsKey(key)) {
+                int id = ++nextSubtaskId;
+                subtaskInsert.setInt(1, id);
+                subtaskInsert.setString(2, name);
+                subtaskInsert.setInt(3, taskId);
+                subtaskInsert.addBatch();
+                subtaskIds.put(key, id);
+                subtasks++;
+            }
+        }
+
+        private static String dueDate(String value, int line) throws IOException {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(value).toString();
+            } catch (DateTimeParseException e) {
+                throw new IOException("Line " + line + ": due_date '" + value + "' is not yyyy-MM-dd");
+            }
+        }
+
+        /**
+         * Reads the names already in the database so that imported paths
+         * attach to existing phases, epics and tasks. Tasks without an epic
+         * are keyed under parent 0, as imported top-level tasks are.
+         */
+        private void loadExisting() throws SQLException {
+            try (Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT phase_id, phase_name FROM project_phases")) {
+                    while (rs.next()) {
+                        phaseIds.put(rs.getString(2), rs.getInt(1));
+                    }
+                }
+                loadChildKeys(stmt, "SELECT epic_id, epic_name, phase_id FROM epics", epicIds);
+                loadChildKeys(stmt, "SELECT id, title, COALESCE(epic_id, 0) FROM tasks", taskIds);
+                loadChildKeys(stmt, "SELECT subtask_id, subtask_name, task_id FROM subtasks", subtaskIds);
+            }
+        }
+
+        private static void loadChildKeys(Statement stmt, String sql, Map<ChildKey, Integer> ids)
+                throws SQLException {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    ids.put(new ChildKey(rs.getInt(3), rs.getString(2)), rs.getInt(1));
+                }
+            }
+        }
+
+        /**
+         * Returns the highest id ever handed out for a table, so imported ids
+         * never reuse the id of a deleted row.
+         */
+        private int nextId(String table, String idColumn) throws SQLException {
+            String sql = "SELECT MAX(COALESCE((SELECT seq FROM sqlite_sequence WHERE name = '" + table + "'), 0), "
+                    + "COALESCE((SELECT MAX(" + idColumn + ") FROM " + table + "), 0))";
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (phaseInsert; epicInsert; taskInsert; subtaskInsert) {
+                // closes all four statements
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.vgplan.plan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * In-process bus for {@link ChangeEvent}s. Writers publish from any thread
+ * once their transaction has committed; subscribers receive the events on the
+ * JavaFX thread in batches. All events published before the JavaFX thread gets
+ * to a batch are delivered together through a single {@code Platform.runLater},
+ * with superseded events for the same row dropped, so a burst of writes costs
+ * one UI update.
+ * <p>
+ * Nothing is queued while there are no subscribers, which keeps the headless
+ * {@link KanbanCli} free of the JavaFX toolkit.
+ */
+public final class ChangeBus {
+    private static final List<Consumer<List<ChangeEvent>>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+    private static final ConcurrentLinkedQueue<ChangeEvent> PENDING = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean DELIVERY_SCHEDULED = new AtomicBoolean();
+
+    private ChangeBus() {
+    }
+
+    /**
+     * Registers a subscriber.
+     *
+     * @param subscriber receives each batch of events on the JavaFX thread
+     * @return an action that unsubscribes
+     */
+    public static Runnable subscribe(Consumer<List<ChangeEvent>> subscriber) {
+        SUBSCRIBERS.add(subscriber);
+        return () -> SUBSCRIBERS.remove(subscriber);
+    }
+
+    /**
+     * Publishes an event. Call after the change has been committed.
+     *
+     * @param event the event
+     */
+    public static void publish(ChangeEvent event) {
+        if (SUBSCRIBERS.isEmpty()) {
+            return;
+        }
+        PENDING.add(event);
+        if (DELIVERY_SCHEDULED.compareAndSet(false, true)) {
+            Platform.runLater(ChangeBus::deliver);
+        }
+    }
+
+    /**
+     * Drains the queue and hands the coalesced batch to every subscriber.
+     */
+    private static void deliver() {
+        DELIVERY_SCHEDULED.set(false);
+        List<ChangeEvent> batch = new ArrayList<>();
+        for (ChangeEvent event; (event = PENDING.poll()) != null;) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ChangeEvent> coalesced = coalesce(batch);
+        for (Consumer<List<ChangeEvent>> subscriber : SUBSCRIBERS) {
+            try {
+                subscriber.accept(coalesced);
+            } catch (RuntimeException e) {
+                System.err.println("Change subscriber failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Keeps only the last event per row, in publication order.
+     *
+     * @param batch the events in publication order
+     * @return the events that are not superseded later in the batch
+     */
+    static List<ChangeEvent> coalesce(List<ChangeEvent> batch) {
+        if (batch.size() == 1) {
+            return batch;
+        }
+        Set<String> seen = new HashSet<>();
+        List<ChangeEvent> kept = new ArrayList<>(batch.size());
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            ChangeEvent event = batch.get(i);
+            String key = event.coalescingKey();
+            if (key == null || seen.add(key)) {
+                kept.add(event);
+            }
+        }
+        Collections.reverse(kept);
+        return kept;
+    }
+}
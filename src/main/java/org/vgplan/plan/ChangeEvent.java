@@ -0,0 +1,100 @@
+package org.vgplan.plan;
+
+import java.util.List;
+
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * A committed change to the project data, published on the {@link ChangeBus}
+ * by the data layer after every successful write.
+ */
+public sealed interface ChangeEvent {
+    /**
+     * Identifies the row and kind of change, so that a later event with the
+     * same key can replace an earlier one within a batch. Saves and moves of a
+     * task use different keys: keeping the last of each, in order, still
+     * yields the final state. Events that must never be dropped return null.
+     *
+     * @return the coalescing key, or null
+     */
+    default String coalescingKey() {
+        return null;
+    }
+
+    /**
+     * A task was inserted or all of its fields were updated.
+     *
+     * @param task the task as stored
+     */
+    record TaskSaved(Task task) implements ChangeEvent {
+        @Override
+        public String coalescingKey() {
+            return "task:" + task.id();
+        }
+    }
+
+    /**
+     * Only the status of a task changed.
+     *
+     * @param taskId the task id
+     * @param status the new status
+     */
+    record TaskMoved(int taskId, String status) implements ChangeEvent {
+        @Override
+        public String coalescingKey() {
+            return "move:" + taskId;
+        }
+    }
+
+    /**
+     * Several tasks were given the same assignee at once.
+     *
+     * @param taskIds  the ids of the reassigned tasks
+     * @param assignee the new assignee, or null if they were unassigned
+     */
+    record TasksReassigned(List<Integer> taskIds, String assignee) implements ChangeEvent {
+    }
+
+    /**
+     * Tasks were deleted, on the board or with their part of the hierarchy.
+     *
+     * @param taskIds the ids of the deleted tasks
+     */
+    record TasksDeleted(List<Integer> taskIds) implements ChangeEvent {
+    }
+
+    /**
+     * A hierarchy node was created or renamed.
+     *
+     * @param parentType the type of the parent node, for a create
+     * @param parentId   the id of the parent node, null for phases and edits
+     * @param node       the node as stored
+     * @param created    true for a new node
+     */
+    record NodeSaved(HierarchyType parentType, Integer parentId, HierarchyNode node, boolean created)
+            implements ChangeEvent {
+        @Override
+        public String coalescingKey() {
+            return created ? null : "node:" + node.type + ":" + node.id;
+        }
+    }
+
+    /**
+     * A hierarchy node was deleted together with its subtree.
+     *
+     * @param type    the node type
+     * @param id      the node id
+     * @param taskIds the ids of the tasks deleted with it
+     */
+    record NodeDeleted(HierarchyType type, int id, List<Integer> taskIds) implements ChangeEvent {
+    }
+
+    /**
+     * Many rows changed at once, e.g. by an import; views should reload.
+     *
+     * @param reason what changed, for logging
+     */
+    record BulkChanged(String reason) implements ChangeEvent {
+    }
+}
@@ -0,0 +1,397 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Follows changes made by other instances sharing the database file. The
+ * {@code change_log} table is filled by triggers on every hierarchy table
+ * (schema version 4). The watcher keeps one dedicated connection and polls
+ * {@code PRAGMA data_version}, which only changes when another connection
+ * commits. Only then does it read the log entries after the last sequence
+ * number it has seen, plus the current state of the rows they name, and
+ * publish them on the {@link ChangeBus}.
+ * <p>
+ * This instance's own writes commit through {@link #commitOwn(Connection)},
+ * or {@link #writeOwn} for a single statement, and the watcher skips their
+ * entries: reading them back would publish the current state of a row over
+ * a newer local edit still queued on the writer. Any other backlog larger
+ * than {@link #MAX_DELTA} entries is published as one
+ * {@link ChangeEvent.BulkChanged}.
+ */
+public final class ChangeLogWatcher implements AutoCloseable {
+    /** Poll interval of {@code PRAGMA data_version}. */
+    public static final long POLL_INTERVAL_MS = 500;
+    /** Largest number of log entries applied as individual changes. */
+    static final int MAX_DELTA = 1000;
+    private static final int IN_CHUNK = 500;
+    private static final String ENTRIES_SQL = "SELECT seq, table_name, row_id, op FROM change_log "
+            + "WHERE seq > ? AND seq < ? ORDER BY seq LIMIT ?";
+    private static final String MAX_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM change_log";
+    private static final Map<String, String> ROWS_SQL = Map.of(
+            "project_phases", "SELECT phase_id, phase_name, skill_sets FROM project_phases WHERE phase_id IN (",
+            "epics", "SELECT epic_id, epic_name, phase_id FROM epics WHERE epic_id IN (",
+            "tasks", "SELECT id, title, epic_id, assignee, module, status, priority, due_date FROM tasks WHERE id IN (",
+            "subtasks", "SELECT subtask_id, subtask_name, task_id FROM subtasks WHERE subtask_id IN (");
+
+    /**
+     * The net effect of the log entries for one row.
+     */
+    private record RowChange(String table, int rowId, boolean created, boolean deleted) {
+    }
+
+    /**
+     * A block of log entries written by one transaction of this instance.
+     */
+    private record OwnEntries(long first, long last) {
+    }
+
+    /**
+     * The current state of a changed row: its node, the id of its parent and,
+     * for tasks, the task as shown on the board.
+     */
+    private record RowState(HierarchyNode node, Integer parentId, Task task) {
+    }
+
+    /** Own entries not yet passed, in log order; also guards polling against {@link #commitOwn}. */
+    private static final Deque<OwnEntries> OWN_ENTRIES = new ArrayDeque<>();
+    private static volatile boolean watching;
+
+    private final Connection conn;
+    private final ScheduledExecutorService executor;
+    private long dataVersion;
+    private long lastSeq;
+
+    private ChangeLogWatcher(Connection conn) throws SQLException {
+        this.conn = conn;
+        this.dataVersion = dataVersion();
+        this.lastSeq = maxSeq(conn);
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("change-log-watcher").factory());
+    }
+
+    /**
+     * Starts watching from the current end of the change log.
+     *
+     * @return the running watcher; close it before closing the database
+     * @throws SQLException if the watcher connection cannot be opened
+     */
+    public static ChangeLogWatcher start() throws SQLException {
+        ChangeLogWatcher watcher = open();
+        watcher.executor.scheduleWithFixedDelay(watcher::poll, POLL_INTERVAL_MS, POLL_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        return watcher;
+    }
+
+    /**
+     * Opens a watcher at the current end of the change log that reads it
+     * only through {@link #readNewChanges()}.
+     */
+    static ChangeLogWatcher open() throws SQLException {
+        Connection conn = Database.openDedicatedReader();
+        try {
+            ChangeLogWatcher watcher = new ChangeLogWatcher(conn);
+            synchronized (OWN_ENTRIES) {
+                OWN_ENTRIES.clear();
+                watching = true;
+            }
+            return watcher;
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Stops polling and closes the watcher connection.
+     */
+    @Override
+    public void close() {
+        watching = false;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            conn.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (SQLException e) {
+            System.err.println("Error closing the change log watcher: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Commits a write transaction and, while a watcher is running, marks the
+     * log entries it wrote as this instance's own so that they are not read
+     * back. The writer holds the write lock until the commit, so its entries
+     * are the block between the last committed sequence number, read through
+     * another connection, and the last one it sees itself. Publish the
+     * changes on the {@link ChangeBus} as usual.
+     *
+     * @param conn the writer connection, inside its transaction
+     * @throws SQLException if the commit fails
+     */
+    public static void commitOwn(Connection conn) throws SQLException {
+        if (!watching) {
+            conn.commit();
+            return;
+        }
+        long last = maxSeq(conn);
+        long committed;
+        try (Connection reader = Database.reader().getConnection()) {
+            committed = maxSeq(reader);
+        }
+        synchronized (OWN_ENTRIES) {
+            conn.commit();
+            if (last > committed) {
+                OWN_ENTRIES.addLast(new OwnEntries(committed + 1, last));
+            }
+        }
+    }
+
+    /**
+     * Runs a write in a transaction of its own and commits it through
+     * {@link #commitOwn(Connection)}, rolling back if it fails.
+     *
+     * @param conn the writer connection, in auto-commit mode
+     * @param work the statements to run
+     * @param <T>  the result type
+     * @return the result of the work
+     * @throws SQLException if the work or the commit fails
+     */
+    public static <T> T writeOwn(Connection conn, AsyncDataAccess.SqlCall<T> work) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            T result = work.call();
+            commitOwn(conn);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * One polling round; errors are logged and retried on the next round.
+     */
+    private void poll() {
+        try {
+            readNewChanges().forEach(ChangeBus::publish);
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Could not read the change log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the changes committed since the last call, if another connection
+     * committed at all.
+     *
+     * @return the events to publish, empty if nothing changed
+     */
+    List<ChangeEvent> readNewChanges() throws SQLException {
+        synchronized (OWN_ENTRIES) {
+            long version = dataVersion();
+            if (version == dataVersion) {
+                return List.of();
+            }
+            dataVersion = version;
+            return readChanges();
+        }
+    }
+
+    private long dataVersion() throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Reads the log entries after the last seen sequence number, stepping
+     * over this instance's own blocks, and turns them into change events for
+     * the current state of their rows. Call while holding the own-entries lock.
+     */
+    private List<ChangeEvent> readChanges() throws SQLException {
+        Map<String, RowChange> changes = new LinkedHashMap<>();
+        int entries = 0;
+        while (entries <= MAX_DELTA) {
+            OwnEntries own = OWN_ENTRIES.peekFirst();
+            entries += readEntries(changes, own != null ? own.first() : Long.MAX_VALUE, MAX_DELTA + 1 - entries);
+            if (own == null || entries > MAX_DELTA) {
+                break;
+            }
+            lastSeq = Math.max(lastSeq, own.last());
+            OWN_ENTRIES.removeFirst();
+        }
+        if (entries > MAX_DELTA) {
+            skipToEnd();
+            return List.of(new ChangeEvent.BulkChanged("more than " + MAX_DELTA + " logged changes"));
+        }
+        return toEvents(changes.values(), readRows(changes.values()));
+    }
+
+    /**
+     * Reads up to {@code limit} entries after the last seen sequence number
+     * and before {@code end}, merging them into the net change per row.
+     *
+     * @return the number of entries read
+     */
+    private int readEntries(Map<String, RowChange> changes, long end, int limit) throws SQLException {
+        int entries = 0;
+        try (PreparedStatement ps = conn.prepareStatement(ENTRIES_SQL)) {
+            ps.setLong(1, lastSeq);
+            ps.setLong(2, end);
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lastSeq = rs.getLong("seq");
+                    entries++;
+                    String table = rs.getString("table_name");
+                    int rowId = rs.getInt("row_id");
+                    String op = rs.getString("op");
+                    RowChange previous = changes.remove(table + ":" + rowId);
+                    boolean created = op.equals("I") || previous != null && previous.created();
+                    changes.put(table + ":" + rowId, new RowChange(table, rowId, created, op.equals("D")));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Moves past all current log entries, and the own blocks among them,
+     * after a bulk change.
+     */
+    private void skipToEnd() throws SQLException {
+        lastSeq = Math.max(lastSeq, maxSeq(conn));
+        while (!OWN_ENTRIES.isEmpty() && OWN_ENTRIES.peekFirst().last() <= lastSeq) {
+            OWN_ENTRIES.removeFirst();
+        }
+    }
+
+    private static long maxSeq(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(MAX_SEQ_SQL)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Reads the current state of every changed row that was not deleted,
+     * with one {@code IN} query per table and chunk of ids.
+     */
+    private Map<String, RowState> readRows(Iterable<RowChange> changes) throws SQLException {
+        Map<String, List<Integer>> idsByTable = new HashMap<>();
+        for (RowChange change : changes) {
+            if (!change.deleted()) {
+                idsByTable.computeIfAbsent(change.table(), t -> new ArrayList<>()).add(change.rowId());
+            }
+        }
+        Map<String, RowState> states = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : idsByTable.entrySet()) {
+            List<Integer> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK));
+                String sql = ROWS_SQL.get(entry.getKey())
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setInt(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            states.put(entry.getKey() + ":" + rs.getInt(1), rowState(entry.getKey(), rs));
+                        }
+                    }
+                }
+            }
+        }
+        return states;
+    }
+
+    private static RowState rowState(String table, ResultSet rs) throws SQLException {
+        int id = rs.getInt(1);
+        String name = rs.getString(2);
+        if (table.equals("project_phases")) {
+            return new RowState(new HierarchyNode(HierarchyType.PHASE, id,
+                    HierarchyTreeLoader.displayName(HierarchyType.PHASE, name), rs.getString(3)), null, null);
+        }
+        Integer parentId = rs.getObject(3) != null ? rs.getInt(3) : null;
+        return switch (table) {
+            case "epics" -> new RowState(new HierarchyNode(HierarchyType.EPIC, id,
+                    HierarchyTreeLoader.displayName(HierarchyType.EPIC, name)), parentId, null);
+            case "subtasks" -> new RowState(new HierarchyNode(HierarchyType.SUBTASK, id,
+                    HierarchyTreeLoader.displayName(HierarchyType.SUBTASK, name)), parentId, null);
+            default -> {
+                String dueDate = rs.getString("due_date");
+                Task task = Task.of(id, name, null, rs.getString("assignee"), rs.getString("module"),
+                        rs.getString("status"), rs.getString("priority"),
+                        dueDate != null ? LocalDate.parse(dueDate) : null);
+                yield new RowState(new HierarchyNode(HierarchyType.TASK, id,
+                        HierarchyTreeLoader.displayName(HierarchyType.TASK, name)), parentId, task);
+            }
+        };
+    }
+
+    /**
+     * Builds the events in log order. A row that is gone by now counts as
+     * deleted; its delete entry is then skipped by a later round.
+     */
+    private static List<ChangeEvent> toEvents(Iterable<RowChange> changes, Map<String, RowState> states) {
+        List<ChangeEvent> events = new ArrayList<>();
+        List<Integer> deletedTasks = new ArrayList<>();
+        for (RowChange change : changes) {
+            RowState state = states.get(change.table() + ":" + change.rowId());
+            HierarchyType type = typeOf(change.table());
+            if (state == null) {
+                if (type == HierarchyType.TASK) {
+                    deletedTasks.add(change.rowId());
+                } else {
+                    events.add(new ChangeEvent.NodeDeleted(type, change.rowId(), List.of()));
+                }
+                continue;
+            }
+            if (change.created()) {
+                HierarchyType parentType = HierarchyType.values()[type.ordinal() - 1];
+                if (parentType == HierarchyType.ROOT || state.parentId() != null) {
+                    events.add(new ChangeEvent.NodeSaved(parentType, state.parentId(), state.node(), true));
+                }
+            } else if (type != HierarchyType.TASK) {
+                events.add(new ChangeEvent.NodeSaved(null, null, state.node(), false));
+            }
+            if (state.task() != null) {
+                events.add(new ChangeEvent.TaskSaved(state.task()));
+            }
+        }
+        if (!deletedTasks.isEmpty()) {
+            events.add(new ChangeEvent.TasksDeleted(deletedTasks));
+        }
+        return events;
+    }
+
+    private static HierarchyType typeOf(String table) {
+        return switch (table) {
+            case "project_phases" -> HierarchyType.PHASE;
+            case "epics" -> HierarchyType.EPIC;
+            case "tasks" -> HierarchyType.TASK;
+            default -> HierarchyType.SUBTASK;
+        };
+    }
+}
@@ -0,0 +1,311 @@
+package org.vgplan.plan;
+
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+/**
+ * Connection pools for the SQLite database, configured from
+ * {@code sqlite_profile.properties}.
+ * <p>
+ * SQLite allows one writer at a time, so writes go through a pool with a
+ * single connection, which {@link AsyncDataAccess} feeds from its writer
+ * thread. Reads use a separate pool of {@code PRAGMA query_only} connections
+ * that in WAL mode never block on the writer.
+ */
+public final class Database {
+    private static final String PROFILE = "/org/vgplan/plan/sqlite_profile.properties";
+    private static final String PRAGMA_PREFIX = "pragma.";
+
+    private static DataSource writer;
+    private static DataSource reader;
+    private static String url;
+    private static Properties pragmas;
+
+    /**
+     * Usage snapshot of one connection pool.
+     *
+     * @param pool            the pool name
+     * @param active          connections in use
+     * @param idle            connections waiting in the pool
+     * @param total           all open connections
+     * @param threadsAwaiting threads blocked waiting for a connection
+     */
+    public record PoolMetrics(String pool, int active, int idle, int total, int threadsAwaiting) {
+    }
+
+    private Database() {
+    }
+
+    /**
+     * Opens the writer and reader pools for the given database.
+     *
+     * @param jdbcUrl the SQLite JDBC URL
+     */
+    public static synchronized void open(String jdbcUrl) {
+        Properties profile = loadProfile();
+        url = jdbcUrl;
+        pragmas = pragmas(profile);
+        writer = new HikariDataSource(poolConfig(jdbcUrl, profile, "vgplan-writer", 1,
+                intProperty(profile, "writer.connectionTimeoutMs", 30000)));
+        HikariConfig readerConfig = poolConfig(jdbcUrl, profile, "vgplan-reader",
+                intProperty(profile, "reader.poolSize", 4), intProperty(profile, "reader.connectionTimeoutMs", 10000));
+        readerConfig.setConnectionInitSql("PRAGMA query_only = 1");
+        reader = new HikariDataSource(readerConfig);
+    }
+
+    /**
+     * Opens the database without connection pools, for short-lived headless
+     * runs: every {@code getConnection()} opens a new SQLite connection with
+     * the profile's PRAGMAs, and reader connections are still query-only.
+     * This skips pool start-up and MBean registration.
+     *
+     * @param jdbcUrl the SQLite JDBC URL
+     */
+    public static synchronized void openUnpooled(String jdbcUrl) {
+        url = jdbcUrl;
+        pragmas = pragmas(loadProfile());
+        writer = new DriverDataSource(jdbcUrl, pragmas, false);
+        reader = new DriverDataSource(jdbcUrl, pragmas, true);
+    }
+
+    /**
+     * Opens a query-only connection outside both pools, for a caller that
+     * must keep the same connection, such as one polling
+     * {@code PRAGMA data_version}. The caller closes it.
+     *
+     * @return a new read-only connection
+     * @throws SQLException if the connection cannot be opened
+     */
+    public static Connection openDedicatedReader() throws SQLException {
+        if (url == null) {
+            throw new SQLException("Database is not open");
+        }
+        return new DriverDataSource(url, pragmas, true).getConnection();
+    }
+
+    /**
+     * Returns the single-connection pool used for all writes.
+     *
+     * @return the writer data source
+     */
+    public static DataSource writer() {
+        return writer;
+    }
+
+    /**
+     * Returns the read-only pool.
+     *
+     * @return the reader data source
+     */
+    public static DataSource reader() {
+        return reader;
+    }
+
+    /**
+     * Returns current usage of both pools.
+     *
+     * @return writer and reader metrics, empty if the pools are not open or
+     *         the database was opened unpooled
+     */
+    public static List<PoolMetrics> poolMetrics() {
+        if (!(writer instanceof HikariDataSource writerPool) || !(reader instanceof HikariDataSource readerPool)) {
+            return List.of();
+        }
+        return List.of(metricsOf(writerPool), metricsOf(readerPool));
+    }
+
+    /**
+     * Closes both pools.
+     */
+    public static synchronized void close() {
+        if (reader instanceof HikariDataSource pool) {
+            pool.close();
+        }
+        if (writer instanceof HikariDataSource pool) {
+            pool.close();
+        }
+        reader = null;
+        writer = null;
+        url = null;
+    }
+
+    /**
+     * Builds a pool configuration carrying the profile's PRAGMAs.
+     */
+    private static HikariConfig poolConfig(String jdbcUrl, Properties profile, String name, int size,
+            int connectionTimeoutMs) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setPoolName(name);
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setRegisterMbeans(Boolean.parseBoolean(profile.getProperty("metrics.registerMbeans", "false")));
+        config.setDataSourceProperties(pragmas(profile));
+        if (Metrics.ENABLED) {
+            config.setMetricsTrackerFactory((poolName, poolStats) -> new PoolTimer(poolName));
+        }
+        return config;
+    }
+
+    /**
+     * Extracts the {@code pragma.*} entries as driver properties.
+     */
+    private static Properties pragmas(Properties profile) {
+        Properties driverProperties = new Properties();
+        for (String key : profile.stringPropertyNames()) {
+            if (key.startsWith(PRAGMA_PREFIX)) {
+                driverProperties.setProperty(key.substring(PRAGMA_PREFIX.length()), profile.getProperty(key));
+            }
+        }
+        return driverProperties;
+    }
+
+    private static PoolMetrics metricsOf(HikariDataSource pool) {
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null) {
+            return new PoolMetrics(pool.getPoolName(), 0, 0, 0, 0);
+        }
+        return new PoolMetrics(pool.getPoolName(), bean.getActiveConnections(), bean.getIdleConnections(),
+                bean.getTotalConnections(), bean.getThreadsAwaitingConnection());
+    }
+
+    private static Properties loadProfile() {
+        Properties profile = new Properties();
+        try (InputStream in = Database.class.getResourceAsStream(PROFILE)) {
+            if (in == null) {
+                throw new RuntimeException("Could not find sqlite_profile.properties");
+            }
+            profile.load(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load sqlite_profile.properties: " + e.getMessage(), e);
+        }
+        return profile;
+    }
+
+    private static int intProperty(Properties profile, String key, int defaultValue) {
+        String value = profile.getProperty(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Feeds a pool's connection wait, use and creation times into
+     * {@link Metrics}.
+     */
+    private static final class PoolTimer implements IMetricsTracker {
+        private final String prefix;
+
+        PoolTimer(String poolName) {
+            this.prefix = "pool." + poolName + ".";
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            Metrics.recordNanos(prefix + "wait", elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            Metrics.recordNanos(prefix + "use", TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            Metrics.recordNanos(prefix + "create", TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            Metrics.count(prefix + "timeouts", 1);
+        }
+    }
+
+    /**
+     * Unpooled data source over {@link DriverManager}.
+     */
+    private static final class DriverDataSource implements DataSource {
+        private final String jdbcUrl;
+        private final Properties properties;
+        private final boolean queryOnly;
+        private PrintWriter logWriter;
+
+        DriverDataSource(String jdbcUrl, Properties properties, boolean queryOnly) {
+            this.jdbcUrl = jdbcUrl;
+            this.properties = properties;
+            this.queryOnly = queryOnly;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conn = DriverManager.getConnection(jdbcUrl, properties);
+            if (queryOnly) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("PRAGMA query_only = 1");
+                } catch (SQLException e) {
+                    conn.close();
+                    throw e;
+                }
+            }
+            return conn;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        @Override
+        public PrintWriter getLogWriter() {
+            return logWriter;
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) {
+            logWriter = out;
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) {
+            DriverManager.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() {
+            return DriverManager.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            throw new SQLException("Not a wrapper for " + iface.getName());
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return iface.isInstance(this);
+        }
+    }
+}
@@ -4,76 +4,111 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.vgplan.plan.KanbanProjectManager.HierarchyType;
 
 import javafx.scene.control.TreeItem;
-import javafx.scene.control.TreeView;
 
 /**
  * Utility class for database operations related to the project hierarchy.
  */
 public class DatabaseUtil {
     /**
-     * Loads the project hierarchy tree from the database.
+     * A hierarchy node together with the number of its direct children.
+     */
+    public record HierarchyRow(HierarchyNode node, int childCount) {
+    }
+
+    /**
+     * Outcome of a subtree delete.
+     *
+     * @param rowsDeleted rows deleted over all levels
+     * @param taskIds     ids of the deleted tasks, which may be on the board
+     */
+    public record DeletedSubtree(int rowsDeleted, List<Integer> taskIds) {
+    }
+
+    /**
+     * The number of descendants of a node, per level.
+     *
+     * @param epics    epics below the node
+     * @param tasks    tasks below the node
+     * @param subtasks sub-tasks below the node
+     */
+    public record SubtreeSize(int epics, int tasks, int subtasks) {
+        /**
+         * Describes the descendants for a confirmation, e.g. "2 epics, 40
+         * tasks and 12 sub-tasks", leaving out empty levels.
+         *
+         * @return the description, empty if there are no descendants
+         */
+        public String describe() {
+            List<String> parts = new ArrayList<>(3);
+            addCount(parts, epics, "epic");
+            addCount(parts, tasks, "task");
+            addCount(parts, subtasks, "sub-task");
+            if (parts.size() < 2) {
+                return String.join("", parts);
+            }
+            return String.join(", ", parts.subList(0, parts.size() - 1)) + " and " + parts.get(parts.size() - 1);
+        }
+
+        private static void addCount(List<String> parts, int count, String noun) {
+            if (count > 0) {
+                parts.add(count + " " + noun + (count == 1 ? "" : "s"));
+            }
+        }
+    }
+
+    // Subtree deletes per node type, children before parents; each takes the node id
+    private static final String PHASE_TASKS = "SELECT t.id FROM tasks t JOIN epics e ON e.epic_id = t.epic_id "
+            + "WHERE e.phase_id = ?";
+    private static final Map<HierarchyType, List<String>> SUBTREE_DELETES = Map.of(
+            HierarchyType.PHASE, List.of(
+                    "DELETE FROM subtasks WHERE task_id IN (" + PHASE_TASKS + ")",
+                    "DELETE FROM tasks WHERE epic_id IN (SELECT epic_id FROM epics WHERE phase_id = ?)",
+                    "DELETE FROM epics WHERE phase_id = ?",
+                    "DELETE FROM project_phases WHERE phase_id = ?"),
+            HierarchyType.EPIC, List.of(
+                    "DELETE FROM subtasks WHERE task_id IN (SELECT id FROM tasks WHERE epic_id = ?)",
+                    "DELETE FROM tasks WHERE epic_id = ?",
+                    "DELETE FROM epics WHERE epic_id = ?"),
+            HierarchyType.TASK, List.of(
+                    "DELETE FROM subtasks WHERE task_id = ?",
+                    "DELETE FROM tasks WHERE id = ?"),
+            HierarchyType.SUBTASK, List.of(
+                    "DELETE FROM subtasks WHERE subtask_id = ?"));
+    private static final Map<HierarchyType, String> SUBTREE_SIZE = Map.of(
+            HierarchyType.PHASE, "SELECT (SELECT COUNT(*) FROM epics WHERE phase_id = ?1), "
+                    + "(SELECT COUNT(*) FROM (" + PHASE_TASKS.replace("?", "?1") + ")), "
+                    + "(SELECT COUNT(*) FROM subtasks WHERE task_id IN (" + PHASE_TASKS.replace("?", "?1") + "))",
+            HierarchyType.EPIC, "SELECT 0, (SELECT COUNT(*) FROM tasks WHERE epic_id = ?1), "
+                    + "(SELECT COUNT(*) FROM subtasks WHERE task_id IN (SELECT id FROM tasks WHERE epic_id = ?1))",
+            HierarchyType.TASK, "SELECT 0, 0, (SELECT COUNT(*) FROM subtasks WHERE task_id = ?1)");
+    private static final Map<HierarchyType, String> SUBTREE_TASK_IDS = Map.of(
+            HierarchyType.PHASE, PHASE_TASKS,
+            HierarchyType.EPIC, "SELECT id FROM tasks WHERE epic_id = ?",
+            HierarchyType.TASK, "SELECT id FROM tasks WHERE id = ?");
+
+    /**
+     * Loads the project hierarchy tree from the database using one bulk query
+     * per level (see {@link HierarchyTreeLoader}). A lazy root is only reset, so
+     * its children are fetched again on demand.
      * 
      * @param rootItem the root tree item to populate
      */
     public void loadHierarchyTree(TreeItem<HierarchyNode> rootItem) {
+        if (rootItem instanceof LazyHierarchyTreeItem lazyRoot) {
+            lazyRoot.reload();
+            return;
+        }
         rootItem.getChildren().clear();
-        try (Connection conn = KanbanProjectManager.dataSource.getConnection()) {
-            String phaseSql = "SELECT phase_id, phase_name, skill_sets FROM project_phases ORDER BY phase_name";
-            try (PreparedStatement psPhase = conn.prepareStatement(phaseSql);
-                    ResultSet rsPhase = psPhase.executeQuery()) {
-                while (rsPhase.next()) {
-                    int phaseId = rsPhase.getInt("phase_id");
-                    String phaseName = rsPhase.getString("phase_name");
-                    String skillSets = rsPhase.getString("skill_sets");
-                    TreeItem<HierarchyNode> phaseItem = new TreeItem<>(
-                            new HierarchyNode(HierarchyType.PHASE, phaseId, "Phase: " + phaseName, skillSets));
-                    String epicSql = "SELECT epic_id, epic_name FROM epics WHERE phase_id = ? ORDER BY epic_name";
-                    try (PreparedStatement psEpic = conn.prepareStatement(epicSql)) {
-                        psEpic.setInt(1, phaseId);
-                        try (ResultSet rsEpic = psEpic.executeQuery()) {
-                            while (rsEpic.next()) {
-                                int epicId = rsEpic.getInt("epic_id");
-                                String epicName = rsEpic.getString("epic_name");
-                                TreeItem<HierarchyNode> epicItem = new TreeItem<>(
-                                        new HierarchyNode(HierarchyType.EPIC, epicId, "Epic: " + epicName));
-                                String taskSql = "SELECT id, title FROM tasks WHERE epic_id = ? ORDER BY title";
-                                try (PreparedStatement psTask = conn.prepareStatement(taskSql)) {
-                                    psTask.setInt(1, epicId);
-                                    try (ResultSet rsTask = psTask.executeQuery()) {
-                                        while (rsTask.next()) {
-                                            int taskId = rsTask.getInt("id");
-                                            String taskTitle = rsTask.getString("title");
-                                            TreeItem<HierarchyNode> taskItem = new TreeItem<>(new HierarchyNode(
-                                                    HierarchyType.TASK, taskId, "Task: " + taskTitle));
-                                            String subSql = "SELECT subtask_id, subtask_name FROM subtasks WHERE task_id = ? ORDER BY subtask_name";
-                                            try (PreparedStatement psSub = conn.prepareStatement(subSql)) {
-                                                psSub.setInt(1, taskId);
-                                                try (ResultSet rsSub = psSub.executeQuery()) {
-                                                    while (rsSub.next()) {
-                                                        int subId = rsSub.getInt("subtask_id");
-                                                        String subName = rsSub.getString("subtask_name");
-                                                        TreeItem<HierarchyNode> subItem = new TreeItem<>(
-                                                                new HierarchyNode(HierarchyType.SUBTASK, subId,
-                                                                        "Sub-Task: " + subName));
-                                                        taskItem.getChildren().add(subItem);
-                                                    }
-                                                }
-                                            }
-                                            epicItem.getChildren().add(taskItem);
-                                        }
-                                    }
-                                }
-                                phaseItem.getChildren().add(epicItem);
-                            }
-                        }
-                    }
-                    rootItem.getChildren().add(phaseItem);
-                }
-            }
+        try (Connection conn = Database.reader().getConnection()) {
+            new HierarchyTreeLoader().load(conn, rootItem);
         } catch (SQLException e) {
             rootItem.getChildren().clear();
             rootItem.getChildren()
@@ -82,113 +117,180 @@ public class DatabaseUtil {
     }
 
     /**
-     * Deletes a node from the hierarchy in the database.
+     * Loads the direct children of a node with their own child counts.
      * 
-     * @param node     the node to delete
-     * @param treeView the tree view (for reload)
+     * @param parent the parent node
+     * @return the child rows
+     * @throws SQLException if the query fails
      */
-    public void deleteHierarchyNode(TreeItem<HierarchyNode> node, TreeView<HierarchyNode> treeView) {
-        HierarchyNode n = node.getValue();
-        try (Connection conn = KanbanProjectManager.dataSource.getConnection()) {
-            if (n.type == HierarchyType.PHASE) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM project_phases WHERE phase_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.EPIC) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM epics WHERE epic_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.TASK) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.SUBTASK) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM subtasks WHERE subtask_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
+    public List<HierarchyRow> loadChildRows(HierarchyNode parent) throws SQLException {
+        try (Connection conn = Database.reader().getConnection()) {
+            return new HierarchyTreeLoader().loadChildRows(conn, parent);
+        }
+    }
+
+    /**
+     * Counts the descendants a delete of the node would remove.
+     *
+     * @param n the node
+     * @return the descendants per level, all zero for a sub-task
+     * @throws SQLException if the query fails
+     */
+    public SubtreeSize countSubtree(HierarchyNode n) throws SQLException {
+        String sql = SUBTREE_SIZE.get(n.type);
+        if (sql == null) {
+            return new SubtreeSize(0, 0, 0);
+        }
+        try (Connection conn = Database.reader().getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, n.id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new SubtreeSize(rs.getInt(1), rs.getInt(2), rs.getInt(3)) : new SubtreeSize(0, 0, 0);
             }
-        } catch (SQLException e) {
-            // Use a static error dialog method from KanbanProjectManager
-            KanbanProjectManager.showErrorDialogStatic("DB Error", e.getMessage());
         }
-        loadHierarchyTree((TreeItem<HierarchyNode>) treeView.getRoot());
     }
 
     /**
-     * Handles the result of the CRUD dialog for create or edit.
+     * Deletes a node and all of its descendants in one transaction, with one
+     * set-based statement per level, deepest level first.
+     * 
+     * @param n the node to delete
+     * @return what was deleted, including the ids of the deleted board tasks
+     * @throws SQLException if a delete fails; nothing is deleted then
      */
-    public void handleCrudDialogResult(boolean isCreate, HierarchyType targetType, HierarchyNode node, String name,
-            String skillSets) {
-        try (Connection conn = KanbanProjectManager.dataSource.getConnection()) {
-            if (isCreate) {
-                if (targetType == HierarchyType.PHASE) {
-                    String sql = "INSERT INTO project_phases (phase_name, skill_sets) VALUES (?, ?)";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setString(2, skillSets);
-                        ps.executeUpdate();
-                    }
-                } else if (targetType == HierarchyType.EPIC) {
-                    String sql = "INSERT INTO epics (epic_name, phase_id) VALUES (?, ?)";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.executeUpdate();
-                    }
-                } else if (targetType == HierarchyType.TASK) {
-                    String sql = "INSERT INTO tasks (title, epic_id, status) VALUES (?, ?, ?)";
+    public DeletedSubtree deleteHierarchyNode(HierarchyNode n) throws SQLException {
+        List<String> deletes = SUBTREE_DELETES.get(n.type);
+        if (deletes == null) {
+            throw new IllegalArgumentException("Cannot delete a " + n.type + " node");
+        }
+        try (Connection conn = Database.writer().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> taskIds = selectIds(conn, SUBTREE_TASK_IDS.get(n.type), n.id);
+                int rows = 0;
+                for (String sql : deletes) {
                     try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.setString(3, KanbanProjectManager.STATUS_LIST.get(0));
-                        ps.executeUpdate();
+                        ps.setInt(1, n.id);
+                        rows += ps.executeUpdate();
                     }
-                } else if (targetType == HierarchyType.SUBTASK) {
-                    String sql = "INSERT INTO subtasks (subtask_name, task_id) VALUES (?, ?)";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.executeUpdate();
+                }
+                ChangeLogWatcher.commitOwn(conn);
+                ChangeBus.publish(new ChangeEvent.NodeDeleted(n.type, n.id, taskIds));
+                return new DeletedSubtree(rows, taskIds);
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Runs a single-parameter id query, or returns an empty list for no query.
+     */
+    private static List<Integer> selectIds(Connection conn, String sql, int id) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        if (sql != null) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
                     }
                 }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Writes the result of the CRUD dialog: inserts a new child of
+     * {@code node}, or updates {@code node} itself.
+     * 
+     * @param isCreate   true to create a child, false to edit the node
+     * @param targetType the type of the node to create or edit
+     * @param node       the parent for a create, the edited node otherwise
+     * @param name       the name entered
+     * @param skillSets  the skill sets entered; only stored for phases
+     * @return the saved node, carrying the generated id for a create
+     * @throws SQLException if the write fails or the edited row no longer exists
+     */
+    public HierarchyNode handleCrudDialogResult(boolean isCreate, HierarchyType targetType, HierarchyNode node,
+            String name, String skillSets) throws SQLException {
+        String savedName = name.trim();
+        String savedSkillSets = targetType == HierarchyType.PHASE ? skillSets : null;
+        try (Connection conn = Database.writer().getConnection()) {
+            int id = ChangeLogWatcher.writeOwn(conn, () -> isCreate
+                    ? insertNode(conn, targetType, node, savedName, savedSkillSets)
+                    : updateNode(conn, targetType, node.id, savedName, savedSkillSets));
+            HierarchyNode saved = new HierarchyNode(targetType, id,
+                    HierarchyTreeLoader.displayName(targetType, savedName), savedSkillSets);
+            ChangeBus.publish(isCreate ? new ChangeEvent.NodeSaved(node.type, node.id, saved, true)
+                    : new ChangeEvent.NodeSaved(null, null, saved, false));
+            return saved;
+        }
+    }
+
+    /**
+     * Inserts a node under its parent.
+     *
+     * @return the generated id
+     */
+    private static int insertNode(Connection conn, HierarchyType type, HierarchyNode parent, String name,
+            String skillSets) throws SQLException {
+        String sql = switch (type) {
+        case PHASE -> "INSERT INTO project_phases (phase_name, skill_sets) VALUES (?, ?)";
+        case EPIC -> "INSERT INTO epics (epic_name, phase_id) VALUES (?, ?)";
+        case TASK -> "INSERT INTO tasks (title, epic_id, status) VALUES (?, ?, ?)";
+        case SUBTASK -> "INSERT INTO subtasks (subtask_name, task_id) VALUES (?, ?)";
+        case ROOT -> throw new IllegalArgumentException("The root cannot be created");
+        };
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, name);
+            if (type == HierarchyType.PHASE) {
+                ps.setString(2, skillSets);
             } else {
-                if (targetType == HierarchyType.PHASE) {
-                    String sql = "UPDATE project_phases SET phase_name = ?, skill_sets = ? WHERE phase_id = ?";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setString(2, skillSets);
-                        ps.setInt(3, node.id);
-                        ps.executeUpdate();
-                    }
-                } else if (targetType == HierarchyType.EPIC) {
-                    String sql = "UPDATE epics SET epic_name = ? WHERE epic_id = ?";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.executeUpdate();
-                    }
-                } else if (targetType == HierarchyType.TASK) {
-                    String sql = "UPDATE tasks SET title = ? WHERE id = ?";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.executeUpdate();
-                    }
-                } else if (targetType == HierarchyType.SUBTASK) {
-                    String sql = "UPDATE subtasks SET subtask_name = ? WHERE subtask_id = ?";
-                    try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                        ps.setString(1, name);
-                        ps.setInt(2, node.id);
-                        ps.executeUpdate();
-                    }
+                ps.setInt(2, parent.id);
+            }
+            if (type == HierarchyType.TASK) {
+                ps.setString(3, KanbanProjectManager.STATUS_LIST.get(0));
+            }
+            ps.executeUpdate();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return keys.getInt(1);
                 }
             }
-        } catch (SQLException e) {
-            KanbanProjectManager.showErrorDialogStatic("DB Error", e.getMessage());
         }
+        throw new SQLException("No id generated for " + type + " '" + name + "'");
+    }
+
+    /**
+     * Renames a node, and for phases replaces the skill sets.
+     *
+     * @return the node id
+     */
+    private static int updateNode(Connection conn, HierarchyType type, int id, String name, String skillSets)
+            throws SQLException {
+        String sql = switch (type) {
+        case PHASE -> "UPDATE project_phases SET phase_name = ?, skill_sets = ? WHERE phase_id = ?";
+        case EPIC -> "UPDATE epics SET epic_name = ? WHERE epic_id = ?";
+        case TASK -> "UPDATE tasks SET title = ? WHERE id = ?";
+        case SUBTASK -> "UPDATE subtasks SET subtask_name = ? WHERE subtask_id = ?";
+        case ROOT -> throw new IllegalArgumentException("The root cannot be edited");
+        };
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, name);
+            if (type == HierarchyType.PHASE) {
+                ps.setString(2, skillSets);
+                ps.setInt(3, id);
+            } else {
+                ps.setInt(2, id);
+            }
+            if (ps.executeUpdate() == 0) {
+                throw new SQLException(type + " " + id + " no longer exists");
+            }
+        }
+        return id;
     }
-}
\ No newline at end of file
+}
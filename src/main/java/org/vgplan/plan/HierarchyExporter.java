@@ -0,0 +1,543 @@
+package org.vgplan.plan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+/**
+ * Streams the whole Phase → Epic → Task → Sub-Task hierarchy to a file as
+ * nested JSON or flat CSV without building it in memory.
+ * <p>
+ * One cursor per level is opened on a single read transaction, each ordered
+ * by the path of its parents (phase name, epic name, task title, sub-task
+ * name). Walking the phase cursor and draining each child cursor while its
+ * parent id matches visits every row exactly once in tree order, so memory use
+ * does not depend on the size of the project. Tasks outside the hierarchy and
+ * their sub-tasks are written last, as unassigned tasks.
+ */
+public class HierarchyExporter {
+    /** Output formats. */
+    public enum Format {
+        /** One nested JSON document. */
+        JSON,
+        /** One CSV row per leaf, with the column names {@link BulkImporter} reads. */
+        CSV
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Every cursor selects the parent id first and the row's own id second.
+    private static final String PLACED = "FROM tasks t JOIN epics e ON e.epic_id = t.epic_id "
+            + "JOIN project_phases p ON p.phase_id = e.phase_id ";
+    private static final String UNPLACED = "t.epic_id IS NULL OR t.epic_id NOT IN "
+            + "(SELECT e.epic_id FROM epics e JOIN project_phases p ON p.phase_id = e.phase_id)";
+    private static final String TASK_COLUMNS = "t.id, t.title, t.status, t.priority, t.assignee, t.module, "
+            + "t.due_date, t.description ";
+    private static final String PHASE_SQL = "SELECT 0, phase_id, phase_name, skill_sets FROM project_phases "
+            + "ORDER BY phase_name";
+    private static final String EPIC_SQL = "SELECT e.phase_id, e.epic_id, e.epic_name FROM epics e "
+            + "JOIN project_phases p ON p.phase_id = e.phase_id ORDER BY p.phase_name, e.epic_name, e.epic_id";
+    private static final String TASK_SQL = "SELECT t.epic_id, " + TASK_COLUMNS + PLACED
+            + "ORDER BY p.phase_name, e.epic_name, e.epic_id, t.title, t.id";
+    private static final String SUBTASK_SQL = "SELECT s.task_id, s.subtask_id, s.subtask_name FROM subtasks s "
+            + "JOIN tasks t ON t.id = s.task_id JOIN epics e ON e.epic_id = t.epic_id "
+            + "JOIN project_phases p ON p.phase_id = e.phase_id "
+            + "ORDER BY p.phase_name, e.epic_name, e.epic_id, t.title, t.id, s.subtask_name, s.subtask_id";
+    private static final String UNASSIGNED_TASK_SQL = "SELECT 0, " + TASK_COLUMNS + "FROM tasks t WHERE "
+            + UNPLACED + " ORDER BY t.id";
+    private static final String UNASSIGNED_SUBTASK_SQL = "SELECT s.task_id, s.subtask_id, s.subtask_name "
+            + "FROM subtasks s JOIN tasks t ON t.id = s.task_id WHERE " + UNPLACED
+            + " ORDER BY t.id, s.subtask_name, s.subtask_id";
+
+    private final DataSource reader;
+
+    /**
+     * Rows written by an export.
+     *
+     * @param phases       phases written
+     * @param epics        epics written
+     * @param tasks        tasks written, including unassigned ones
+     * @param subtasks     sub-tasks written
+     * @param elapsedNanos export duration
+     */
+    public record ExportReport(int phases, int epics, int tasks, int subtasks, long elapsedNanos) {
+        @Override
+        public String toString() {
+            return String.format("%d phases, %d epics, %d tasks, %d sub-tasks in %d ms", phases, epics, tasks,
+                    subtasks, elapsedNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Creates an exporter reading through the given data source.
+     *
+     * @param reader the data source to read from
+     */
+    public HierarchyExporter(DataSource reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Headless entry point:
+     * {@code HierarchyExporter <output-file> [json|csv] [database-file]}. The
+     * format defaults to CSV for a {@code .csv} file and JSON otherwise; the
+     * database defaults to {@code project_kanban.db} in the working directory.
+     *
+     * @param args the command line arguments
+     * @throws Exception if the export fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: HierarchyExporter <output-file> [json|csv] [database-file]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        Format format = args.length > 1 ? Format.valueOf(args[1].toUpperCase()) : formatFor(file);
+        Database.open("jdbc:sqlite:" + (args.length > 2 ? args[2] : "project_kanban.db"));
+        try {
+            System.out.println("Exported " + new HierarchyExporter(Database.reader()).export(file, format));
+        } finally {
+            Database.close();
+        }
+    }
+
+    /**
+     * Picks the format matching a file name.
+     *
+     * @param file the output file
+     * @return CSV for a {@code .csv} file, JSON otherwise
+     */
+    public static Format formatFor(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? Format.CSV : Format.JSON;
+    }
+
+    /**
+     * Exports the hierarchy to a file, replacing it if it exists.
+     *
+     * @param file   the output file
+     * @param format the output format
+     * @return counts of the rows written
+     * @throws IOException  if the file cannot be written
+     * @throws SQLException if a query fails
+     */
+    public ExportReport export(Path file, Format format) throws IOException, SQLException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return export(out, format);
+        }
+    }
+
+    /**
+     * Exports the hierarchy to a writer. The writer is flushed, not closed.
+     *
+     * @param out    the destination
+     * @param format the output format
+     * @return counts of the rows written
+     * @throws IOException  if writing fails
+     * @throws SQLException if a query fails
+     */
+    public ExportReport export(Writer out, Format format) throws IOException, SQLException {
+        long started = System.nanoTime();
+        ExportSink sink = format == Format.JSON ? new JsonSink(out) : new CsvSink(out);
+        try (Connection conn = reader.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false); // one snapshot for all cursors
+            try {
+                int[] counts = new int[4];
+                sink.begin();
+                walkHierarchy(conn, sink, counts);
+                sink.beginUnassigned();
+                walkUnassigned(conn, sink, counts);
+                sink.end();
+                out.flush();
+                return new ExportReport(counts[0], counts[1], counts[2], counts[3], System.nanoTime() - started);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Merge-walks the four level cursors.
+     */
+    private static void walkHierarchy(Connection conn, ExportSink sink, int[] counts)
+            throws IOException, SQLException {
+        try (Cursor phases = new Cursor(conn, PHASE_SQL);
+                Cursor epics = new Cursor(conn, EPIC_SQL);
+                Cursor tasks = new Cursor(conn, TASK_SQL);
+                Cursor subtasks = new Cursor(conn, SUBTASK_SQL)) {
+            for (; phases.hasRow; phases.advance()) {
+                sink.phase(phases.rs);
+                counts[0]++;
+                for (int phaseId = phases.id(); epics.at(phaseId); epics.advance()) {
+                    sink.epic(epics.rs);
+                    counts[1]++;
+                    walkTasks(epics.id(), tasks, subtasks, sink, counts);
+                    sink.endEpic();
+                }
+                sink.endPhase();
+            }
+        }
+    }
+
+    /**
+     * Writes the tasks outside the hierarchy with their sub-tasks.
+     */
+    private static void walkUnassigned(Connection conn, ExportSink sink, int[] counts)
+            throws IOException, SQLException {
+        try (Cursor tasks = new Cursor(conn, UNASSIGNED_TASK_SQL);
+                Cursor subtasks = new Cursor(conn, UNASSIGNED_SUBTASK_SQL)) {
+            walkTasks(0, tasks, subtasks, sink, counts);
+        }
+    }
+
+    /**
+     * Writes the tasks under one parent id and their sub-tasks.
+     */
+    private static void walkTasks(int parentId, Cursor tasks, Cursor subtasks, ExportSink sink, int[] counts)
+            throws IOException, SQLException {
+        for (; tasks.at(parentId); tasks.advance()) {
+            sink.task(tasks.rs);
+            counts[2]++;
+            for (int taskId = tasks.id(); subtasks.at(taskId); subtasks.advance()) {
+                sink.subtask(subtasks.rs);
+                counts[3]++;
+            }
+            sink.endTask();
+        }
+    }
+
+    /**
+     * A forward-only query whose first column is the parent id and second
+     * column the row id.
+     */
+    private static final class Cursor implements AutoCloseable {
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private boolean hasRow;
+
+        Cursor(Connection conn, String sql) throws SQLException {
+            stmt = conn.prepareStatement(sql);
+            rs = stmt.executeQuery();
+            hasRow = rs.next();
+        }
+
+        boolean at(int parentId) throws SQLException {
+            return hasRow && rs.getInt(1) == parentId;
+        }
+
+        int id() throws SQLException {
+            return rs.getInt(2);
+        }
+
+        void advance() throws SQLException {
+            hasRow = rs.next();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (stmt; rs) {
+                // closes the result set, then the statement
+            }
+        }
+    }
+
+    /**
+     * Receives the rows in tree order. Row arguments are positioned cursors
+     * with the columns of the corresponding level query.
+     */
+    private interface ExportSink {
+        void begin() throws IOException;
+
+        void phase(ResultSet row) throws IOException, SQLException;
+
+        void endPhase() throws IOException;
+
+        void epic(ResultSet row) throws IOException, SQLException;
+
+        void endEpic() throws IOException;
+
+        void task(ResultSet row) throws IOException, SQLException;
+
+        void endTask() throws IOException;
+
+        void subtask(ResultSet row) throws IOException, SQLException;
+
+        void beginUnassigned() throws IOException;
+
+        void end() throws IOException;
+    }
+
+    /**
+     * {@code {"phases":[{..,"epics":[{..,"tasks":[{..,"subtasks":[..]}]}]}],"unassigned_tasks":[..]}}
+     */
+    private static final class JsonSink implements ExportSink {
+        private static final String[] TASK_FIELDS = { "title", "status", "priority", "assignee", "module",
+                "due_date", "description" };
+        private final Writer out;
+        // Whether the next element at each depth is the first of its array
+        private final boolean[] first = new boolean[4];
+
+        JsonSink(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write("{\"phases\":[");
+            first[0] = true;
+        }
+
+        @Override
+        public void phase(ResultSet row) throws IOException, SQLException {
+            open(0);
+            field("id", row.getInt(2));
+            field("name", row.getString(3));
+            field("skill_sets", row.getString(4));
+            out.write(",\"epics\":[");
+        }
+
+        @Override
+        public void endPhase() throws IOException {
+            out.write("]}");
+        }
+
+        @Override
+        public void epic(ResultSet row) throws IOException, SQLException {
+            open(1);
+            field("id", row.getInt(2));
+            field("name", row.getString(3));
+            out.write(",\"tasks\":[");
+        }
+
+        @Override
+        public void endEpic() throws IOException {
+            out.write("]}");
+        }
+
+        @Override
+        public void task(ResultSet row) throws IOException, SQLException {
+            open(2);
+            field("id", row.getInt(2));
+            for (int i = 0; i < TASK_FIELDS.length; i++) {
+                field(TASK_FIELDS[i], row.getString(i + 3));
+            }
+            out.write(",\"subtasks\":[");
+        }
+
+        @Override
+        public void endTask() throws IOException {
+            out.write("]}");
+        }
+
+        @Override
+        public void subtask(ResultSet row) throws IOException, SQLException {
+            open(3);
+            field("id", row.getInt(2));
+            field("name", row.getString(3));
+            out.write('}');
+        }
+
+        @Override
+        public void beginUnassigned() throws IOException {
+            out.write("],\n\"unassigned_tasks\":[");
+            first[2] = true;
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.write("]}\n");
+        }
+
+        /**
+         * Opens an object at the given depth, after a comma unless it is the
+         * first of its array, and resets the depth below.
+         */
+        private void open(int depth) throws IOException {
+            if (!first[depth]) {
+                out.write(',');
+            }
+            first[depth] = false;
+            if (depth + 1 < first.length) {
+                first[depth + 1] = true;
+            }
+            out.write(depth < 3 ? "\n{" : "{");
+        }
+
+        private void field(String name, int value) throws IOException {
+            out.write('"');
+            out.write(name);
+            out.write("\":");
+            out.write(Integer.toString(value));
+        }
+
+        private void field(String name, String value) throws IOException {
+            out.write(",\"");
+            out.write(name);
+            out.write("\":");
+            if (value == null) {
+                out.write("null");
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.write("\\\"");
+                    case '\\' -> out.write("\\\\");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    case '\t' -> out.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.write(c);
+                        }
+                    }
+                }
+            }
+            out.write('"');
+        }
+    }
+
+    /**
+     * One row per leaf: a sub-task, a task without sub-tasks, an epic without
+     * tasks or a phase without epics, repeating the parent columns.
+     */
+    private static final class CsvSink implements ExportSink {
+        private static final String HEADER = "phase_id,phase,epic_id,epic,task_id,task,status,priority,assignee,"
+                + "module,due_date,description,subtask_id,subtask";
+        private final Writer out;
+        private final String[] phase = new String[2];
+        private final String[] epic = new String[2];
+        private final String[] task = new String[8];
+        private boolean phaseHasRows;
+        private boolean epicHasRows;
+        private boolean taskHasRows;
+
+        CsvSink(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write(HEADER);
+            out.write('\n');
+        }
+
+        @Override
+        public void phase(ResultSet row) throws IOException, SQLException {
+            read(row, phase);
+            phaseHasRows = false;
+        }
+
+        @Override
+        public void endPhase() throws IOException {
+            if (!phaseHasRows) {
+                writeRow(null, null);
+            }
+        }
+
+        @Override
+        public void epic(ResultSet row) throws IOException, SQLException {
+            read(row, epic);
+            epicHasRows = false;
+        }
+
+        @Override
+        public void endEpic() throws IOException {
+            if (!epicHasRows) {
+                writeRow(null, null);
+            }
+            phaseHasRows = true;
+            Arrays.fill(epic, null);
+        }
+
+        @Override
+        public void task(ResultSet row) throws IOException, SQLException {
+            read(row, task);
+            taskHasRows = false;
+        }
+
+        @Override
+        public void endTask() throws IOException {
+            if (!taskHasRows) {
+                writeRow(null, null);
+            }
+            epicHasRows = true;
+            Arrays.fill(task, null);
+        }
+
+        @Override
+        public void subtask(ResultSet row) throws IOException, SQLException {
+            writeRow(row.getString(2), row.getString(3));
+            taskHasRows = true;
+        }
+
+        @Override
+        public void beginUnassigned() {
+            Arrays.fill(phase, null);
+            Arrays.fill(epic, null);
+        }
+
+        @Override
+        public void end() {
+            // rows are complete as written
+        }
+
+        /**
+         * Copies the row's columns from the second one on (the row id first).
+         */
+        private static void read(ResultSet row, String[] into) throws SQLException {
+            for (int i = 0; i < into.length; i++) {
+                into[i] = row.getString(i + 2);
+            }
+        }
+
+        private void writeRow(String subtaskId, String subtaskName) throws IOException {
+            boolean firstColumn = true;
+            for (String[] level : new String[][] { phase, epic, task }) {
+                for (String value : level) {
+                    firstColumn = writeValue(value, firstColumn);
+                }
+            }
+            writeValue(subtaskId, false);
+            writeValue(subtaskName, false);
+            out.write('\n');
+        }
+
+        private boolean writeValue(String value, boolean firstColumn) throws IOException {
+            if (!firstColumn) {
+                out.write(',');
+            }
+            if (value == null) {
+                return false;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0;
+            if (quote) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value);
+            }
+            return false;
+        }
+    }
+}
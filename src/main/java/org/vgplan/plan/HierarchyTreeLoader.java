@@ -0,0 +1,187 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * Builds the Phase → Epic → Task → Sub-Task tree with one ordered bulk query
+ * per level. Children are attached to their parents in memory, keyed by parent
+ * id, so the number of queries stays at {@link #QUERY_COUNT} regardless of the
+ * size of the project. {@link #loadChildRows(Connection, HierarchyNode)} serves
+ * the lazy tree one level at a time instead.
+ */
+public class HierarchyTreeLoader {
+    /**
+     * Number of statements issued by {@link #load(Connection, TreeItem)};
+     * {@code HierarchyTreeLoaderTest} checks it at 1k, 10k and 100k tasks.
+     */
+    public static final int QUERY_COUNT = 4;
+
+    private static final String PHASE_SQL = "SELECT phase_id, phase_name, skill_sets FROM project_phases ORDER BY phase_name";
+    private static final String EPIC_SQL = "SELECT epic_id, epic_name, phase_id FROM epics ORDER BY phase_id, epic_name";
+    private static final String TASK_SQL = "SELECT id, title, epic_id FROM tasks WHERE epic_id IS NOT NULL ORDER BY epic_id, title";
+    private static final String SUBTASK_SQL = "SELECT subtask_id, subtask_name, task_id FROM subtasks ORDER BY task_id, subtask_name";
+
+    private static final String PHASE_CHILDREN_SQL = "SELECT p.phase_id, p.phase_name, "
+            + "(SELECT COUNT(*) FROM epics e WHERE e.phase_id = p.phase_id), p.skill_sets "
+            + "FROM project_phases p ORDER BY p.phase_name";
+    private static final String EPIC_CHILDREN_SQL = "SELECT e.epic_id, e.epic_name, "
+            + "(SELECT COUNT(*) FROM tasks t WHERE t.epic_id = e.epic_id) "
+            + "FROM epics e WHERE e.phase_id = ? ORDER BY e.epic_name";
+    private static final String TASK_CHILDREN_SQL = "SELECT t.id, t.title, "
+            + "(SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id) "
+            + "FROM tasks t WHERE t.epic_id = ? ORDER BY t.title";
+    private static final String SUBTASK_CHILDREN_SQL = "SELECT subtask_id, subtask_name, 0 "
+            + "FROM subtasks WHERE task_id = ? ORDER BY subtask_name";
+
+    /** Queries run on every tree load, checked against the schema indexes at startup. */
+    static final List<String> HOT_QUERIES = List.of(PHASE_SQL, EPIC_SQL, TASK_SQL, SUBTASK_SQL, PHASE_CHILDREN_SQL,
+            EPIC_CHILDREN_SQL, TASK_CHILDREN_SQL, SUBTASK_CHILDREN_SQL);
+
+    /**
+     * Creates a loader. It holds no state, so one instance can serve any
+     * number of loads.
+     */
+    public HierarchyTreeLoader() {
+    }
+
+    /**
+     * Returns the label shown in the tree for a node, e.g. "Epic: Billing".
+     * Siblings share the prefix, so labels sort like the names.
+     *
+     * @param type the node type
+     * @param name the stored name
+     * @return the display name
+     */
+    public static String displayName(HierarchyType type, String name) {
+        return switch (type) {
+        case PHASE -> "Phase: " + name;
+        case EPIC -> "Epic: " + name;
+        case TASK -> "Task: " + name;
+        case SUBTASK -> "Sub-Task: " + name;
+        case ROOT -> name;
+        };
+    }
+
+    /**
+     * Loads the whole hierarchy below the given root item.
+     *
+     * @param conn     an open connection
+     * @param rootItem the root tree item to populate
+     * @throws SQLException if any of the level queries fails
+     */
+    public void load(Connection conn, TreeItem<HierarchyNode> rootItem) throws SQLException {
+        long start = Metrics.start();
+        Map<Integer, TreeItem<HierarchyNode>> phases = loadPhases(conn, rootItem);
+        Map<Integer, TreeItem<HierarchyNode>> epics = loadLevel(conn, EPIC_SQL, HierarchyType.EPIC, "Epic: ",
+                phases);
+        Map<Integer, TreeItem<HierarchyNode>> tasks = loadLevel(conn, TASK_SQL, HierarchyType.TASK, "Task: ", epics);
+        loadLevel(conn, SUBTASK_SQL, HierarchyType.SUBTASK, "Sub-Task: ", tasks);
+        Metrics.stop("hierarchy.build", start);
+    }
+
+    /**
+     * Loads all phases in name order and adds them to the root item.
+     *
+     * @return the phase items keyed by phase id
+     */
+    private Map<Integer, TreeItem<HierarchyNode>> loadPhases(Connection conn, TreeItem<HierarchyNode> rootItem)
+            throws SQLException {
+        Map<Integer, TreeItem<HierarchyNode>> byId = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(PHASE_SQL); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                int phaseId = rs.getInt("phase_id");
+                TreeItem<HierarchyNode> phaseItem = new TreeItem<>(new HierarchyNode(HierarchyType.PHASE, phaseId,
+                        "Phase: " + rs.getString("phase_name"), rs.getString("skill_sets")));
+                byId.put(phaseId, phaseItem);
+                rootItem.getChildren().add(phaseItem);
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * Runs one level query (id, name, parent id; ordered by parent then name) and
+     * attaches every row to its already loaded parent. Rows whose parent is
+     * missing are skipped, as the old per-parent queries never reached them.
+     *
+     * @return the items of this level keyed by id
+     */
+    private Map<Integer, TreeItem<HierarchyNode>> loadLevel(Connection conn, String sql, HierarchyType type,
+            String prefix, Map<Integer, TreeItem<HierarchyNode>> parents) throws SQLException {
+        Map<Integer, TreeItem<HierarchyNode>> byId = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+            TreeItem<HierarchyNode> parent = null;
+            int parentId = 0;
+            while (rs.next()) {
+                int id = rs.getInt(1);
+                int rowParentId = rs.getInt(3);
+                if (parent == null || rowParentId != parentId) {
+                    parentId = rowParentId;
+                    parent = parents.get(parentId);
+                }
+                if (parent != null) {
+                    TreeItem<HierarchyNode> item = new TreeItem<>(new HierarchyNode(type, id, prefix + rs.getString(2)));
+                    byId.put(id, item);
+                    parent.getChildren().add(item);
+                }
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * Loads the direct children of one node, each with the number of its own
+     * children so that callers can tell leaves apart without loading them.
+     *
+     * @param conn   an open connection
+     * @param parent the parent node
+     * @return the child rows in display order; empty for sub-tasks
+     * @throws SQLException if the query fails
+     */
+    public List<DatabaseUtil.HierarchyRow> loadChildRows(Connection conn, HierarchyNode parent) throws SQLException {
+        List<DatabaseUtil.HierarchyRow> rows = new ArrayList<>();
+        switch (parent.type) {
+        case ROOT -> {
+            try (PreparedStatement ps = conn.prepareStatement(PHASE_CHILDREN_SQL); ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new DatabaseUtil.HierarchyRow(new HierarchyNode(HierarchyType.PHASE, rs.getInt(1),
+                            "Phase: " + rs.getString(2), rs.getString(4)), rs.getInt(3)));
+                }
+            }
+        }
+        case PHASE -> loadChildRows(conn, EPIC_CHILDREN_SQL, parent.id, HierarchyType.EPIC, "Epic: ", rows);
+        case EPIC -> loadChildRows(conn, TASK_CHILDREN_SQL, parent.id, HierarchyType.TASK, "Task: ", rows);
+        case TASK -> loadChildRows(conn, SUBTASK_CHILDREN_SQL, parent.id, HierarchyType.SUBTASK, "Sub-Task: ", rows);
+        case SUBTASK -> {
+        }
+        }
+        return rows;
+    }
+
+    /**
+     * Runs a per-parent child query returning (id, name, child count).
+     */
+    private void loadChildRows(Connection conn, String sql, int parentId, HierarchyType type, String prefix,
+            List<DatabaseUtil.HierarchyRow> rows) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, parentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new DatabaseUtil.HierarchyRow(new HierarchyNode(type, rs.getInt(1), prefix + rs.getString(2)),
+                            rs.getInt(3)));
+                }
+            }
+        }
+    }
+}
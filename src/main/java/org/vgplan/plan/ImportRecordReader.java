@@ -0,0 +1,322 @@
+package org.vgplan.plan;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams flat records from a CSV file with a header row or from a JSON Lines
+ * file of flat objects. Only one record is held in memory at a time. Keys are
+ * lower-cased; blank values are returned as null.
+ */
+public abstract class ImportRecordReader implements Closeable {
+    /** The underlying character stream, read one character at a time. */
+    protected final Reader in;
+    /** The 1-based number of the line the last record started on. */
+    protected int lineNumber;
+    private int currentLine = 1;
+    private int pushedBack = -2;
+    private boolean started;
+
+    /**
+     * Creates a reader over a buffered character stream.
+     *
+     * @param in the input; should be buffered
+     */
+    protected ImportRecordReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Creates a CSV reader. The first row names the columns.
+     *
+     * @param in the input
+     * @return the reader
+     */
+    public static ImportRecordReader csv(Reader in) {
+        return new Csv(in);
+    }
+
+    /**
+     * Creates a JSON Lines reader. Each non-blank line is one flat JSON object
+     * whose values are strings, numbers, booleans or null.
+     *
+     * @param in the input
+     * @return the reader
+     */
+    public static ImportRecordReader jsonLines(Reader in) {
+        return new JsonLines(in);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the record, or null at the end of the input
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    public abstract Map<String, String> next() throws IOException;
+
+    /**
+     * Returns the line on which the last record returned by {@link #next()} began.
+     *
+     * @return the 1-based line number
+     */
+    public int lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads one character, counting lines. A byte order mark at the start of
+     * the input, as written by Excel's "CSV UTF-8", is skipped.
+     *
+     * @return the character, or -1 at the end of the input
+     */
+    protected int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = in.read();
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') {
+                    c = in.read();
+                }
+            }
+        }
+        if (c == '\n') {
+            currentLine++;
+        }
+        return c;
+    }
+
+    /**
+     * Pushes back the character last returned by {@link #read()}.
+     */
+    protected void unread(int c) {
+        pushedBack = c;
+        if (c == '\n') {
+            currentLine--;
+        }
+    }
+
+    /**
+     * Marks the start of a record at the current line.
+     */
+    protected void startRecord() {
+        lineNumber = currentLine;
+    }
+
+    /**
+     * Creates a parse error that names the current line.
+     */
+    protected IOException malformed(String message) {
+        return new IOException("Line " + currentLine + ": " + message);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * RFC 4180 CSV: comma separated, fields optionally double-quoted, quotes
+     * inside quoted fields doubled, line breaks allowed inside quotes.
+     */
+    private static final class Csv extends ImportRecordReader {
+        private List<String> header;
+
+        Csv(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = readRow();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream().map(name -> name.trim().toLowerCase()).toList();
+            }
+            List<String> fields;
+            do {
+                fields = readRow();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                record.put(header.get(i), blankToNull(fields.get(i)));
+            }
+            return record;
+        }
+
+        /**
+         * Reads one row of fields, or null at the end of the input.
+         */
+        private List<String> readRow() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            startRecord();
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw malformed("unterminated quoted field");
+                    } else if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            unread(following);
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
+
+    /**
+     * JSON Lines with flat objects. Nested objects and arrays are rejected.
+     */
+    private static final class JsonLines extends ImportRecordReader {
+        JsonLines(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            int c = skipWhitespace();
+            if (c == -1) {
+                return null;
+            }
+            startRecord();
+            if (c != '{') {
+                throw malformed("expected '{'");
+            }
+            Map<String, String> record = new HashMap<>();
+            c = skipWhitespace();
+            if (c == '}') {
+                return record;
+            }
+            while (true) {
+                if (c != '"') {
+                    throw malformed("expected a field name");
+                }
+                String key = readString().toLowerCase();
+                if (skipWhitespace() != ':') {
+                    throw malformed("expected ':' after \"" + key + "\"");
+                }
+                record.put(key, blankToNull(readValue()));
+                c = skipWhitespace();
+                if (c == '}') {
+                    return record;
+                } else if (c != ',') {
+                    throw malformed("expected ',' or '}'");
+                }
+                c = skipWhitespace();
+            }
+        }
+
+        /**
+         * Reads a string, number, boolean or null value as text.
+         */
+        private String readValue() throws IOException {
+            int c = skipWhitespace();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw malformed("nested values are not supported");
+            }
+            StringBuilder literal = new StringBuilder();
+            while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+                literal.append((char) c);
+                c = read();
+            }
+            unread(c);
+            String text = literal.toString();
+            if (text.isEmpty()) {
+                throw malformed("expected a value");
+            }
+            return text.equals("null") ? null : text;
+        }
+
+        /**
+         * Reads the rest of a string whose opening quote was consumed.
+         */
+        private String readString() throws IOException {
+            StringBuilder text = new StringBuilder();
+            for (int c = read(); c != '"'; c = read()) {
+                if (c == -1 || c == '\n') {
+                    throw malformed("unterminated string");
+                }
+                if (c == '\\') {
+                    c = read();
+                    switch (c) {
+                        case 'n' -> text.append('\n');
+                        case 't' -> text.append('\t');
+                        case 'r' -> text.append('\r');
+                        case 'b' -> text.append('\b');
+                        case 'f' -> text.append('\f');
+                        case 'u' -> text.append(readUnicodeEscape());
+                        case '"', '\\', '/' -> text.append((char) c);
+                        default -> throw malformed("bad escape");
+                    }
+                } else {
+                    text.append((char) c);
+                }
+            }
+            return text.toString();
+        }
+
+        private char readUnicodeEscape() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw malformed("bad unicode escape");
+                }
+                value = value * 16 + digit;
+            }
+            return (char) value;
+        }
+
+        private int skipWhitespace() throws IOException {
+            int c = read();
+            while (c != -1 && Character.isWhitespace(c)) {
+                c = read();
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.vgplan.plan;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless batch mode for scripts and CI. It opens the same database through
+ * {@link Database}, applies the {@link SchemaMigrator} migrations and uses the
+ * same repository, importer and exporter as the board, but never touches the
+ * JavaFX toolkit. Connections are opened unpooled, since a run lasts only as
+ * long as one command.
+ * <p>
+ * This is a separate main class on purpose: the Java launcher starts the FX
+ * toolkit for any main class that extends {@code Application}, including
+ * {@link KanbanProjectManager}.
+ *
+ * <pre>
+ * KanbanCli [--db FILE] [--timing] COMMAND [ARGS]
+ *   count                                  tasks per status
+ *   move-stale FROM_STATUS TO_STATUS DAYS  move tasks created more than DAYS ago
+ *   import FILE                            bulk import CSV or JSON Lines
+ *   export FILE [json|csv]                 export the project hierarchy
+ * </pre>
+ *
+ * Exit status is 0 on success, 1 if the command fails and 2 for bad usage;
+ * {@code --timing} prints the run time to standard error, split into
+ * connecting, migrating and the command itself.
+ * <p>
+ * A cold {@code count} on a 100,000-task database takes 750-850 ms, of which
+ * 650-700 ms is spent before the command runs. Nearly all of that is
+ * sqlite-jdbc start-up: extracting its native library to the temporary
+ * directory and loading it, then initialising the first connection. When the
+ * schema is current, {@code migrate} only reads {@code PRAGMA user_version},
+ * about 12 ms. Two launcher options cut the start-up:
+ * <ul>
+ * <li>{@code -Dorg.sqlite.lib.path=DIR -Dorg.sqlite.lib.name=libsqlitejdbc.so}
+ * pointing at a copy of the library unpacked from the sqlite-jdbc jar skips
+ * the extraction, about 200 ms;</li>
+ * <li>an AppCDS archive, written once with
+ * {@code -XX:ArchiveClassesAtExit=kanbancli.jsa} and used with
+ * {@code -XX:SharedArchiveFile=kanbancli.jsa}, skips class loading and
+ * verification, about 150 ms. It needs a class path of jars only.</li>
+ * </ul>
+ * With both, the same run takes about 420 ms.
+ */
+public final class KanbanCli {
+    private static final String DEFAULT_DATABASE = "project_kanban.db";
+    private static final List<String> COMMANDS = List.of("count", "move-stale", "import", "export");
+    private static final String USAGE = """
+            Usage: KanbanCli [--db FILE] [--timing] COMMAND [ARGS]
+              count                                  tasks per status
+              move-stale FROM_STATUS TO_STATUS DAYS  move tasks created more than DAYS ago
+              import FILE                            bulk import CSV or JSON Lines
+              export FILE [json|csv]                 export the project hierarchy""";
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * Creates a CLI writing to the given streams.
+     *
+     * @param out the stream for command output
+     * @param err the stream for errors and timings
+     */
+    public KanbanCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Runs one command and exits with its status.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(new KanbanCli(System.out, System.err).run(args));
+    }
+
+    /**
+     * Runs one command.
+     *
+     * @param args the command line arguments
+     * @return the exit status
+     */
+    public int run(String[] args) {
+        String database = DEFAULT_DATABASE;
+        boolean timing = false;
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); i++) {
+            if (args[i].equals("--timing")) {
+                timing = true;
+            } else if (args[i].equals("--db") && i + 1 < args.length) {
+                database = args[++i];
+            } else {
+                return usage("Unknown option " + args[i]);
+            }
+        }
+        if (i == args.length) {
+            return usage(null);
+        }
+        if (!COMMANDS.contains(args[i])) {
+            return usage("Unknown command " + args[i]);
+        }
+        List<String> command = Arrays.asList(args).subList(i, args.length);
+        long opened = System.nanoTime();
+        long connected;
+        Database.openUnpooled("jdbc:sqlite:" + database);
+        try (Connection conn = Database.writer().getConnection()) {
+            connected = System.nanoTime();
+            new SchemaMigrator().migrate(conn);
+        } catch (SQLException e) {
+            Database.close();
+            err.println("Could not open " + database + ": " + e.getMessage());
+            return 1;
+        }
+        long ready = System.nanoTime();
+        try {
+            return execute(command);
+        } catch (Exception e) {
+            err.println(command.get(0) + " failed: " + e.getMessage());
+            return 1;
+        } finally {
+            Database.close();
+            if (timing) {
+                reportTiming(opened, connected, ready);
+            }
+        }
+    }
+
+    /**
+     * Dispatches a command to its implementation.
+     */
+    private int execute(List<String> command) throws IOException, SQLException {
+        List<String> args = command.subList(1, command.size());
+        return switch (command.get(0)) {
+            case "count" -> count(args);
+            case "move-stale" -> moveStale(args);
+            case "import" -> importFile(args);
+            case "export" -> export(args);
+            default -> usage("Unknown command " + command.get(0));
+        };
+    }
+
+    /**
+     * Prints the number of tasks per status and in total.
+     */
+    private int count(List<String> args) throws SQLException {
+        if (!args.isEmpty()) {
+            return usage("count takes no arguments");
+        }
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : tasks().countByStatus().entrySet()) {
+            out.println(entry.getKey() + "\t" + entry.getValue());
+            total += entry.getValue();
+        }
+        out.println("Total\t" + total);
+        return 0;
+    }
+
+    /**
+     * Moves the tasks created more than DAYS ago from one status to another.
+     */
+    private int moveStale(List<String> args) throws SQLException {
+        if (args.size() != 3) {
+            return usage("move-stale needs FROM_STATUS TO_STATUS DAYS");
+        }
+        for (String status : args.subList(0, 2)) {
+            if (!KanbanProjectManager.STATUS_LIST.contains(status)) {
+                return usage("Unknown status '" + status + "', expected one of " + KanbanProjectManager.STATUS_LIST);
+            }
+        }
+        int days;
+        try {
+            days = Integer.parseInt(args.get(2));
+        } catch (NumberFormatException e) {
+            return usage("DAYS must be a whole number, not '" + args.get(2) + "'");
+        }
+        if (days < 0) {
+            return usage("DAYS must not be negative");
+        }
+        int moved = tasks().moveStale(args.get(0), args.get(1), days);
+        out.println("Moved " + moved + " task(s) from '" + args.get(0) + "' to '" + args.get(1) + "'.");
+        return 0;
+    }
+
+    /**
+     * Bulk imports a CSV or JSON Lines file, printing progress to the error
+     * stream.
+     */
+    private int importFile(List<String> args) throws IOException, SQLException {
+        if (args.size() != 1) {
+            return usage("import needs FILE");
+        }
+        out.println("Imported " + new BulkImporter(Database.writer()).importFile(Path.of(args.get(0)),
+                progress -> err.println("  " + progress)));
+        return 0;
+    }
+
+    /**
+     * Exports the hierarchy in the given format, or the one matching the
+     * file name.
+     */
+    private int export(List<String> args) throws IOException, SQLException {
+        if (args.isEmpty() || args.size() > 2) {
+            return usage("export needs FILE [json|csv]");
+        }
+        Path file = Path.of(args.get(0));
+        HierarchyExporter.Format format;
+        try {
+            format = args.size() == 2 ? HierarchyExporter.Format.valueOf(args.get(1).toUpperCase())
+                    : HierarchyExporter.formatFor(file);
+        } catch (IllegalArgumentException e) {
+            return usage("Unknown export format '" + args.get(1) + "', expected json or csv");
+        }
+        out.println("Exported " + new HierarchyExporter(Database.reader()).export(file, format));
+        return 0;
+    }
+
+    private static TaskRepository tasks() {
+        return new TaskRepository(Database.reader(), Database.writer());
+    }
+
+    private int usage(String problem) {
+        if (problem != null) {
+            err.println(problem);
+        }
+        err.println(USAGE);
+        return 2;
+    }
+
+    /**
+     * Prints the time since the JVM started and how long connecting,
+     * migrating and the command took.
+     */
+    private void reportTiming(long opened, long connected, long ready) {
+        long done = System.nanoTime();
+        String sinceStart = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis() + " ms total, ")
+                .orElse("");
+        err.printf("timing: %sconnect %d ms, migrate %d ms, command %d ms%n", sinceStart,
+                (connected - opened) / 1_000_000, (ready - connected) / 1_000_000, (done - ready) / 1_000_000);
+    }
+}
@@ -1,50 +1,93 @@
 package org.vgplan.plan;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import javafx.beans.binding.Bindings;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.input.*;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.layout.*;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Properties;
-import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 
 public class KanbanProjectManager extends Application {
 
     private static final String DB_URL = "jdbc:sqlite:project_kanban.db";
-    static HikariDataSource dataSource;
+    private static final Path SNAPSHOT_FILE = Path.of("project_kanban.board");
+    private static final String SNAPSHOT_STATUS = "Showing the board from the last session; refreshing...";
+    private TaskRepository taskRepository;
+    private TaskSearch taskSearch;
+    private TaskMoveQueue moveQueue;
+    private ReferenceDataCache referenceData;
+    private ChangeLogWatcher changeLogWatcher;
+    // Start of the last board reload and the columns still waiting for their first page
+    private long boardReloadStart;
+    private int columnsAwaitingFirstPage;
 
     private BorderPane rootPane;
     private HBox columnsContainer;
+    private final Label statusLabel = new Label();
+    private final TextField searchField = new TextField();
     private ObservableList<KanbanColumn> columns;
-
-    private static final List<String> TEAM_MEMBERS = Arrays.asList("SSA1", "SA2", "India PM", "Dev1", "Dev2", "Dev3",
-            "Dev4", "Dev5", "Dev6", "Unassigned");
-    private static final List<String> MODULES = Arrays.asList("Ingress", "Egress", "MDM Customization", "Planning",
-            "General");
-    private static final List<String> PRIORITIES = Arrays.asList("High", "Medium", "Low");
-    static final List<String> STATUS_LIST = Arrays.asList("To Do", "In Progress", "Blocked", "In Review", "Done");
+    private final TaskStore taskStore = new TaskStore(STATUS_LIST);
+
+    /** The board columns, in display order. */
+    public static final List<String> STATUS_LIST = Arrays.asList("To Do", "In Progress", "Blocked", "In Review", "Done");
+    // Rows per keyset page of a column, and how close to the end the next page is requested
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 20;
+    private static final int CHANGE_LOG_RETENTION_DAYS = 1;
+    private static final int SEARCH_LIMIT = 500;
+    private static final int STOP_WRITE_TIMEOUT_SECONDS = 5;
+    // Card style classes by priority code: High, Medium, Low
+    private static final List<String> PRIORITY_STYLES = List.of("priority-high", "priority-medium", "priority-low");
+
+    // Background write state per task id, rendered by the task cells
+    private final Set<Integer> pendingTaskIds = new HashSet<>();
+    private final Set<Integer> failedTaskIds = new HashSet<>();
+    // Tasks matching the search field, highlighted on their cards
+    private Set<Integer> searchHitIds = Set.of();
+    // Cards selected for bulk operations, and the task a shift-click or shift-arrow range starts from
+    private final Set<Integer> selectedTaskIds = new HashSet<>();
+    private int selectionAnchorId = -1;
 
     // For keyboard navigation
     private int focusedColumnIndex = 0;
@@ -56,8 +99,14 @@ public class KanbanProjectManager extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        Metrics.install();
         setupDataSource();
-        setupDatabase();
+        taskRepository = new TaskRepository(Database.reader(), Database.writer());
+        taskSearch = new TaskSearch(Database.reader());
+        moveQueue = new TaskMoveQueue(taskRepository, task -> setTaskState(task.id(), false, false),
+                this::revertTaskMoves);
+        referenceData = new ReferenceDataCache(Database.reader());
+        ChangeBus.subscribe(this::applyChanges);
 
         rootPane = new BorderPane();
         columnsContainer = new HBox(10);
@@ -80,10 +129,17 @@ public class KanbanProjectManager extends Application {
 
         // Menu Bar
         MenuBar menuBar = createMenuBar(primaryStage);
-        rootPane.setTop(menuBar);
-
-        // Load tasks from DB
-        loadTasksFromDB();
+        rootPane.setTop(createTopBar(menuBar));
+        statusLabel.setPadding(new Insets(2, 10, 2, 10));
+        rootPane.setBottom(statusLabel);
+
+        // Paint the last session's cards, or synthetic tasks when running the stress fixture
+        int stressTasks = BoardStressFixture.requestedTaskCount();
+        if (stressTasks > 0) {
+            loadStressFixture(stressTasks);
+        } else {
+            showSnapshot();
+        }
 
         Scene scene = new Scene(rootPane, 1200, 800);
         // Ensure styles.css is in the correct location (e.g., src/main/resources if
@@ -99,84 +155,128 @@ public class KanbanProjectManager extends Application {
             // Add basic inline styles as a fallback or instruct user
         }
 
+        Metrics.watchPulses(scene);
+        scene.getAccelerators().put(new KeyCodeCombination(KeyCode.F, KeyCombination.CONTROL_DOWN),
+                searchField::requestFocus);
         setupKeyboardNavigation(scene);
         updateColumnFocus(); // Initial focus
 
         primaryStage.setTitle("Project Kanban Board - ETL & MDM (July 1st Start)");
         primaryStage.setScene(scene);
         primaryStage.show();
+        prepareDatabase(stressTasks == 0);
+    }
+
+    /**
+     * Fills the board from the snapshot of the last session, if there is
+     * one, so the first frame shows cards before the database is touched.
+     */
+    private void showSnapshot() {
+        List<Task> tasks = BoardSnapshot.read(SNAPSHOT_FILE, STATUS_LIST);
+        if (!tasks.isEmpty()) {
+            taskStore.setAll(tasks);
+            statusLabel.setText(SNAPSHOT_STATUS);
+        }
+    }
+
+    /**
+     * Migrates the schema on the writer thread once the window is up, then
+     * starts everything that reads the database. A board painted from the
+     * snapshot is reconciled rather than reloaded.
+     *
+     * @param loadBoard whether to load the board from the database
+     */
+    private void prepareDatabase(boolean loadBoard) {
+        long start = Metrics.start();
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("schema", this::setupDatabase), version -> {
+            Metrics.stop("startup.schema", start);
+            System.out.println("Database schema at version " + version + ".");
+            databaseReady(loadBoard);
+        }, error -> {
+            System.err.println("Error migrating database schema: " + error.getMessage());
+            databaseReady(loadBoard);
+        });
+    }
+
+    private void databaseReady(boolean loadBoard) {
+        referenceData.invalidate();
+        startChangeLogWatcher();
+        if (loadBoard) {
+            loadTasksFromDB(taskStore.size() > 0);
+        }
     }
 
     private void setupDataSource() {
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(DB_URL);
-        // The driver class name is usually not needed for modern JDBC drivers if the
-        // JAR is in the classpath.
-        // config.setDriverClassName("org.sqlite.JDBC");
-        config.setUsername("");
-        config.setPassword("");
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        config.setMaximumPoolSize(5);
-        dataSource = new HikariDataSource(config);
-    }
-
-    private void setupDatabase() {
-        Properties sqlProps = new Properties();
-        try (InputStream in = getClass().getResourceAsStream("/org/vgplan/plan/db_schema.properties")) {
-            if (in != null) {
-                sqlProps.load(in);
-            } else {
-                throw new RuntimeException("Could not find db_schema.properties");
+        // WAL, synchronous and friends come from sqlite_profile.properties.
+        // The stress fixture writes to a throwaway copy, never to the project database.
+        Database.open(BoardStressFixture.requestedTaskCount() > 0 ? BoardStressFixture.temporaryDatabaseUrl() : DB_URL);
+        for (Database.PoolMetrics metrics : Database.poolMetrics()) {
+            System.out.println("Opened pool " + metrics);
+        }
+    }
+
+    /**
+     * Follows changes that other instances commit to the same database file.
+     * The board still works, without live updates, if this fails.
+     */
+    private void startChangeLogWatcher() {
+        try {
+            changeLogWatcher = ChangeLogWatcher.start();
+        } catch (SQLException e) {
+            System.err.println("Changes from other instances will not be shown: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the schema up to date, prunes the change log and seeds the team
+     * members of a new database, and the synthetic tasks of a stress fixture
+     * run. Runs on the writer thread.
+     *
+     * @return the schema version
+     * @throws SQLException if a statement fails
+     */
+    private int setupDatabase() throws SQLException {
+        try (Connection conn = Database.writer().getConnection()) {
+            SchemaMigrator migrator = new SchemaMigrator();
+            int version = migrator.migrate(conn);
+            migrator.pruneChangeLog(conn, CHANGE_LOG_RETENTION_DAYS);
+            checkQueryPlans(conn);
+            int stressTasks = BoardStressFixture.requestedTaskCount();
+            if (stressTasks > 0) {
+                BoardStressFixture.seed(conn, BoardStressFixture.generateTasks(stressTasks, STATUS_LIST));
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load db_schema.properties: " + e.getMessage(), e);
-        }
-        String createProjectPhasesTableSQL = sqlProps.getProperty("createProjectPhasesTable");
-        String createEpicsTableSQL = sqlProps.getProperty("createEpicsTable");
-        String createTaskTableSQL = sqlProps.getProperty("createTaskTable");
-        String createSubTaskTableSQL = sqlProps.getProperty("createSubTaskTable");
-        String createRaciActivitiesTableSQL = sqlProps.getProperty("createRaciActivitiesTable");
-        String createTeamMembersTableSQL = sqlProps.getProperty("createTeamMembersTable");
-        String createRaciAssignmentsTableSQL = sqlProps.getProperty("createRaciAssignmentsTable");
-
-        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
-            stmt.execute(createProjectPhasesTableSQL);
-            stmt.execute(createEpicsTableSQL);
-            stmt.execute(createTaskTableSQL);
-            stmt.execute(createSubTaskTableSQL);
-            stmt.execute(createRaciActivitiesTableSQL);
-            stmt.execute(createTeamMembersTableSQL);
-            stmt.execute(createRaciAssignmentsTableSQL);
-            System.out.println("Database tables checked/created successfully.");
 
             // Pre-populate team members if table is empty
-            try (PreparedStatement psCheck = conn.prepareStatement("SELECT COUNT(*) FROM team_members");
+            try (PreparedStatement psCheck = conn.prepareStatement("SELECT EXISTS (SELECT 1 FROM team_members)");
                     ResultSet rs = psCheck.executeQuery()) {
                 if (rs.next() && rs.getInt(1) == 0) {
-                    insertDefaultTeamMembers(conn);
+                    ReferenceDataCache.seedTeamMembers(conn);
                 }
             }
-
-        } catch (SQLException e) {
-            System.err.println("Error creating database tables: " + e.getMessage());
+            return version;
         }
     }
 
-    private void insertDefaultTeamMembers(Connection conn) throws SQLException {
-        for (String memberName : TEAM_MEMBERS) {
-            try (PreparedStatement psCheck = conn
-                    .prepareStatement("SELECT COUNT(*) FROM team_members WHERE member_name = ?");
-                    PreparedStatement psInsert = conn
-                            .prepareStatement("INSERT INTO team_members (member_name) VALUES (?)")) {
-                psCheck.setString(1, memberName);
-                ResultSet rs = psCheck.executeQuery();
-                if (rs.next() && rs.getInt(1) == 0) {
-                    psInsert.setString(1, memberName);
-                    psInsert.executeUpdate();
-                }
-            }
+    /**
+     * Returns the board and hierarchy queries that run on every load. Their
+     * plans must not fall back to a full table scan; {@code SchemaMigratorTest}
+     * fails if one does.
+     *
+     * @return the hot queries
+     */
+    static List<String> hotQueries() {
+        List<String> hotQueries = new ArrayList<>(HierarchyTreeLoader.HOT_QUERIES);
+        hotQueries.add(TaskRepository.PAGE_SQL);
+        return hotQueries;
+    }
+
+    /**
+     * Warns about hot board and hierarchy queries whose plan falls back to a
+     * full table scan, which usually means a schema index is missing.
+     */
+    private void checkQueryPlans(Connection conn) throws SQLException {
+        for (String problem : SchemaMigrator.findUnindexedScans(conn, hotQueries())) {
+            System.err.println("Warning: unindexed query plan: " + problem);
         }
     }
 
@@ -191,14 +291,129 @@ public class KanbanProjectManager extends Application {
         MenuItem projectHierarchyItem = new MenuItem("Project Hierarchy...");
         projectHierarchyItem.setOnAction(e -> showProjectHierarchyDialog(primaryStage));
 
+        MenuItem raciItem = new MenuItem("RACI Matrix...");
+        raciItem.setOnAction(e -> new RaciMatrixDialog(primaryStage,
+                new RaciRepository(Database.reader(), Database.writer()), referenceData).show());
+
+        MenuItem importItem = new MenuItem("Import Tasks...");
+        importItem.setOnAction(e -> importTasks(primaryStage));
+
+        MenuItem exportItem = new MenuItem("Export Hierarchy...");
+        exportItem.setOnAction(e -> exportHierarchy(primaryStage));
+
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> primaryStage.close());
-        fileMenu.getItems().addAll(newTaskItem, projectHierarchyItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(newTaskItem, projectHierarchyItem, raciItem, importItem, exportItem,
+                new SeparatorMenuItem(), exitItem);
 
-        menuBar.getMenus().addAll(fileMenu);
+        menuBar.getMenus().addAll(fileMenu, createViewMenu());
         return menuBar;
     }
 
+    /**
+     * Puts the search field to the right of the menu bar.
+     *
+     * @param menuBar the menu bar
+     * @return the top bar
+     */
+    private HBox createTopBar(MenuBar menuBar) {
+        searchField.setPromptText("Search tasks (Ctrl+F)");
+        searchField.setPrefColumnCount(24);
+        searchField.setOnAction(e -> focusFirstSearchHit());
+        TypeAheadSearch.attach(searchField, taskSearch, SEARCH_LIMIT, this::showSearchHits);
+        HBox topBar = new HBox(10, menuBar, searchField);
+        topBar.setAlignment(Pos.CENTER_LEFT);
+        topBar.setPadding(new Insets(0, 10, 0, 0));
+        HBox.setHgrow(menuBar, Priority.ALWAYS);
+        return topBar;
+    }
+
+    /**
+     * Highlights the cards of the tasks matching the search, including the
+     * tasks of matching sub-tasks, and reports how many are on the board.
+     *
+     * @param hits the search hits, best first
+     */
+    private void showSearchHits(List<TaskSearch.Hit> hits) {
+        Set<Integer> previous = searchHitIds;
+        Set<Integer> matches = new LinkedHashSet<>();
+        for (TaskSearch.Hit hit : hits) {
+            if (hit.taskId() != null) {
+                matches.add(hit.taskId());
+            }
+        }
+        searchHitIds = matches;
+        previous.forEach(taskStore::refresh);
+        matches.forEach(taskStore::refresh);
+        if (searchField.getText().isBlank()) {
+            statusLabel.setText("");
+            return;
+        }
+        long onBoard = matches.stream().filter(id -> taskStore.get(id) != null).count();
+        statusLabel.setText(String.format("%d match%s, %d on the board%s", hits.size(), hits.size() == 1 ? "" : "es",
+                onBoard, hits.size() == SEARCH_LIMIT ? " (showing " + SEARCH_LIMIT + "; type more to narrow)" : ""));
+    }
+
+    /**
+     * Moves the keyboard focus to the best search hit that is on the board.
+     */
+    private void focusFirstSearchHit() {
+        for (int taskId : searchHitIds) {
+            Task task = taskStore.get(taskId);
+            int columnIndex = task == null ? -1 : task.statusCode();
+            int taskIndex = columnIndex < 0 ? -1 : columns.get(columnIndex).findTaskIndex(taskId);
+            if (taskIndex >= 0) {
+                focusedColumnIndex = columnIndex;
+                focusedTaskIndexInColumn = taskIndex;
+                rootPane.requestFocus();
+                updateColumnFocus();
+                updateTaskFocus();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates the View menu with board filters served from the task store.
+     * 
+     * @return the menu
+     */
+    private Menu createViewMenu() {
+        Menu viewMenu = new Menu("View");
+        ToggleGroup filterGroup = new ToggleGroup();
+        RadioMenuItem allItem = new RadioMenuItem("All Tasks");
+        allItem.setOnAction(e -> applyBoardFilter(null));
+        allItem.setSelected(true);
+        RadioMenuItem highPriorityItem = new RadioMenuItem("High Priority");
+        highPriorityItem.setOnAction(e -> applyBoardFilter(task -> task.priorityCode() == Task.HIGH_PRIORITY));
+        Menu assigneeMenu = new Menu("Assigned To");
+        viewMenu.setOnShowing(e -> fillAssigneeMenu(assigneeMenu, filterGroup));
+        allItem.setToggleGroup(filterGroup);
+        highPriorityItem.setToggleGroup(filterGroup);
+        viewMenu.getItems().addAll(allItem, highPriorityItem, assigneeMenu);
+        return viewMenu;
+    }
+
+    /**
+     * Lists the cached team members in the Assigned To menu, keeping the
+     * selected filter when the list is unchanged.
+     */
+    private void fillAssigneeMenu(Menu assigneeMenu, ToggleGroup filterGroup) {
+        List<String> members = referenceData.current().teamMembers();
+        List<String> shown = assigneeMenu.getItems().stream().map(MenuItem::getText).toList();
+        if (shown.equals(members)) {
+            return;
+        }
+        assigneeMenu.getItems().forEach(item -> ((RadioMenuItem) item).setToggleGroup(null));
+        assigneeMenu.getItems().clear();
+        for (String member : members) {
+            RadioMenuItem memberItem = new RadioMenuItem(member);
+            memberItem.setToggleGroup(filterGroup);
+            memberItem.setOnAction(e -> applyBoardFilter(task -> taskStore.isAssignedTo(task.id(), member)));
+            assigneeMenu.getItems().add(memberItem);
+        }
+    }
+
     // --- Project Hierarchy Dialog ---
     // Update: Ctrl+N always creates a child, double-click edits
     /**
@@ -211,11 +426,81 @@ public class KanbanProjectManager extends Application {
         new ProjectHierarchyDialog(ownerStage, new DatabaseUtil(), this).show();
     }
 
+    /**
+     * Imports a CSV or JSON Lines file of phases, epics, tasks and sub-tasks
+     * on the writer thread (see {@link BulkImporter}), showing progress in the
+     * status bar. The board reloads when the import is published.
+     * 
+     * @param ownerStage the parent stage
+     */
+    private void importTasks(Stage ownerStage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Tasks");
+        chooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON Lines", "*.jsonl", "*.ndjson"));
+        File file = chooser.showOpenDialog(ownerStage);
+        if (file == null) {
+            return;
+        }
+        BulkImporter importer = new BulkImporter(Database.writer());
+        statusLabel.setText("Importing " + file.getName() + "...");
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("import", () -> {
+            try {
+                return importer.importFile(file.toPath(),
+                        progress -> Platform.runLater(() -> statusLabel.setText("Importing: " + progress)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), report -> statusLabel.setText("Imported " + report), error -> {
+            statusLabel.setText("Import failed.");
+            reportWriteFailure("Could not import " + file.getName() + ": " + error.getMessage(), error);
+        });
+    }
+
+    /**
+     * Streams the project hierarchy to a JSON or CSV file off the FX thread
+     * (see {@link HierarchyExporter}).
+     * 
+     * @param ownerStage the parent stage
+     */
+    private void exportHierarchy(Stage ownerStage) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Hierarchy");
+        chooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showSaveDialog(ownerStage);
+        if (file == null) {
+            return;
+        }
+        HierarchyExporter exporter = new HierarchyExporter(Database.reader());
+        HierarchyExporter.Format format = HierarchyExporter.formatFor(file.toPath());
+        statusLabel.setText("Exporting to " + file.getName() + "...");
+        AsyncDataAccess.onFxThread(AsyncDataAccess.read("export", () -> {
+            try {
+                return exporter.export(file.toPath(), format);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), report -> statusLabel.setText("Exported " + report + " to " + file.getName()), error -> {
+            statusLabel.setText("Export failed.");
+            System.err.println("Export failed: " + error.getMessage());
+            showErrorDialog("Export Error", "Could not export to " + file.getName() + ": " + error.getMessage());
+        });
+    }
+
     // --- CRUD Dialog (Create or Edit) ---
-    public void showHierarchyCrudDialog(TreeItem<HierarchyNode> nodeItem, TreeView<HierarchyNode> treeView,
-            boolean isCreate) {
+    /**
+     * Shows the create or edit dialog for a hierarchy node and saves the
+     * result in the background. Nothing is written if the dialog is cancelled.
+     * 
+     * @param nodeItem the parent for a create, the edited node otherwise
+     * @param isCreate true to create a child of the node
+     * @param onSaved  receives the saved node on the JavaFX thread
+     */
+    public void showHierarchyCrudDialog(TreeItem<HierarchyNode> nodeItem, boolean isCreate,
+            Consumer<HierarchyNode> onSaved) {
         HierarchyNode node = nodeItem.getValue();
-        Dialog<Void> dialog = new Dialog<>();
+        Dialog<Boolean> dialog = new Dialog<>();
         dialog.initModality(Modality.APPLICATION_MODAL);
         String dialogTitle;
         HierarchyType targetType;
@@ -278,83 +563,17 @@ public class KanbanProjectManager extends Application {
         ButtonType saveBtn = new ButtonType("Save", ButtonBar.ButtonData.OK_DONE);
         dialog.getDialogPane().getButtonTypes().addAll(saveBtn, ButtonType.CANCEL);
         dialog.getDialogPane().setContent(grid);
-        dialog.setResultConverter(btn -> btn == saveBtn ? null : null);
-        Optional<Void> result = dialog.showAndWait();
-        if (true) {
-            try (Connection conn = dataSource.getConnection()) {
-                if (isCreate) {
-                    if (targetType == HierarchyType.PHASE) {
-                        // Create Phase
-                        String sql = "INSERT INTO project_phases (phase_name, skill_sets) VALUES (?, ?)";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setString(2, skillSetsField.getText());
-                            ps.executeUpdate();
-                        }
-                    } else if (targetType == HierarchyType.EPIC) {
-                        // Create Epic under selected Phase
-                        String sql = "INSERT INTO epics (epic_name, phase_id) VALUES (?, ?)";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id); // parent phase id
-                            ps.executeUpdate();
-                        }
-                    } else if (targetType == HierarchyType.TASK) {
-                        // Create Task under selected Epic
-                        String sql = "INSERT INTO tasks (title, epic_id, status) VALUES (?, ?, ?)";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id); // parent epic id
-                            ps.setString(3, STATUS_LIST.get(0)); // default status
-                            ps.executeUpdate();
-                        }
-                    } else if (targetType == HierarchyType.SUBTASK) {
-                        // Create Sub-Task under selected Task
-                        String sql = "INSERT INTO subtasks (subtask_name, task_id) VALUES (?, ?)";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id); // parent task id
-                            ps.executeUpdate();
-                        }
-                    }
-                } else {
-                    // Edit selected node
-                    if (node.type == HierarchyType.PHASE) {
-                        String sql = "UPDATE project_phases SET phase_name = ?, skill_sets = ? WHERE phase_id = ?";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setString(2, skillSetsField.getText());
-                            ps.setInt(3, node.id);
-                            ps.executeUpdate();
-                        }
-                    } else if (node.type == HierarchyType.EPIC) {
-                        String sql = "UPDATE epics SET epic_name = ? WHERE epic_id = ?";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id);
-                            ps.executeUpdate();
-                        }
-                    } else if (node.type == HierarchyType.TASK) {
-                        String sql = "UPDATE tasks SET title = ? WHERE id = ?";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id);
-                            ps.executeUpdate();
-                        }
-                    } else if (node.type == HierarchyType.SUBTASK) {
-                        String sql = "UPDATE subtasks SET subtask_name = ? WHERE subtask_id = ?";
-                        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                            ps.setString(1, nameField.getText());
-                            ps.setInt(2, node.id);
-                            ps.executeUpdate();
-                        }
-                    }
-                }
-            } catch (SQLException e) {
-                showErrorDialog("DB Error", e.getMessage());
-            }
-            loadHierarchyTree((TreeItem<HierarchyNode>) treeView.getRoot());
+        dialog.getDialogPane().lookupButton(saveBtn).disableProperty().bind(
+                Bindings.createBooleanBinding(() -> nameField.getText().isBlank(), nameField.textProperty()));
+        dialog.setResultConverter(btn -> btn == saveBtn);
+        if (!dialog.showAndWait().orElse(false)) {
+            return;
         }
+        String name = nameField.getText();
+        String skillSets = skillSetsField.getText();
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("hierarchy.save",
+                () -> new DatabaseUtil().handleCrudDialogResult(isCreate, targetType, node, name, skillSets)),
+                onSaved, error -> showErrorDialog("DB Error", error.getMessage()));
     }
 
     /**
@@ -379,172 +598,149 @@ public class KanbanProjectManager extends Application {
         ROOT, PHASE, EPIC, TASK, SUBTASK
     }
 
-    // --- Load Hierarchy Tree ---
     /**
-     * Loads the project hierarchy tree into the given root item.
-     * 
-     * @param rootItem the root TreeItem to populate
+     * Resets the board and loads the first page of every column in the
+     * background. Further pages are fetched as the columns are scrolled. Tasks
+     * with a status that has no column are first moved to the first column in
+     * one UPDATE, so that the paged queries reach them. Tasks with a write in
+     * flight keep their place on the board.
      */
-    private void loadHierarchyTree(TreeItem<HierarchyNode> rootItem) {
-        rootItem.getChildren().clear();
-        try (Connection conn = dataSource.getConnection()) {
-            loadPhases(conn, rootItem);
-        } catch (SQLException e) {
-            rootItem.getChildren().clear();
-            rootItem.getChildren()
-                    .add(new TreeItem<>(new HierarchyNode(HierarchyType.ROOT, null, "Error: " + e.getMessage())));
+    private void loadTasksFromDB(boolean reconcile) {
+        boardReloadStart = Metrics.start();
+        columnsAwaitingFirstPage = columns.size();
+        if (!reconcile) {
+            taskStore.setAll(pendingTaskIds.stream().map(taskStore::get).filter(Objects::nonNull).toList());
         }
+        AsyncDataAccess.onFxThread(
+                AsyncDataAccess.write("tasks.resetStatuses", () -> taskRepository.resetUnknownStatuses(STATUS_LIST, STATUS_LIST.get(0))),
+                fixed -> {
+                    if (fixed > 0) {
+                        System.err.println(fixed + " task(s) had an unknown status and were moved to 'To Do'.");
+                    }
+                    for (KanbanColumn column : columns) {
+                        column.resetPaging(reconcile);
+                        column.loadNextPage();
+                    }
+                }, error -> {
+                    System.err.println("Error loading tasks from DB: " + error.getMessage());
+                    showErrorDialog("Database Error", "Could not load tasks from the database.");
+                });
     }
 
     /**
-     * Loads all phases and their children into the root item.
+     * Counts down the columns of a reload and records the reload time once
+     * every column shows its first page.
      */
-    private void loadPhases(Connection conn, TreeItem<HierarchyNode> rootItem) throws SQLException {
-        String phaseSql = "SELECT phase_id, phase_name, skill_sets FROM project_phases ORDER BY phase_name";
-        try (PreparedStatement psPhase = conn.prepareStatement(phaseSql); ResultSet rsPhase = psPhase.executeQuery()) {
-            while (rsPhase.next()) {
-                int phaseId = rsPhase.getInt("phase_id");
-                String phaseName = rsPhase.getString("phase_name");
-                String skillSets = rsPhase.getString("skill_sets");
-                TreeItem<HierarchyNode> phaseItem = new TreeItem<>(
-                        new HierarchyNode(HierarchyType.PHASE, phaseId, "Phase: " + phaseName, skillSets));
-                loadEpics(conn, phaseItem, phaseId);
-                rootItem.getChildren().add(phaseItem);
+    private void firstPageShown() {
+        if (--columnsAwaitingFirstPage == 0) {
+            Metrics.stop("board.reload", boardReloadStart);
+            if (SNAPSHOT_STATUS.equals(statusLabel.getText())) {
+                statusLabel.setText("");
             }
         }
     }
 
     /**
-     * Loads all epics for a given phase and their children.
+     * Fills the board with generated tasks and records frame times while every
+     * column scrolls. See {@link BoardStressFixture}.
+     * 
+     * @param count the number of synthetic tasks
      */
-    private void loadEpics(Connection conn, TreeItem<HierarchyNode> phaseItem, int phaseId) throws SQLException {
-        String epicSql = "SELECT epic_id, epic_name FROM epics WHERE phase_id = ? ORDER BY epic_name";
-        try (PreparedStatement psEpic = conn.prepareStatement(epicSql)) {
-            psEpic.setInt(1, phaseId);
-            try (ResultSet rsEpic = psEpic.executeQuery()) {
-                while (rsEpic.next()) {
-                    int epicId = rsEpic.getInt("epic_id");
-                    String epicName = rsEpic.getString("epic_name");
-                    TreeItem<HierarchyNode> epicItem = new TreeItem<>(
-                            new HierarchyNode(HierarchyType.EPIC, epicId, "Epic: " + epicName));
-                    loadTasks(conn, epicItem, epicId);
-                    phaseItem.getChildren().add(epicItem);
-                }
-            }
+    private void loadStressFixture(int count) {
+        List<Task> tasks = BoardStressFixture.generateTasks(count, STATUS_LIST);
+        long start = System.nanoTime();
+        taskStore.setAll(tasks);
+        for (KanbanColumn column : columns) {
+            column.allLoaded = true; // synthetic data only, no database pages
         }
+        System.out.printf("[stress] added %d tasks in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+        BoardStressFixture.recordFrameTimes(count + " tasks", () -> {
+            for (KanbanColumn column : columns) {
+                column.scrollPixels(40);
+            }
+        });
+    }
+
+    private void addTaskToCorrectColumn(Task task) {
+        taskStore.put(withBoardStatus(task));
     }
 
     /**
-     * Loads all tasks for a given epic and their children.
+     * Returns the task unchanged if its status has a column. Otherwise the task
+     * is moved to the first column and the corrected status is written back.
+     * 
+     * @param task the task as read from the database
+     * @return the task with a board status
      */
-    private void loadTasks(Connection conn, TreeItem<HierarchyNode> epicItem, int epicId) throws SQLException {
-        String taskSql = "SELECT id, title FROM tasks WHERE epic_id = ? ORDER BY title";
-        try (PreparedStatement psTask = conn.prepareStatement(taskSql)) {
-            psTask.setInt(1, epicId);
-            try (ResultSet rsTask = psTask.executeQuery()) {
-                while (rsTask.next()) {
-                    int taskId = rsTask.getInt("id");
-                    String taskTitle = rsTask.getString("title");
-                    TreeItem<HierarchyNode> taskItem = new TreeItem<>(
-                            new HierarchyNode(HierarchyType.TASK, taskId, "Task: " + taskTitle));
-                    loadSubtasks(conn, taskItem, taskId);
-                    epicItem.getChildren().add(taskItem);
-                }
-            }
+    private Task withBoardStatus(Task task) {
+        if (task.statusCode() != Task.UNKNOWN_STATUS) {
+            return task;
         }
+        System.err.println("Task '" + task.title() + "' has an unknown status. Adding to 'To Do'.");
+        Task updatedTask = task.withStatus((byte) 0);
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("tasks.move", () -> taskRepository.updateStatus(task.id(), updatedTask.status())),
+                updated -> {
+                }, error -> reportWriteFailure("Could not update the task.", error));
+        return updatedTask;
     }
 
     /**
-     * Loads all subtasks for a given task.
+     * Puts an updated task on the board without reloading: the task store
+     * replaces it in its bucket, or moves it to the bucket of its new status.
+     * 
+     * @param task the task as now stored in the database
      */
-    private void loadSubtasks(Connection conn, TreeItem<HierarchyNode> taskItem, int taskId) throws SQLException {
-        String subSql = "SELECT subtask_id, subtask_name FROM subtasks WHERE task_id = ? ORDER BY subtask_name";
-        try (PreparedStatement psSub = conn.prepareStatement(subSql)) {
-            psSub.setInt(1, taskId);
-            try (ResultSet rsSub = psSub.executeQuery()) {
-                while (rsSub.next()) {
-                    int subId = rsSub.getInt("subtask_id");
-                    String subName = rsSub.getString("subtask_name");
-                    TreeItem<HierarchyNode> subItem = new TreeItem<>(
-                            new HierarchyNode(HierarchyType.SUBTASK, subId, "Sub-Task: " + subName));
-                    taskItem.getChildren().add(subItem);
-                }
-            }
-        }
+    private void placeTask(Task task) {
+        addTaskToCorrectColumn(task);
     }
 
-    // --- Delete Node ---
-    private void deleteHierarchyNode(TreeItem<HierarchyNode> node, TreeView<HierarchyNode> treeView) {
-        HierarchyNode n = node.getValue();
-        try (Connection conn = dataSource.getConnection()) {
-            if (n.type == HierarchyType.PHASE) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM project_phases WHERE phase_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.EPIC) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM epics WHERE epic_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.TASK) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            } else if (n.type == HierarchyType.SUBTASK) {
-                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM subtasks WHERE subtask_id = ?")) {
-                    ps.setInt(1, n.id);
-                    ps.executeUpdate();
-                }
-            }
-        } catch (SQLException e) {
-            showErrorDialog("DB Error", e.getMessage());
-        }
-        loadHierarchyTree((TreeItem<HierarchyNode>) treeView.getRoot());
+    /**
+     * Removes the card of a deleted task from whichever column holds it.
+     * 
+     * @param taskId the id of the deleted task
+     */
+    private void removeTask(int taskId) {
+        taskStore.remove(taskId);
     }
 
-    private void loadTasksFromDB() {
-        for (KanbanColumn column : columns) {
-            column.clearTasks();
+    /**
+     * Shows only the tasks matching the filter in every column. The filters
+     * read the in-memory task store, so no database query is needed. The
+     * selection is cleared, so bulk operations never touch hidden cards.
+     * 
+     * @param filter the filter, or null to show all tasks
+     */
+    private void applyBoardFilter(Predicate<Task> filter) {
+        if (!selectedTaskIds.isEmpty()) {
+            clearSelection();
         }
-
-        String sql = "SELECT id, title, description, assignee, module, status, priority, due_date FROM tasks";
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql);
-                ResultSet rs = pstmt.executeQuery()) {
-
-            while (rs.next()) {
-                Task task = new Task(rs.getInt("id"), rs.getString("title"), rs.getString("description"),
-                        rs.getString("assignee"), rs.getString("module"), rs.getString("status"),
-                        rs.getString("priority"),
-                        rs.getString("due_date") != null ? LocalDate.parse(rs.getString("due_date")) : null);
-                addTaskToCorrectColumn(task);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading tasks from DB: " + e.getMessage());
-            showErrorDialog("Database Error", "Could not load tasks from the database.");
+        for (KanbanColumn column : columns) {
+            column.setFilter(filter);
         }
+        focusedTaskIndexInColumn = -1;
+        updateTaskFocus();
     }
 
-    private void addTaskToCorrectColumn(Task task) {
-        for (KanbanColumn column : columns) {
-            if (column.getStatus().equals(task.status())) {
-                column.addTaskCard(task);
-                return;
-            }
-        }
-        System.err.println("Task '" + task.title() + "' has unknown status: " + task.status() + ". Adding to 'To Do'.");
-        if (!columns.isEmpty()) {
-            Task updatedTask = new Task(task.id(), task.title(), task.description(), task.assignee(), task.module(),
-                    columns.get(0).getStatus(), task.priority(), task.dueDate());
-            columns.get(0).addTaskCard(updatedTask);
-            updateTaskInDB(updatedTask);
+    /**
+     * Opens the task dialog. Board tasks carry no description, so for an
+     * existing task it is fetched first and the dialog opens when it arrives.
+     * 
+     * @param existingTask the task to edit, or null to create one
+     * @param ownerStage   the owner window
+     */
+    private void showTaskDialog(Task existingTask, Stage ownerStage) {
+        if (existingTask == null || existingTask.description() != null) {
+            showTaskDialogWithDetails(existingTask, ownerStage);
+            return;
         }
+        AsyncDataAccess.onFxThread(AsyncDataAccess.read("tasks.description", () -> taskRepository.loadDescription(existingTask.id())),
+                description -> showTaskDialogWithDetails(
+                        existingTask.withDescription(description != null ? description : ""), ownerStage),
+                error -> reportWriteFailure("Could not load the task.", error));
     }
 
     @SuppressWarnings("unused")
-    private void showTaskDialog(Task existingTask, Stage ownerStage) {
+    private void showTaskDialogWithDetails(Task existingTask, Stage ownerStage) {
         Dialog<Task> dialog = new Dialog<>();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(ownerStage);
@@ -560,13 +756,14 @@ public class KanbanProjectManager extends Application {
         TextArea descriptionArea = new TextArea();
         descriptionArea.setPromptText("Task Description");
         descriptionArea.setPrefRowCount(3);
-        ComboBox<String> assigneeCombo = new ComboBox<>(FXCollections.observableArrayList(TEAM_MEMBERS));
+        ReferenceDataCache.Snapshot reference = referenceData.current();
+        ComboBox<String> assigneeCombo = new ComboBox<>(FXCollections.observableArrayList(reference.teamMembers()));
         assigneeCombo.setPromptText("Assignee");
-        ComboBox<String> moduleCombo = new ComboBox<>(FXCollections.observableArrayList(MODULES));
+        ComboBox<String> moduleCombo = new ComboBox<>(FXCollections.observableArrayList(reference.modules()));
         moduleCombo.setPromptText("Module");
-        ComboBox<String> statusCombo = new ComboBox<>(FXCollections.observableArrayList(STATUS_LIST));
+        ComboBox<String> statusCombo = new ComboBox<>(FXCollections.observableArrayList(reference.statuses()));
         statusCombo.setPromptText("Status");
-        ComboBox<String> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(PRIORITIES));
+        ComboBox<String> priorityCombo = new ComboBox<>(FXCollections.observableArrayList(reference.priorities()));
         priorityCombo.setPromptText("Priority");
         DatePicker dueDatePicker = new DatePicker();
         dueDatePicker.setPromptText("Due Date");
@@ -614,7 +811,7 @@ public class KanbanProjectManager extends Application {
 
         dialog.setResultConverter(dialogButton -> {
             if (dialogButton == saveButtonType) {
-                return new Task(existingTask == null ? 0 : existingTask.id(), titleField.getText(),
+                return Task.of(existingTask == null ? 0 : existingTask.id(), titleField.getText(),
                         descriptionArea.getText(), assigneeCombo.getValue(), moduleCombo.getValue(),
                         statusCombo.getValue(), priorityCombo.getValue(), dueDatePicker.getValue());
             }
@@ -626,81 +823,474 @@ public class KanbanProjectManager extends Application {
             if (existingTask == null) {
                 saveTaskToDB(task);
             } else {
-                updateTaskInDB(task);
+                writeTaskChange("tasks.update", existingTask, task, () -> taskRepository.update(task),
+                        "Could not update the task.");
             }
-            loadTasksFromDB();
         });
     }
 
+    /**
+     * Inserts a new task in the background and adds its card once the database
+     * has assigned an id.
+     * 
+     * @param task the task to insert; its id is ignored
+     */
     private void saveTaskToDB(Task task) {
-        String sql = "INSERT INTO tasks(title, description, assignee, module, status, priority, due_date) VALUES(?,?,?,?,?,?,?)";
-        try (Connection conn = dataSource.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, task.title());
-            pstmt.setString(2, task.description());
-            pstmt.setString(3, task.assignee());
-            pstmt.setString(4, task.module());
-            pstmt.setString(5, task.status());
-            pstmt.setString(6, task.priority());
-            pstmt.setString(7, task.dueDate() != null ? task.dueDate().format(DateTimeFormatter.ISO_LOCAL_DATE) : null);
-
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        // No way to update id in record, but not used after insert
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("tasks.insert", () -> taskRepository.insert(task)),
+                id -> addTaskToCorrectColumn(task.withId(id)),
+                error -> reportWriteFailure("Could not save the task.", error));
+    }
+
+    /**
+     * Shows a task change on the board right away and writes it in the
+     * background. The card is marked pending until the write finishes; if it
+     * fails, the previous state is restored and the card is marked as failed.
+     * 
+     * @param name         names the write in the metrics
+     * @param previous     the task as currently shown
+     * @param updated      the task after the change
+     * @param write        the database write; returns false if no row matched
+     * @param errorMessage the message shown if the write fails
+     */
+    private void writeTaskChange(String name, Task previous, Task updated, AsyncDataAccess.SqlCall<Boolean> write,
+            String errorMessage) {
+        placeTask(updated);
+        setTaskState(updated.id(), true, false);
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write(name, write), written -> {
+            if (written) {
+                setTaskState(updated.id(), false, false);
+            } else {
+                revertTaskChange(previous, errorMessage, new SQLException("Task no longer exists"));
+            }
+        }, error -> revertTaskChange(previous, errorMessage, error));
+    }
+
+    /**
+     * Shows a status change on the board right away and queues it on the
+     * {@link TaskMoveQueue}. The card is marked pending until the move is
+     * written.
+     * 
+     * @param previous the task as currently shown
+     * @param updated  the task in its new column
+     */
+    private void queueTaskMove(Task previous, Task updated) {
+        placeTask(updated);
+        setTaskState(updated.id(), true, false);
+        moveQueue.enqueue(previous, updated);
+    }
+
+    /**
+     * Puts the tasks of a failed move batch back where they were and reports
+     * the error once.
+     */
+    private void revertTaskMoves(List<Task> previous, Throwable error) {
+        for (Task task : previous) {
+            placeTask(task);
+            setTaskState(task.id(), false, true);
+        }
+        updateTaskFocus();
+        reportWriteFailure(previous.size() == 1 ? "Could not move the task."
+                : "Could not move " + previous.size() + " tasks.", error);
+    }
+
+    /**
+     * Puts a task back where it was after a failed write and reports the error.
+     */
+    private void revertTaskChange(Task previous, String errorMessage, Throwable error) {
+        placeTask(previous);
+        setTaskState(previous.id(), false, true);
+        updateTaskFocus();
+        reportWriteFailure(errorMessage, error);
+    }
+
+    /**
+     * Deletes a task in the background; the card stays visible as pending until
+     * the delete succeeds.
+     * 
+     * @param task the task to delete
+     */
+    private void deleteTaskFromDB(Task task) {
+        moveQueue.cancel(task.id());
+        setTaskState(task.id(), true, false);
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("tasks.delete", () -> taskRepository.delete(task.id())), deleted -> {
+            removeTask(task.id());
+            updateTaskFocus();
+        }, error -> {
+            setTaskState(task.id(), false, true);
+            reportWriteFailure("Could not delete the task.", error);
+        });
+    }
+
+    /**
+     * Applies a batch of committed changes from the {@link ChangeBus} to the
+     * task store, which the columns observe. Tasks with a write of this board
+     * in flight are skipped; that write's own callback places them.
+     * 
+     * @param events the coalesced changes, in commit order
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            switch (event) {
+                case ChangeEvent.TaskSaved saved when !pendingTaskIds.contains(saved.task().id()) ->
+                    addTaskToCorrectColumn(saved.task());
+                case ChangeEvent.TaskMoved moved when !pendingTaskIds.contains(moved.taskId()) -> {
+                    Task task = taskStore.get(moved.taskId());
+                    byte statusCode = Task.statusCode(moved.status());
+                    if (task != null && task.statusCode() != statusCode) {
+                        addTaskToCorrectColumn(task.withStatus(statusCode));
                     }
                 }
+                case ChangeEvent.TasksReassigned reassigned -> reassignOnBoard(reassigned);
+                case ChangeEvent.TasksDeleted deleted -> removeTasksFromBoard(deleted.taskIds());
+                case ChangeEvent.NodeDeleted deleted -> removeTasksFromBoard(deleted.taskIds());
+                case ChangeEvent.NodeSaved saved when saved.node().type == HierarchyType.TASK ->
+                    placeHierarchyTask(saved.node(), saved.created());
+                case ChangeEvent.BulkChanged bulk -> {
+                    referenceData.invalidate();
+                    loadTasksFromDB(false);
+                }
+                default -> {
+                    // phases, epics, sub-tasks and the board's own pending writes
+                }
             }
-        } catch (SQLException e) {
-            System.err.println("Error saving task to DB: " + e.getMessage());
-            showErrorDialog("Database Error", "Could not save the task.");
-        }
-    }
-
-    private void updateTaskInDB(Task task) {
-        String sql = "UPDATE tasks SET title = ?, description = ?, assignee = ?, module = ?, status = ?, priority = ?, due_date = ? WHERE id = ?";
-        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, task.title());
-            pstmt.setString(2, task.description());
-            pstmt.setString(3, task.assignee());
-            pstmt.setString(4, task.module());
-            pstmt.setString(5, task.status());
-            pstmt.setString(6, task.priority());
-            pstmt.setString(7, task.dueDate() != null ? task.dueDate().format(DateTimeFormatter.ISO_LOCAL_DATE) : null);
-            pstmt.setInt(8, task.id());
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error updating task in DB: " + e.getMessage());
-            showErrorDialog("Database Error", "Could not update the task.");
         }
+        updateTaskFocus();
     }
 
-    private void deleteTaskFromDB(Task task) {
-        String sql = "DELETE FROM tasks WHERE id = ?";
-        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, task.id());
-            pstmt.executeUpdate();
-        } catch (SQLException e) {
-            System.err.println("Error deleting task from DB: " + e.getMessage());
-            showErrorDialog("Database Error", "Could not delete the task.");
+    /**
+     * Mirrors a task created or renamed in the hierarchy on the board.
+     */
+    private void placeHierarchyTask(HierarchyNode saved, boolean isCreate) {
+        String title = saved.displayName.replaceFirst("^Task: ", "");
+        Task existing = taskStore.get(saved.id);
+        if (existing == null) {
+            if (isCreate) {
+                addTaskToCorrectColumn(Task.of(saved.id, title, null, null, null, STATUS_LIST.get(0), null, null));
+            }
+        } else if (!existing.title().equals(title)) {
+            taskStore.put(existing.withTitle(title));
+        }
+    }
+
+    /**
+     * Gives the loaded tasks of a bulk reassignment their new assignee, except
+     * those with a write of this board in flight.
+     */
+    private void reassignOnBoard(ChangeEvent.TasksReassigned reassigned) {
+        short code = Task.ASSIGNEES.encode(reassigned.assignee());
+        List<Task> changed = new ArrayList<>();
+        for (int taskId : reassigned.taskIds()) {
+            Task task = taskStore.get(taskId);
+            if (task != null && task.assigneeCode() != code && !pendingTaskIds.contains(taskId)) {
+                changed.add(task.withAssignee(reassigned.assignee()));
+            }
+        }
+        taskStore.putAll(changed);
+    }
+
+    /**
+     * Drops deleted tasks from the board.
+     */
+    private void removeTasksFromBoard(List<Integer> taskIds) {
+        taskStore.removeAll(taskIds);
+        pendingTaskIds.removeAll(taskIds);
+        failedTaskIds.removeAll(taskIds);
+        selectedTaskIds.removeAll(taskIds);
+    }
+
+    /**
+     * Sets the pending and failed markers of a task and re-renders its card.
+     */
+    private void setTaskState(int taskId, boolean pending, boolean failed) {
+        if (pending) {
+            pendingTaskIds.add(taskId);
+        } else {
+            pendingTaskIds.remove(taskId);
+        }
+        if (failed) {
+            failedTaskIds.add(taskId);
+        } else {
+            failedTaskIds.remove(taskId);
+        }
+        taskStore.refresh(taskId);
+    }
+
+    /**
+     * Logs a failed background write and tells the user.
+     */
+    private void reportWriteFailure(String message, Throwable error) {
+        System.err.println(message + " " + error.getMessage());
+        showErrorDialog("Database Error", message);
+    }
+
+    /**
+     * Selects a card. A plain selection replaces the current one, a toggle
+     * adds or removes the card, and a range selects every visible card of
+     * the column between the anchor and this one.
+     * 
+     * @param column the column of the card
+     * @param index  the visible index of the card
+     * @param toggle true to add to or remove from the selection
+     * @param range  true to select from the anchor to the card
+     */
+    private void selectTask(KanbanColumn column, int index, boolean toggle, boolean range) {
+        Task task = column.getTask(index);
+        if (task == null) {
+            return;
+        }
+        int anchorIndex = column.findTaskIndex(selectionAnchorId);
+        if (range && anchorIndex >= 0) {
+            if (!toggle) {
+                selectedTaskIds.clear();
+            }
+            for (int i = Math.min(anchorIndex, index); i <= Math.max(anchorIndex, index); i++) {
+                selectedTaskIds.add(column.getTask(i).id());
+            }
+        } else {
+            if (!toggle) {
+                selectedTaskIds.clear();
+            }
+            if (!selectedTaskIds.remove(task.id())) {
+                selectedTaskIds.add(task.id());
+            }
+            selectionAnchorId = task.id();
+        }
+        selectionChanged();
+    }
+
+    /**
+     * Selects every visible card of a column.
+     */
+    private void selectAll(KanbanColumn column) {
+        for (int i = 0; i < column.getTaskCount(); i++) {
+            selectedTaskIds.add(column.getTask(i).id());
+        }
+        selectionChanged();
+    }
+
+    private void clearSelection() {
+        selectedTaskIds.clear();
+        selectionAnchorId = -1;
+        selectionChanged();
+    }
+
+    /**
+     * Redraws the visible cards and shows the selection size.
+     */
+    private void selectionChanged() {
+        for (KanbanColumn column : columns) {
+            column.refreshCells();
+        }
+        statusLabel.setText(selectedTaskIds.isEmpty() ? "" : selectedTaskIds.size() + " selected");
+    }
+
+    /**
+     * Returns the selected tasks that are on the board, in id order.
+     */
+    private List<Task> selectedTasks() {
+        List<Task> tasks = new ArrayList<>(selectedTaskIds.size());
+        for (int taskId : selectedTaskIds) {
+            Task task = taskStore.get(taskId);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        tasks.sort((a, b) -> Integer.compare(a.id(), b.id()));
+        return tasks;
+    }
+
+    /**
+     * Builds the context menu of a card: bulk move, reassign and delete of the
+     * selection, which becomes just this card if it was not selected.
+     */
+    private ContextMenu bulkMenu(Task clicked) {
+        if (!selectedTaskIds.contains(clicked.id())) {
+            selectedTaskIds.clear();
+            selectedTaskIds.add(clicked.id());
+            selectionAnchorId = clicked.id();
+            selectionChanged();
         }
+        List<Task> selection = selectedTasks();
+        String count = selection.size() == 1 ? "Task" : selection.size() + " Tasks";
+        Menu moveMenu = new Menu("Move " + count + " To");
+        for (String status : STATUS_LIST) {
+            MenuItem item = new MenuItem(status);
+            item.setOnAction(e -> bulkMove(selection, Task.statusCode(status)));
+            moveMenu.getItems().add(item);
+        }
+        Menu assignMenu = new Menu("Assign " + count + " To");
+        for (String member : referenceData.current().teamMembers()) {
+            MenuItem item = new MenuItem(member);
+            item.setOnAction(e -> bulkReassign(selection, member));
+            assignMenu.getItems().add(item);
+        }
+        MenuItem unassignItem = new MenuItem("Unassigned");
+        unassignItem.setOnAction(e -> bulkReassign(selection, null));
+        assignMenu.getItems().addAll(new SeparatorMenuItem(), unassignItem);
+        MenuItem deleteItem = new MenuItem("Delete " + count + "...");
+        deleteItem.setOnAction(e -> confirmBulkDelete(selection));
+        return new ContextMenu(moveMenu, assignMenu, new SeparatorMenuItem(), deleteItem);
+    }
+
+    /**
+     * Moves tasks to one column with a single write.
+     * 
+     * @param tasks      the tasks
+     * @param statusCode the code of the target status
+     */
+    private void bulkMove(List<Task> tasks, byte statusCode) {
+        String status = STATUS_LIST.get(statusCode);
+        List<Integer> taskIds = tasks.stream().filter(t -> t.statusCode() != statusCode).map(Task::id).toList();
+        cancelQueuedMoves(taskIds);
+        runBulkChange("tasks.bulkMove", taskIds, () -> taskRepository.moveTasks(taskIds, status),
+                task -> task.withStatus(statusCode), "Moved %d tasks to " + status, "Could not move the tasks.");
+    }
+
+    /**
+     * Gives tasks one assignee with a single write.
+     * 
+     * @param tasks    the tasks
+     * @param assignee the assignee, or null to unassign them
+     */
+    private void bulkReassign(List<Task> tasks, String assignee) {
+        List<Integer> taskIds = tasks.stream().filter(t -> !Objects.equals(t.assignee(), assignee)).map(Task::id)
+                .toList();
+        runBulkChange("tasks.bulkReassign", taskIds, () -> taskRepository.reassignTasks(taskIds, assignee),
+                task -> task.withAssignee(assignee), "Reassigned %d tasks", "Could not reassign the tasks.");
+    }
+
+    /**
+     * Asks for confirmation, then deletes tasks with a single write.
+     */
+    private void confirmBulkDelete(List<Task> tasks) {
+        Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION,
+                "Are you sure you want to delete " + tasks.size() + " tasks and their sub-tasks?", ButtonType.YES,
+                ButtonType.NO);
+        confirmDialog.setTitle("Confirm Deletion");
+        confirmDialog.setHeaderText(null);
+        if (confirmDialog.showAndWait().orElse(ButtonType.NO) != ButtonType.YES) {
+            return;
+        }
+        List<Integer> taskIds = tasks.stream().map(Task::id).toList();
+        cancelQueuedMoves(taskIds);
+        runBulkChange("tasks.bulkDelete", taskIds, () -> taskRepository.deleteTasks(taskIds), null, "Deleted %d tasks",
+                "Could not delete the tasks.");
+    }
+
+    /**
+     * Drops the queued single moves of tasks that a bulk move or delete
+     * replaces, along with their pending markers.
+     */
+    private void cancelQueuedMoves(List<Integer> taskIds) {
+        taskIds.forEach(moveQueue::cancel);
+        pendingTaskIds.removeAll(taskIds);
+    }
+
+    /**
+     * Writes a change to many tasks in one transaction and then patches the
+     * board once. The cards are marked pending while the write runs and
+     * failed if it does not commit. Cards that are already pending, such as
+     * those with a queued move, keep that marker until their own write ends.
+     * 
+     * @param name         names the write in the metrics
+     * @param taskIds      the ids of the tasks to change
+     * @param write        the write; returns the ids it changed
+     * @param patch        applies the change to a task on the board, or null
+     *                     for a delete
+     * @param doneMessage  the status text, with {@code %d} for the count
+     * @param errorMessage the message shown if the write fails
+     */
+    private void runBulkChange(String name, List<Integer> taskIds, AsyncDataAccess.SqlCall<List<Integer>> write,
+            UnaryOperator<Task> patch, String doneMessage, String errorMessage) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<Integer> marked = taskIds.stream().filter(id -> !pendingTaskIds.contains(id)).toList();
+        pendingTaskIds.addAll(marked);
+        selectionChanged();
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write(name, write), changed -> {
+            pendingTaskIds.removeAll(marked);
+            failedTaskIds.removeAll(changed);
+            if (patch == null) {
+                removeTasksFromBoard(changed);
+            } else {
+                List<Task> patched = new ArrayList<>(changed.size());
+                for (int taskId : changed) {
+                    Task task = taskStore.get(taskId);
+                    if (task != null) {
+                        patched.add(patch.apply(task));
+                    }
+                }
+                taskStore.putAll(patched);
+            }
+            selectionChanged();
+            updateTaskFocus();
+            statusLabel.setText(String.format(doneMessage, changed.size()));
+        }, error -> {
+            pendingTaskIds.removeAll(marked);
+            failedTaskIds.addAll(taskIds);
+            selectionChanged();
+            reportWriteFailure(errorMessage, error);
+        });
+    }
+
+    /**
+     * Handles the selection keys: Space toggles the focused card, Ctrl+A
+     * selects the focused column, Escape clears the selection and
+     * Ctrl+Delete deletes a selection of several cards.
+     * 
+     * @return true if the key was handled
+     */
+    private boolean handleSelectionKey(KeyEvent event, KanbanColumn column, Task focusedTask) {
+        if (event.getCode() == KeyCode.SPACE && focusedTask != null) {
+            selectTask(column, focusedTaskIndexInColumn, true, false);
+        } else if (event.getCode() == KeyCode.A && event.isShortcutDown()) {
+            selectAll(column);
+        } else if (event.getCode() == KeyCode.ESCAPE && !selectedTaskIds.isEmpty()) {
+            clearSelection();
+        } else if ((event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE)
+                && event.isControlDown() && selectedTaskIds.size() > 1) {
+            confirmBulkDelete(selectedTasks());
+        } else {
+            return false;
+        }
+        event.consume();
+        return true;
+    }
+
+    /**
+     * Extends the selection to the focused card after Shift+Up or Shift+Down,
+     * starting from the card that was focused before if there is no anchor
+     * in this column.
+     */
+    private void extendSelection(KanbanColumn column, Task previouslyFocused) {
+        if (focusedTaskIndexInColumn < 0) {
+            return;
+        }
+        if (column.findTaskIndex(selectionAnchorId) < 0) {
+            selectionAnchorId = previouslyFocused != null ? previouslyFocused.id()
+                    : column.getTask(focusedTaskIndexInColumn).id();
+        }
+        selectTask(column, focusedTaskIndexInColumn, false, true);
     }
 
     private void setupKeyboardNavigation(Scene scene) {
         scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getTarget() instanceof TextInputControl) {
+                return; // typing in the search field
+            }
             KanbanColumn currentFocusedColumn = columns.get(focusedColumnIndex);
-            TaskCard currentFocusedTaskCard = (focusedTaskIndexInColumn >= 0
-                    && focusedTaskIndexInColumn < currentFocusedColumn.getTaskCount())
-                            ? currentFocusedColumn.getTaskCard(focusedTaskIndexInColumn)
-                            : null;
+            Task currentFocusedTask = currentFocusedColumn.getTask(focusedTaskIndexInColumn);
+            if (handleSelectionKey(event, currentFocusedColumn, currentFocusedTask)) {
+                return;
+            }
 
             if (event.getCode() == KeyCode.RIGHT) {
                 if (focusedTaskIndexInColumn == -1) {
                     focusedColumnIndex = (focusedColumnIndex + 1) % columns.size();
-                } else if (currentFocusedTaskCard != null) {
+                } else if (currentFocusedTask != null) {
                     if (event.isControlDown()) {
-                        moveTask(currentFocusedTaskCard.getTask(), 1);
+                        moveTask(currentFocusedTask, 1);
                         event.consume();
                         return;
                     } else {
@@ -713,9 +1303,9 @@ public class KanbanProjectManager extends Application {
             } else if (event.getCode() == KeyCode.LEFT) {
                 if (focusedTaskIndexInColumn == -1) {
                     focusedColumnIndex = (focusedColumnIndex - 1 + columns.size()) % columns.size();
-                } else if (currentFocusedTaskCard != null) {
+                } else if (currentFocusedTask != null) {
                     if (event.isControlDown()) {
-                        moveTask(currentFocusedTaskCard.getTask(), -1);
+                        moveTask(currentFocusedTask, -1);
                         event.consume();
                         return;
                     } else {
@@ -736,6 +1326,9 @@ public class KanbanProjectManager extends Application {
                     focusedTaskIndexInColumn = -1;
                 }
                 updateTaskFocus();
+                if (event.isShiftDown()) {
+                    extendSelection(currentFocusedColumn, currentFocusedTask);
+                }
             } else if (event.getCode() == KeyCode.UP) {
                 if (currentFocusedColumn.getTaskCount() > 0) {
                     if (focusedTaskIndexInColumn > 0) {
@@ -747,25 +1340,27 @@ public class KanbanProjectManager extends Application {
                     focusedTaskIndexInColumn = -1;
                 }
                 updateTaskFocus();
+                if (event.isShiftDown()) {
+                    extendSelection(currentFocusedColumn, currentFocusedTask);
+                }
             } else if (event.getCode() == KeyCode.ENTER) {
-                if (currentFocusedTaskCard != null) {
-                    showTaskDialog(currentFocusedTaskCard.getTask(), (Stage) scene.getWindow());
+                if (currentFocusedTask != null) {
+                    showTaskDialog(currentFocusedTask, (Stage) scene.getWindow());
                 } else if (focusedTaskIndexInColumn == -1 && currentFocusedColumn != null) {
                     // Potentially add a new task to the focused column if no task is selected
                     // showTaskDialog(null, (Stage) scene.getWindow());
                     // For now, Enter on column does nothing, but could be an enhancement
                 }
             } else if (event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE) {
-                if (currentFocusedTaskCard != null && event.isControlDown()) {
+                if (currentFocusedTask != null && event.isControlDown()) {
                     Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION,
-                            "Are you sure you want to delete task '" + currentFocusedTaskCard.getTask().title() + "'?",
+                            "Are you sure you want to delete task '" + currentFocusedTask.title() + "'?",
                             ButtonType.YES, ButtonType.NO);
                     confirmDialog.setTitle("Confirm Deletion");
                     confirmDialog.setHeaderText(null);
                     Optional<ButtonType> res = confirmDialog.showAndWait();
                     if (res.isPresent() && res.get() == ButtonType.YES) {
-                        deleteTaskFromDB(currentFocusedTaskCard.getTask());
-                        loadTasksFromDB();
+                        deleteTaskFromDB(currentFocusedTask);
                         focusedTaskIndexInColumn = -1;
                         updateTaskFocus();
                     }
@@ -778,14 +1373,11 @@ public class KanbanProjectManager extends Application {
     }
 
     private void moveTask(Task task, int direction) {
-        int currentStatusIndex = STATUS_LIST.indexOf(task.status());
-        int newStatusIndex = currentStatusIndex + direction;
+        int newStatusIndex = task.statusCode() + direction;
 
         if (newStatusIndex >= 0 && newStatusIndex < STATUS_LIST.size()) {
-            Task updatedTask = new Task(task.id(), task.title(), task.description(), task.assignee(), task.module(),
-                    STATUS_LIST.get(newStatusIndex), task.priority(), task.dueDate());
-            updateTaskInDB(updatedTask);
-            loadTasksFromDB();
+            Task updatedTask = task.withStatus((byte) newStatusIndex);
+            queueTaskMove(task, updatedTask);
 
             focusedColumnIndex = newStatusIndex;
             KanbanColumn newColumn = columns.get(focusedColumnIndex);
@@ -820,6 +1412,38 @@ public class KanbanProjectManager extends Application {
         }
     }
 
+    /**
+     * Writes the first cards of every column for the next start.
+     */
+    private void saveSnapshot() {
+        Map<String, List<Task>> board = new LinkedHashMap<>();
+        for (String status : STATUS_LIST) {
+            board.put(status, taskStore.statusBucket(status));
+        }
+        try {
+            BoardSnapshot.write(SNAPSHOT_FILE, board);
+        } catch (IOException e) {
+            System.err.println("Could not write the board snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the queued task moves and waits for them, so that closing the
+     * pools does not cut the write short.
+     */
+    private void saveQueuedMoves() {
+        try {
+            moveQueue.flush().get(STOP_WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            System.err.println("Queued task moves were not saved: " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            System.err.println("Queued task moves were not saved within " + STOP_WRITE_TIMEOUT_SECONDS + " seconds.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while saving queued task moves.");
+        }
+    }
+
     private void showErrorDialog(String title, String content) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -830,10 +1454,17 @@ public class KanbanProjectManager extends Application {
 
     @Override
     public void stop() throws Exception {
-        if (dataSource != null) {
-            dataSource.close();
-            System.out.println("HikariDataSource closed.");
+        if (BoardStressFixture.requestedTaskCount() == 0) {
+            saveSnapshot();
+        }
+        if (changeLogWatcher != null) {
+            changeLogWatcher.close();
         }
+        saveQueuedMoves();
+        AsyncDataAccess.shutdown();
+        Database.close();
+        Metrics.uninstall();
+        System.out.println("Connection pools closed.");
         super.stop();
     }
 
@@ -841,23 +1472,174 @@ public class KanbanProjectManager extends Application {
 
     /**
      * Represents a Kanban task. Immutable record version for Java 21.
+     * <p>
+     * Fields repeated across many tasks are stored as codes, so a large board
+     * keeps one copy of each string and compares numbers: the status is its
+     * index in {@link #STATUS_LIST}, the assignee, module and priority are
+     * codes of {@link #ASSIGNEES}, {@link #MODULES} and {@link #PRIORITIES},
+     * and the due date is an epoch day. The accessors named after the fields
+     * decode them. Build tasks from plain values with
+     * {@link #of(int, String, String, String, String, String, String, LocalDate)}.
+     *
+     * @param id           the task id, 0 before insertion
+     * @param title        the title
+     * @param description  the description, or null if not loaded
+     * @param assigneeCode the assignee code, {@link StringDictionary#NONE} if unassigned
+     * @param moduleCode   the module code, {@link StringDictionary#NONE} if none
+     * @param statusCode   the status index, {@link #UNKNOWN_STATUS} if not a board status
+     * @param priorityCode the priority code, {@link StringDictionary#NONE} if none
+     * @param dueDay       the due date as an epoch day, {@link #NO_DUE_DATE} if none
      */
-    public static record Task(int id, String title, String description, String assignee, String module, String status,
-            String priority, LocalDate dueDate) {
+    public static record Task(int id, String title, String description, short assigneeCode, short moduleCode,
+            byte statusCode, short priorityCode, int dueDay) {
+        /** Assignee names of all tasks. */
+        public static final StringDictionary ASSIGNEES = new StringDictionary(List.of());
+        /** Module names of all tasks, starting with the default modules. */
+        public static final StringDictionary MODULES = new StringDictionary(ReferenceDataCache.DEFAULT_MODULES);
+        /** Priorities of all tasks; High, Medium and Low are coded 0, 1 and 2. */
+        public static final StringDictionary PRIORITIES = new StringDictionary(ReferenceDataCache.PRIORITIES);
+        /** Priority code of High. */
+        public static final short HIGH_PRIORITY = 0;
+        /** Status code of a status that has no column. */
+        public static final byte UNKNOWN_STATUS = -1;
+        /** Due day of a task without a due date. */
+        public static final int NO_DUE_DATE = Integer.MIN_VALUE;
+
+        /**
+         * Creates a task from plain values, encoding them.
+         *
+         * @param id          the task id
+         * @param title       the title
+         * @param description the description, or null
+         * @param assignee    the assignee, or null
+         * @param module      the module, or null
+         * @param status      the status, or null
+         * @param priority    the priority, or null
+         * @param dueDate     the due date, or null
+         * @return the task
+         */
+        public static Task of(int id, String title, String description, String assignee, String module,
+                String status, String priority, LocalDate dueDate) {
+            return new Task(id, title, description, ASSIGNEES.encode(assignee), MODULES.encode(module),
+                    statusCode(status), PRIORITIES.encode(priority),
+                    dueDate == null ? NO_DUE_DATE : (int) dueDate.toEpochDay());
+        }
+
+        /**
+         * Returns the code of a status.
+         *
+         * @param status a status, or null
+         * @return its index in {@link #STATUS_LIST}, or {@link #UNKNOWN_STATUS}
+         */
+        public static byte statusCode(String status) {
+            return (byte) STATUS_LIST.indexOf(status);
+        }
+
+        /** @return the assignee, or null */
+        public String assignee() {
+            return ASSIGNEES.decode(assigneeCode);
+        }
+
+        /** @return the module, or null */
+        public String module() {
+            return MODULES.decode(moduleCode);
+        }
+
+        /** @return the status, or null if it has no column */
+        public String status() {
+            return statusCode == UNKNOWN_STATUS ? null : STATUS_LIST.get(statusCode);
+        }
+
+        /** @return the priority, or null */
+        public String priority() {
+            return PRIORITIES.decode(priorityCode);
+        }
+
+        /** @return the due date, or null */
+        public LocalDate dueDate() {
+            return dueDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDay);
+        }
+
+        /**
+         * Returns a copy with another id.
+         *
+         * @param newId the id
+         * @return the copy
+         */
+        public Task withId(int newId) {
+            return new Task(newId, title, description, assigneeCode, moduleCode, statusCode, priorityCode, dueDay);
+        }
+
+        /**
+         * Returns a copy with another title.
+         *
+         * @param newTitle the title
+         * @return the copy
+         */
+        public Task withTitle(String newTitle) {
+            return new Task(id, newTitle, description, assigneeCode, moduleCode, statusCode, priorityCode, dueDay);
+        }
+
+        /**
+         * Returns a copy with another description.
+         *
+         * @param newDescription the description
+         * @return the copy
+         */
+        public Task withDescription(String newDescription) {
+            return new Task(id, title, newDescription, assigneeCode, moduleCode, statusCode, priorityCode, dueDay);
+        }
+
+        /**
+         * Returns a copy with another status.
+         *
+         * @param newStatusCode the status code
+         * @return the copy
+         */
+        public Task withStatus(byte newStatusCode) {
+            return new Task(id, title, description, assigneeCode, moduleCode, newStatusCode, priorityCode, dueDay);
+        }
+
+        /**
+         * Returns a copy with another assignee.
+         *
+         * @param assignee the assignee, or null
+         * @return the copy
+         */
+        public Task withAssignee(String assignee) {
+            return new Task(id, title, description, ASSIGNEES.encode(assignee), moduleCode, statusCode, priorityCode,
+                    dueDay);
+        }
+
         @Override
         public String toString() {
             return title;
         }
     }
 
+    /**
+     * A status column. Cards are rendered by a {@link ListView} whose cells are
+     * recycled, so only about a screenful of {@link TaskCard} nodes exists no
+     * matter how many tasks the column holds.
+     */
     class KanbanColumn extends VBox {
         private Label titleLabel;
-        private VBox taskContainer;
+        private ListView<Task> taskList;
         private String status;
-        private ObservableList<TaskCard> taskCards = FXCollections.observableArrayList();
+        private byte statusCode;
+        private FilteredList<Task> tasks;
+        private int focusedIndex = -1;
+        // Keyset paging state: the last id read from the database for this status
+        private int lastLoadedId;
+        private boolean allLoaded;
+        // Whether the next first page replaces the cards already shown instead of adding to them
+        private boolean reconcileFirstPage;
+        private boolean pageLoading;
+        private int pageGeneration;
 
         public KanbanColumn(String status) {
             this.status = status;
+            this.statusCode = Task.statusCode(status);
             this.setSpacing(10);
             this.setPadding(new Insets(10));
             this.getStyleClass().add("kanban-column");
@@ -869,17 +1651,14 @@ public class KanbanProjectManager extends Application {
             titleLabel = new Label(status);
             titleLabel.getStyleClass().add("column-title");
 
-            taskContainer = new VBox(5);
-            taskContainer.getStyleClass().add("task-container");
-            VBox.setVgrow(taskContainer, Priority.ALWAYS);
+            tasks = new FilteredList<>(taskStore.statusBucket(status));
+            taskList = new ListView<>(tasks);
+            taskList.getStyleClass().add("task-container");
+            taskList.setCellFactory(list -> new TaskCell(this));
+            taskList.setFocusTraversable(false);
+            VBox.setVgrow(taskList, Priority.ALWAYS);
 
-            ScrollPane scrollPane = new ScrollPane(taskContainer);
-            scrollPane.setFitToWidth(true);
-            scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-            scrollPane.getStyleClass().add("column-scroll-pane");
-            VBox.setVgrow(scrollPane, Priority.ALWAYS);
-
-            this.getChildren().addAll(titleLabel, scrollPane);
+            this.getChildren().addAll(titleLabel, taskList);
             setupDragAndDrop(this);
         }
 
@@ -887,51 +1666,152 @@ public class KanbanProjectManager extends Application {
             return status;
         }
 
-        public void addTaskCard(Task task) {
-            TaskCard card = new TaskCard(task);
-            taskCards.add(card);
-            taskContainer.getChildren().add(card);
+        /**
+         * Forgets the paging position so the next page starts from the top.
+         *
+         * @param reconcile whether the first page is reconciled with the cards
+         *                  already shown, such as those of a snapshot
+         */
+        public void resetPaging(boolean reconcile) {
+            reconcileFirstPage = reconcile;
+            lastLoadedId = 0;
+            allLoaded = false;
+            pageLoading = false;
+            pageGeneration++;
         }
 
-        public void removeTaskCard(TaskCard card) {
-            taskCards.remove(card);
-            taskContainer.getChildren().remove(card);
+        /**
+         * Fetches the next page of this column in the background, unless one is
+         * already on its way or the column is fully loaded.
+         */
+        public void loadNextPage() {
+            if (pageLoading || allLoaded) {
+                return;
+            }
+            pageLoading = true;
+            int generation = pageGeneration;
+            int afterId = lastLoadedId;
+            AsyncDataAccess.onFxThread(
+                    AsyncDataAccess.read("tasks.page", () -> taskRepository.loadPage(status, afterId, PAGE_SIZE)),
+                    page -> {
+                        if (generation != pageGeneration) {
+                            return;
+                        }
+                        pageLoading = false;
+                        allLoaded = page.size() < PAGE_SIZE;
+                        long start = Metrics.start();
+                        if (afterId == 0 && reconcileFirstPage) {
+                            reconcileFirstPage = false;
+                            taskStore.reconcileBucket(status, page, pendingTaskIds::contains);
+                        } else if (!page.isEmpty()) {
+                            taskStore.appendPage(status, page, pendingTaskIds::contains);
+                        }
+                        Metrics.stop("board.page.apply", start);
+                        if (!page.isEmpty()) {
+                            lastLoadedId = page.get(page.size() - 1).id();
+                        }
+                        if (afterId == 0) {
+                            firstPageShown();
+                        }
+                    }, error -> {
+                        pageLoading = false;
+                        System.err.println("Error loading tasks from DB: " + error.getMessage());
+                    });
         }
 
-        public void clearTasks() {
-            taskCards.clear();
-            taskContainer.getChildren().clear();
+        /**
+         * Called by cells as they are shown; loads more once the user scrolls
+         * close to the end of what has been loaded.
+         */
+        private void onRowShown(int index) {
+            if (index >= tasks.size() - PREFETCH_ROWS) {
+                loadNextPage();
+            }
+        }
+
+        /**
+         * Restricts the column to tasks matching the filter (null shows all).
+         */
+        public void setFilter(Predicate<Task> filter) {
+            focusedIndex = -1;
+            tasks.setPredicate(filter);
         }
 
         public int getTaskCount() {
-            return taskCards.size();
+            return tasks.size();
         }
 
-        public TaskCard getTaskCard(int index) {
-            if (index >= 0 && index < taskCards.size()) {
-                return taskCards.get(index);
+        public Task getTask(int index) {
+            if (index >= 0 && index < tasks.size()) {
+                return tasks.get(index);
             }
             return null;
         }
 
+        /**
+         * Returns the visible index of a task in this column, or -1.
+         */
         public int findTaskIndex(int taskId) {
-            for (int i = 0; i < taskCards.size(); i++) {
-                if (taskCards.get(i).getTask().id() == taskId) {
-                    return i;
-                }
+            Task task = taskStore.get(taskId);
+            if (task == null || task.statusCode() != statusCode) {
+                return -1;
             }
-            return -1;
+            int viewIndex = tasks.getViewIndex(taskStore.indexInBucket(taskId));
+            return viewIndex >= 0 ? viewIndex : -1;
         }
 
-        public void clearAllTaskFocus() {
-            for (TaskCard card : taskCards) {
-                card.setFocusStyle(false);
+        /**
+         * Re-renders the cell of the task at the given index, if it is visible.
+         */
+        public void refreshTask(int index) {
+            Task task = getTask(index);
+            if (task != null) {
+                taskStore.refresh(task.id());
             }
         }
 
+        /**
+         * Redraws the visible cards, e.g. after the selection changed.
+         */
+        public void refreshCells() {
+            taskList.refresh();
+        }
+
+        public void clearAllTaskFocus() {
+            int previous = focusedIndex;
+            focusedIndex = -1;
+            refreshTask(previous);
+        }
+
         public void setTaskFocus(int index, boolean focused) {
-            if (index >= 0 && index < taskCards.size()) {
-                taskCards.get(index).setFocusStyle(focused);
+            if (index >= 0 && index < tasks.size()) {
+                int previous = focusedIndex;
+                focusedIndex = focused ? index : -1;
+                refreshTask(previous);
+                refreshTask(index);
+                if (focused) {
+                    scrollIntoView(index);
+                }
+            }
+        }
+
+        /**
+         * Scrolls as little as needed to make the given row visible.
+         */
+        public void scrollIntoView(int index) {
+            if (taskList.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+                flow.scrollTo(index);
+            } else {
+                taskList.scrollTo(index);
+            }
+        }
+
+        /**
+         * Scrolls the list by a number of pixels; used by the stress fixture.
+         */
+        public void scrollPixels(double pixels) {
+            if (taskList.lookup(".virtual-flow") instanceof VirtualFlow<?> flow) {
+                flow.scrollPixels(pixels);
             }
         }
 
@@ -968,32 +1848,16 @@ public class KanbanProjectManager extends Application {
                         int taskId = Integer.parseInt(db.getString());
                         Task taskToMove = findTaskByIdGlobal(taskId);
 
-                        if (taskToMove != null) {
-                            // Remove from old column UI only, DB update will refresh all
-                            for (KanbanColumn col : columns) {
-                                TaskCard cardToRemove = null;
-                                for (TaskCard tc : col.taskCards) {
-                                    if (tc.getTask().id() == taskId) {
-                                        cardToRemove = tc;
-                                        break;
-                                    }
-                                }
-                                if (cardToRemove != null) {
-                                    // Don't remove from UI here, let loadTasksFromDB handle it
-                                    // col.removeTaskCard(cardToRemove);
-                                    break;
-                                }
-                            }
-
-                            Task updatedTask = new Task(taskToMove.id(), taskToMove.title(), taskToMove.description(),
-                                    taskToMove.assignee(), taskToMove.module(), targetColumn.getStatus(),
-                                    taskToMove.priority(), taskToMove.dueDate());
-                            updateTaskInDB(updatedTask);
-                            loadTasksFromDB(); // Reload all tasks to reflect the change correctly
+                        if (taskToMove != null && selectedTaskIds.contains(taskId) && selectedTaskIds.size() > 1) {
+                            bulkMove(selectedTasks(), targetColumn.statusCode);
+                            success = true;
+                        } else if (taskToMove != null) {
+                            Task updatedTask = taskToMove.withStatus(targetColumn.statusCode);
+                            queueTaskMove(taskToMove, updatedTask);
                             success = true;
 
                             focusedColumnIndex = columns.indexOf(targetColumn);
-                            focusedTaskIndexInColumn = targetColumn.findTaskIndex(taskId); // Re-find index after reload
+                            focusedTaskIndexInColumn = targetColumn.findTaskIndex(taskId);
                             updateColumnFocus();
                             updateTaskFocus();
                         }
@@ -1007,61 +1871,106 @@ public class KanbanProjectManager extends Application {
         }
 
         private Task findTaskByIdGlobal(int taskId) {
-            for (KanbanColumn column : columns) {
-                for (TaskCard card : column.taskCards) {
-                    if (card.getTask().id() == taskId) {
-                        return card.getTask();
-                    }
+            return taskStore.get(taskId);
+        }
+    }
+
+    /**
+     * List cell that shows a task through one reusable {@link TaskCard}.
+     */
+    class TaskCell extends ListCell<Task> {
+        private final KanbanColumn column;
+        private final TaskCard card;
+
+        TaskCell(KanbanColumn column) {
+            long start = Metrics.start();
+            this.card = new TaskCard();
+            Metrics.stop("board.card.create", start);
+            this.column = column;
+            this.setStyle("-fx-background-color: transparent; -fx-padding: 0 0 5 0;");
+            this.setOnMouseClicked(event -> {
+                if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 1 && !isEmpty()) {
+                    selectTask(column, getIndex(), event.isShortcutDown(), event.isShiftDown());
+                    focusedColumnIndex = columns.indexOf(column);
+                    focusedTaskIndexInColumn = getIndex();
+                    updateColumnFocus();
+                    updateTaskFocus();
+                }
+            });
+            this.setOnContextMenuRequested(event -> {
+                if (!isEmpty() && getItem() != null) {
+                    bulkMenu(getItem()).show(this, event.getScreenX(), event.getScreenY());
+                    event.consume();
                 }
+            });
+        }
+
+        @Override
+        protected void updateItem(Task task, boolean empty) {
+            super.updateItem(task, empty);
+            if (empty || task == null) {
+                setGraphic(null);
+                return;
             }
-            return null;
+            column.onRowShown(getIndex());
+            card.setTask(task);
+            card.setPending(pendingTaskIds.contains(task.id()));
+            card.setFailed(failedTaskIds.contains(task.id()));
+            card.setSearchHit(searchHitIds.contains(task.id()));
+            card.setSelected(selectedTaskIds.contains(task.id()));
+            card.setFocusStyle(getIndex() == column.focusedIndex);
+            setGraphic(card);
         }
     }
 
+    /**
+     * Visual card for a task. Cards are owned by list cells and re-bound to a
+     * different task with {@link #setTask(Task)} as the cells are recycled.
+     */
     class TaskCard extends VBox {
         private Task task;
         private Label titleLabel;
         private Label assigneeLabel;
         private Label priorityLabel;
         private Label dueDateLabel;
+        private boolean failed;
+        private boolean searchHit;
+        private boolean selected;
 
-        public TaskCard(Task task) {
-            this.task = task;
+        public TaskCard() {
             this.setPadding(new Insets(8));
             this.setSpacing(5);
             this.getStyleClass().add("task-card");
-            this.setStyle(
-                    "-fx-border-color: #888; -fx-border-width: 2; -fx-border-radius: 8; -fx-background-radius: 8; -fx-background-color: white;");
+            this.setStyle(baseStyle());
             this.setMaxWidth(Double.MAX_VALUE); // Allow card to fill column width
             this.setMinWidth(0); // Allow card to shrink if needed
 
-            titleLabel = new Label(task.title());
+            titleLabel = new Label();
             titleLabel.getStyleClass().add("task-title");
             titleLabel.setWrapText(true);
 
-            assigneeLabel = new Label(task.assignee());
+            assigneeLabel = new Label();
             assigneeLabel.getStyleClass().add("task-detail");
             assigneeLabel.setWrapText(true);
 
-            priorityLabel = new Label(task.priority());
+            priorityLabel = new Label();
             priorityLabel.getStyleClass().add("task-detail");
-            updatePriorityStyle(task.priority());
 
             dueDateLabel = new Label();
-            if (task.dueDate() != null) {
-                dueDateLabel.setText("Due: " + task.dueDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
-            }
             dueDateLabel.getStyleClass().add("task-detail");
 
             this.getChildren().addAll(titleLabel, assigneeLabel, priorityLabel, dueDateLabel);
 
             this.setOnMouseClicked(event -> {
-                if (event.getClickCount() == 2) {
+                if (event.getClickCount() == 2 && task != null) {
                     showTaskDialog(task, (Stage) this.getScene().getWindow());
                 }
             });
 
             this.setOnDragDetected(event -> {
+                if (task == null) {
+                    return;
+                }
                 Dragboard db = this.startDragAndDrop(TransferMode.MOVE);
                 ClipboardContent content = new ClipboardContent();
                 content.putString(String.valueOf(task.id()));
@@ -1076,27 +1985,89 @@ public class KanbanProjectManager extends Application {
             });
         }
 
+        /**
+         * Binds the card to a task, updating its labels and priority style.
+         */
+        public void setTask(Task task) {
+            this.task = task;
+            titleLabel.setText(task.title());
+            assigneeLabel.setText(task.assignee());
+            priorityLabel.setText(task.priority());
+            updatePriorityStyle(task.priorityCode());
+            dueDateLabel.setText(task.dueDay() != Task.NO_DUE_DATE
+                    ? "Due: " + task.dueDate().format(DateTimeFormatter.ISO_LOCAL_DATE)
+                    : "");
+        }
+
         public Task getTask() {
             return task;
         }
 
         public void setFocusStyle(boolean focused) {
             if (focused) {
-                this.setStyle(this.getStyle() + ";-fx-background-color: #e0f7fa;");
+                this.setStyle(baseStyle() + ";-fx-background-color: #e0f7fa;");
             } else {
-                this.setStyle(
-                        "-fx-border-color: #888; -fx-border-width: 2; -fx-border-radius: 8; -fx-background-radius: 8; -fx-background-color: white;");
+                this.setStyle(baseStyle());
             }
         }
 
-        private void updatePriorityStyle(String priority) {
-            this.getStyleClass().removeAll("priority-high", "priority-medium", "priority-low");
-            if (priority != null) {
-                switch (priority) {
-                case "High" -> this.getStyleClass().add("priority-high");
-                case "Medium" -> this.getStyleClass().add("priority-medium");
-                case "Low" -> this.getStyleClass().add("priority-low");
-                }
+        /**
+         * Dims the card while a background write for it is in flight.
+         */
+        public void setPending(boolean pending) {
+            this.setOpacity(pending ? 0.5 : 1.0);
+            this.getStyleClass().remove("task-pending");
+            if (pending) {
+                this.getStyleClass().add("task-pending");
+            }
+        }
+
+        /**
+         * Marks the card with a red border after a background write failed.
+         */
+        public void setFailed(boolean failed) {
+            this.failed = failed;
+            this.getStyleClass().remove("task-failed");
+            if (failed) {
+                this.getStyleClass().add("task-failed");
+            }
+            this.setStyle(baseStyle());
+        }
+
+        /**
+         * Marks the card with an amber border while it matches the search.
+         */
+        public void setSearchHit(boolean searchHit) {
+            this.searchHit = searchHit;
+            this.getStyleClass().remove("search-hit");
+            if (searchHit) {
+                this.getStyleClass().add("search-hit");
+            }
+            this.setStyle(baseStyle());
+        }
+
+        /**
+         * Marks the card with a blue border while it is selected.
+         */
+        public void setSelected(boolean selected) {
+            this.selected = selected;
+            this.getStyleClass().remove("task-selected");
+            if (selected) {
+                this.getStyleClass().add("task-selected");
+            }
+            this.setStyle(baseStyle());
+        }
+
+        private String baseStyle() {
+            return "-fx-border-color: "
+                    + (failed ? "#d32f2f" : selected ? "#1976d2" : searchHit ? "#f9a825" : "#888")
+                    + "; -fx-border-width: 2; -fx-border-radius: 8; -fx-background-radius: 8; -fx-background-color: white;";
+        }
+
+        private void updatePriorityStyle(short priorityCode) {
+            this.getStyleClass().removeAll(PRIORITY_STYLES);
+            if (priorityCode >= 0 && priorityCode < PRIORITY_STYLES.size()) {
+                this.getStyleClass().add(PRIORITY_STYLES.get(priorityCode));
             }
         }
     }
@@ -0,0 +1,284 @@
+package org.vgplan.plan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+/**
+ * Tree item that loads its children from the database the first time they are
+ * requested (normally when the node is expanded). The query runs through
+ * {@link AsyncDataAccess}, and the children are added on the JavaFX thread when
+ * it completes. Until then {@link #isLeaf()} is answered from the child count
+ * fetched together with the node itself.
+ * <p>
+ * Collapsed subtrees are remembered and unloaded again when the heap runs low,
+ * so memory follows what is on screen rather than what has been browsed.
+ */
+public final class LazyHierarchyTreeItem extends TreeItem<HierarchyNode> {
+    /** Fraction of the max heap above which collapsed subtrees are evicted. */
+    private static final double EVICTION_THRESHOLD = 0.75;
+    private static final Set<LazyHierarchyTreeItem> COLLAPSED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final DatabaseUtil dbUtil;
+    private int childCount;
+    private boolean loaded;
+    private boolean loading;
+    private int loadGeneration;
+    private List<Runnable> onChildrenLoaded;
+
+    /**
+     * Creates a lazy item.
+     *
+     * @param dbUtil     the database utility used to fetch children
+     * @param node       the node value
+     * @param childCount the known number of children, or -1 if unknown
+     */
+    public LazyHierarchyTreeItem(DatabaseUtil dbUtil, HierarchyNode node, int childCount) {
+        super(node);
+        this.dbUtil = dbUtil;
+        this.childCount = childCount;
+        expandedProperty().addListener((obs, wasExpanded, isExpanded) -> {
+            if (isExpanded) {
+                COLLAPSED.remove(this);
+            } else if (loaded) {
+                COLLAPSED.add(this);
+            }
+        });
+    }
+
+    /**
+     * Returns the children. The first access starts a background load and
+     * returns the still empty list, which is filled once the rows arrive.
+     */
+    @Override
+    public ObservableList<TreeItem<HierarchyNode>> getChildren() {
+        if (!loaded) {
+            loaded = true;
+            loading = true;
+            int generation = ++loadGeneration;
+            evictCollapsedIfLowOnMemory();
+            AsyncDataAccess.onFxThread(AsyncDataAccess.read("hierarchy.children", () -> dbUtil.loadChildRows(getValue())),
+                    rows -> setChildRows(generation, rows),
+                    error -> setChildRows(generation, List.of(new DatabaseUtil.HierarchyRow(
+                            new HierarchyNode(HierarchyType.ROOT, null, "Error: " + error.getMessage()), 0))));
+        }
+        return super.getChildren();
+    }
+
+    /**
+     * Answers from the cached child count while the children are not loaded.
+     */
+    @Override
+    public boolean isLeaf() {
+        return loaded && !loading ? super.getChildren().isEmpty() : childCount == 0;
+    }
+
+    /**
+     * Replaces the children with items for the loaded rows.
+     */
+    private void setChildRows(int generation, List<DatabaseUtil.HierarchyRow> rows) {
+        if (!loading || generation != loadGeneration) {
+            return; // unloaded or reloaded while the query was running
+        }
+        loading = false;
+        long start = Metrics.start();
+        List<TreeItem<HierarchyNode>> items = new ArrayList<>();
+        for (DatabaseUtil.HierarchyRow row : rows) {
+            items.add(new LazyHierarchyTreeItem(dbUtil, row.node(), row.childCount()));
+        }
+        childCount = items.size();
+        super.getChildren().setAll(items);
+        Metrics.stop("hierarchy.children.apply", start);
+        if (onChildrenLoaded != null) {
+            List<Runnable> actions = onChildrenLoaded;
+            onChildrenLoaded = null;
+            actions.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Runs an action once the children are loaded, starting the load if
+     * needed. If they are already loaded the action runs at once.
+     *
+     * @param action the action to run on the JavaFX thread
+     */
+    public void whenChildrenLoaded(Runnable action) {
+        getChildren();
+        if (!loading) {
+            action.run();
+            return;
+        }
+        if (onChildrenLoaded == null) {
+            onChildrenLoaded = new ArrayList<>();
+        }
+        onChildrenLoaded.add(action);
+    }
+
+    /**
+     * Finds a loaded direct child.
+     *
+     * @param type the child type
+     * @param id   the child id
+     * @return the child item, or null if it is not among the loaded children
+     */
+    public LazyHierarchyTreeItem findChild(HierarchyType type, Integer id) {
+        for (TreeItem<HierarchyNode> child : super.getChildren()) {
+            if (child instanceof LazyHierarchyTreeItem lazy && child.getValue().type == type
+                    && Objects.equals(child.getValue().id, id)) {
+                return lazy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a newly saved child in sorted position. Children that are not
+     * loaded yet are only counted, as loading them will include the new row;
+     * a load still in flight may predate the insert and is restarted.
+     *
+     * @param node the new child node
+     * @return the new tree item, or null if the children are not loaded
+     */
+    public TreeItem<HierarchyNode> addChild(HierarchyNode node) {
+        if (loading) {
+            reload();
+            return null;
+        }
+        if (!loaded) {
+            childCount = Math.max(childCount, 0) + 1;
+            return null;
+        }
+        TreeItem<HierarchyNode> item = new LazyHierarchyTreeItem(dbUtil, node, 0);
+        ObservableList<TreeItem<HierarchyNode>> children = super.getChildren();
+        children.add(sortedPosition(children, node), item);
+        childCount = children.size();
+        return item;
+    }
+
+    /**
+     * Moves a child whose name changed to its sorted position. The item
+     * itself is kept, so its expansion state and loaded children survive.
+     *
+     * @param child a child item whose value was replaced
+     */
+    public void childRenamed(TreeItem<HierarchyNode> child) {
+        ObservableList<TreeItem<HierarchyNode>> children = super.getChildren();
+        int from = children.indexOf(child);
+        if (from < 0) {
+            return;
+        }
+        boolean afterPrevious = from == 0 || compare(children.get(from - 1).getValue(), child.getValue()) <= 0;
+        boolean beforeNext = from == children.size() - 1
+                || compare(child.getValue(), children.get(from + 1).getValue()) <= 0;
+        if (!afterPrevious || !beforeNext) {
+            children.remove(from);
+            children.add(sortedPosition(children, child.getValue()), child);
+        }
+    }
+
+    /**
+     * Finds the item of a node among the loaded part of this subtree, without
+     * starting any load. Rows that are not loaded will be read fresh anyway.
+     *
+     * @param type the node type
+     * @param id   the node id, null for the root
+     * @return the item, or null if it is not loaded
+     */
+    public LazyHierarchyTreeItem findLoaded(HierarchyType type, Integer id) {
+        HierarchyNode node = getValue();
+        if (node.type == type && Objects.equals(node.id, id)) {
+            return this;
+        }
+        if (!loaded || loading || node.type.ordinal() >= type.ordinal()) {
+            return null;
+        }
+        for (TreeItem<HierarchyNode> child : super.getChildren()) {
+            if (child instanceof LazyHierarchyTreeItem lazy) {
+                LazyHierarchyTreeItem found = lazy.findLoaded(type, id);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a child deleted elsewhere.
+     *
+     * @param child the child item
+     */
+    public void removeChild(TreeItem<HierarchyNode> child) {
+        if (super.getChildren().remove(child)) {
+            childCount = super.getChildren().size();
+        }
+    }
+
+    /**
+     * Returns the index after the last sibling that sorts before or with the
+     * node, matching the name order of the child queries.
+     */
+    private static int sortedPosition(List<TreeItem<HierarchyNode>> siblings, HierarchyNode node) {
+        int low = 0;
+        int high = siblings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(siblings.get(mid).getValue(), node) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(HierarchyNode a, HierarchyNode b) {
+        return a.displayName.compareTo(b.displayName);
+    }
+
+    /**
+     * Discards the loaded children and fetches them again.
+     */
+    public void reload() {
+        unload();
+        childCount = -1;
+        getChildren();
+    }
+
+    /**
+     * Drops the loaded children, keeping their count for {@link #isLeaf()}.
+     */
+    private void unload() {
+        if (loaded && !loading) {
+            childCount = super.getChildren().size();
+        }
+        loaded = false;
+        loading = false;
+        super.getChildren().clear();
+        COLLAPSED.remove(this);
+    }
+
+    /**
+     * Unloads every collapsed subtree when heap usage is above the threshold.
+     */
+    private static void evictCollapsedIfLowOnMemory() {
+        Runtime rt = Runtime.getRuntime();
+        double used = rt.totalMemory() - rt.freeMemory();
+        if (used / rt.maxMemory() < EVICTION_THRESHOLD || COLLAPSED.isEmpty()) {
+            return;
+        }
+        for (LazyHierarchyTreeItem item : new ArrayList<>(COLLAPSED)) {
+            if (!item.isExpanded()) {
+                item.unload();
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.vgplan.plan;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+
+/**
+ * Latency histograms and counters for the hot paths: database calls, pool
+ * waits, board reloads, card creation, tree building and JavaFX pulses.
+ * <p>
+ * Recording is off unless the application is started with
+ * {@code -Dvgplan.metrics=true}. The switch is a {@code static final} flag,
+ * so a disabled {@link #start()} / {@link #stop(String, long)} pair costs one
+ * branch the JIT removes, and no clock is read. When enabled, the metrics are
+ * published as the {@code org.vgplan.plan:type=Metrics} MXBean and printed
+ * every {@code vgplan.metrics.logSeconds} seconds (default 60).
+ */
+public final class Metrics {
+    /** System property that enables recording. */
+    public static final String ENABLED_PROPERTY = "vgplan.metrics";
+    /** System property holding the log interval in seconds; 0 disables the log. */
+    public static final String LOG_SECONDS_PROPERTY = "vgplan.metrics.logSeconds";
+    /** Whether metrics are recorded in this run. */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final String OBJECT_NAME = "org.vgplan.plan:type=Metrics";
+    private static final Map<String, Histogram> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService logger;
+
+    /**
+     * Summary of one timer, in milliseconds. Percentiles are accurate to
+     * about 12%, the width of a histogram bucket.
+     *
+     * @param name  the timer name
+     * @param count the number of recorded durations
+     * @param mean  the mean duration
+     * @param p50   the median
+     * @param p95   the 95th percentile
+     * @param p99   the 99th percentile
+     * @param max   the longest duration
+     */
+    public record TimerSnapshot(String name, long count, double mean, double p50, double p95, double p99,
+            double max) {
+        @Override
+        public String toString() {
+            return String.format("%s: n=%d mean=%.3f p50=%.3f p95=%.3f p99=%.3f max=%.3f ms", name, count, mean, p50,
+                    p95, p99, max);
+        }
+    }
+
+    /**
+     * JMX view of the metrics.
+     */
+    public interface MetricsMXBean {
+        /**
+         * Returns all counters.
+         *
+         * @return counter values by name
+         */
+        Map<String, Long> getCounters();
+
+        /**
+         * Returns a one-line summary of every timer.
+         *
+         * @return summaries by timer name
+         */
+        Map<String, String> getTimers();
+
+        /**
+         * Returns the report that is also logged.
+         *
+         * @return the report text
+         */
+        String getReport();
+
+        /**
+         * Clears all timers and counters.
+         */
+        void reset();
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Starts a measurement.
+     *
+     * @return the start time to pass to {@link #stop(String, long)}, or 0 when
+     *         metrics are disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@link #start()} under the given timer.
+     *
+     * @param timer the timer name
+     * @param start the value returned by {@link #start()}
+     */
+    public static void stop(String timer, long start) {
+        if (ENABLED) {
+            recordNanos(timer, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration measured elsewhere.
+     *
+     * @param timer the timer name
+     * @param nanos the duration in nanoseconds
+     */
+    public static void recordNanos(String timer, long nanos) {
+        if (ENABLED) {
+            TIMERS.computeIfAbsent(timer, name -> new Histogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param counter the counter name
+     * @param delta   the amount to add
+     */
+    public static void count(String counter, long delta) {
+        if (ENABLED) {
+            COUNTERS.computeIfAbsent(counter, name -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * Returns a summary of every timer, sorted by name.
+     *
+     * @return the timer snapshots
+     */
+    public static List<TimerSnapshot> timers() {
+        List<TimerSnapshot> snapshots = new ArrayList<>();
+        TIMERS.forEach((name, histogram) -> snapshots.add(histogram.snapshot(name)));
+        snapshots.sort(Comparator.comparing(TimerSnapshot::name));
+        return snapshots;
+    }
+
+    /**
+     * Returns all counters, sorted by name.
+     *
+     * @return counter values by name
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> values = new TreeMap<>();
+        COUNTERS.forEach((name, adder) -> values.put(name, adder.sum()));
+        return values;
+    }
+
+    /**
+     * Formats all timers and counters, one per line.
+     *
+     * @return the report, empty if nothing was recorded
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (TimerSnapshot timer : timers()) {
+            report.append("[metrics] ").append(timer).append('\n');
+        }
+        counters().forEach((name, value) -> report.append("[metrics] ").append(name).append(": ").append(value)
+                .append('\n'));
+        return report.toString();
+    }
+
+    /**
+     * Clears all timers and counters.
+     */
+    public static void reset() {
+        TIMERS.clear();
+        COUNTERS.clear();
+    }
+
+    /**
+     * Registers the MXBean and starts the periodic log, if metrics are
+     * enabled.
+     */
+    public static synchronized void install() {
+        if (!ENABLED || logger != null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsView(), name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register the metrics MXBean: " + e.getMessage());
+        }
+        logger = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("metrics-log").factory());
+        long seconds = Long.getLong(LOG_SECONDS_PROPERTY, 60);
+        if (seconds > 0) {
+            logger.scheduleAtFixedRate(Metrics::log, seconds, seconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic log and prints the final report.
+     */
+    public static synchronized void uninstall() {
+        if (logger != null) {
+            logger.shutdownNow();
+            logger = null;
+            log();
+        }
+    }
+
+    /**
+     * Times the CSS and layout pass of every pulse of a scene, and the
+     * interval between frames, while metrics are enabled.
+     *
+     * @param scene the scene to watch
+     */
+    public static void watchPulses(Scene scene) {
+        if (!ENABLED) {
+            return;
+        }
+        long[] layoutStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> layoutStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> recordNanos("fx.pulse.layout", System.nanoTime() - layoutStart[0]));
+        new AnimationTimer() {
+            private long last;
+
+            @Override
+            public void handle(long now) {
+                if (last != 0) {
+                    recordNanos("fx.frame.interval", now - last);
+                }
+                last = now;
+            }
+        }.start();
+    }
+
+    private static void log() {
+        String report = report();
+        if (!report.isEmpty()) {
+            System.out.print(report);
+        }
+    }
+
+    /**
+     * The registered MXBean.
+     */
+    private static final class MetricsView implements MetricsMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public Map<String, String> getTimers() {
+            Map<String, String> timers = new LinkedHashMap<>();
+            for (TimerSnapshot timer : timers()) {
+                timers.put(timer.name(), timer.toString());
+            }
+            return timers;
+        }
+
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+
+    /**
+     * Lock-free log-linear histogram of nanosecond durations: four buckets per
+     * power of two, so a value is known to within 12.5%.
+     */
+    static final class Histogram {
+        private static final int BUCKETS = 248;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Adds one duration.
+         *
+         * @param nanos the duration, negative values count as 0
+         */
+        void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets.incrementAndGet(bucketOf(value));
+            count.increment();
+            sum.add(value);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        /**
+         * Summarizes the recorded durations.
+         *
+         * @param name the timer name
+         * @return the summary in milliseconds
+         */
+        TimerSnapshot snapshot(String name) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                total += counts[i];
+            }
+            long n = count.sum();
+            return new TimerSnapshot(name, n, n == 0 ? 0 : sum.sum() / 1e6 / n, percentile(counts, total, 0.50),
+                    percentile(counts, total, 0.95), percentile(counts, total, 0.99), max.get() / 1e6);
+        }
+
+        private double percentile(long[] counts, long total, double p) {
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(upperBound(i), max.get()) / 1e6;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Values below 4 get their own bucket; above that the two bits after
+         * the highest set bit pick one of four buckets per power of two.
+         */
+        static int bucketOf(long value) {
+            if (value < 4) {
+                return (int) value;
+            }
+            int msb = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (msb - 2)) & 3;
+            return 4 * (msb - 1) + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < 4) {
+                return bucket;
+            }
+            int msb = bucket / 4 + 1;
+            int sub = bucket % 4;
+            return ((4L + sub + 1) << (msb - 2)) - 1;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
@@ -13,21 +14,165 @@ import javafx.scene.control.ButtonBar;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Modality;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
 /**
- * Controller for the Project Hierarchy FXML UI.
+ * Controller for the Project Hierarchy FXML UI. The tree follows committed
+ * changes from the {@link ChangeBus}, whichever view made them, and patches
+ * only the loaded items they touch.
  */
 public class ProjectHierarchyController {
+    /** Search hits whose tree path is expanded. */
+    private static final int REVEAL_LIMIT = 20;
+
+    @FXML
+    private TextField searchField;
     @FXML
     private TreeView<HierarchyNode> treeView;
 
     private DatabaseUtil dbUtil;
-    private TreeItem<HierarchyNode> rootItem;
+    private LazyHierarchyTreeItem rootItem;
     private KanbanProjectManager mainApp;
+    private Runnable unsubscribe;
+    private int revealGeneration;
 
+    /**
+     * Sets the database utility and shows the root of the hierarchy. Children
+     * are loaded lazily as nodes are expanded.
+     * 
+     * @param dbUtil the database utility
+     */
     public void setDbUtil(DatabaseUtil dbUtil) {
         this.dbUtil = dbUtil;
+        rootItem = new LazyHierarchyTreeItem(dbUtil,
+                new HierarchyNode(KanbanProjectManager.HierarchyType.ROOT, null, "All Project Phases"), -1);
+        rootItem.setExpanded(true);
+        treeView.setRoot(rootItem);
+        if (unsubscribe == null) {
+            unsubscribe = ChangeBus.subscribe(this::applyChanges);
+            TypeAheadSearch.attach(searchField, new TaskSearch(Database.reader()), REVEAL_LIMIT, this::revealHits);
+        }
+    }
+
+    /**
+     * Expands the paths to the search hits and selects the best one. The
+     * levels on each path are loaded one after another; a newer search
+     * abandons the paths still being opened.
+     *
+     * @param hits the search hits, best first
+     */
+    private void revealHits(List<TaskSearch.Hit> hits) {
+        int generation = ++revealGeneration;
+        boolean first = true;
+        for (TaskSearch.Hit hit : hits) {
+            List<HierarchyNode> path = hit.path();
+            if (!path.isEmpty()) {
+                reveal(rootItem, path, 0, first, generation);
+                first = false;
+            }
+        }
+    }
+
+    /**
+     * Opens one level of a path and continues below it once it is loaded.
+     */
+    private void reveal(LazyHierarchyTreeItem parent, List<HierarchyNode> path, int depth, boolean select,
+            int generation) {
+        parent.setExpanded(true);
+        parent.whenChildrenLoaded(() -> {
+            if (generation != revealGeneration) {
+                return;
+            }
+            HierarchyNode step = path.get(depth);
+            LazyHierarchyTreeItem child = parent.findChild(step.type, step.id);
+            if (child == null) {
+                return;
+            }
+            if (depth + 1 < path.size()) {
+                reveal(child, path, depth + 1, select, generation);
+            } else if (select) {
+                treeView.getSelectionModel().select(child);
+                int row = treeView.getRow(child);
+                if (row >= 0) {
+                    treeView.scrollTo(row);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops following changes; call when the tree is closed.
+     */
+    public void dispose() {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+    }
+
+    /**
+     * Patches the loaded part of the tree for a batch of committed changes.
+     * Rows that are not loaded are read fresh when their parent expands.
+     *
+     * @param events the coalesced changes, in commit order
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            switch (event) {
+                case ChangeEvent.NodeSaved saved when saved.created() -> {
+                    LazyHierarchyTreeItem parent = rootItem.findLoaded(saved.parentType(), saved.parentId());
+                    if (parent != null && parent.findLoaded(saved.node().type, saved.node().id) == null) {
+                        parent.addChild(saved.node());
+                    }
+                }
+                case ChangeEvent.NodeSaved saved -> renameItem(saved.node());
+                case ChangeEvent.NodeDeleted deleted -> {
+                    removeItem(deleted.type(), deleted.id());
+                    deleted.taskIds().forEach(taskId -> removeItem(HierarchyType.TASK, taskId));
+                }
+                case ChangeEvent.TasksDeleted deleted ->
+                    deleted.taskIds().forEach(taskId -> removeItem(HierarchyType.TASK, taskId));
+                case ChangeEvent.TaskSaved saved -> renameItem(new HierarchyNode(HierarchyType.TASK,
+                        saved.task().id(), HierarchyTreeLoader.displayName(HierarchyType.TASK, saved.task().title())));
+                case ChangeEvent.BulkChanged bulk -> rootItem.reload();
+                case ChangeEvent.TaskMoved moved -> {
+                    // status is not shown in the tree
+                }
+                case ChangeEvent.TasksReassigned reassigned -> {
+                    // nor is the assignee
+                }
+            }
+        }
+    }
+
+    /**
+     * Shows the new name of a loaded node and keeps its siblings sorted.
+     */
+    private void renameItem(HierarchyNode node) {
+        LazyHierarchyTreeItem item = rootItem.findLoaded(node.type, node.id);
+        if (item == null || item.getValue().displayName.equals(node.displayName)) {
+            return;
+        }
+        if (node.skillSets == null) {
+            node.skillSets = item.getValue().skillSets;
+        }
+        item.setValue(node);
+        if (item.getParent() instanceof LazyHierarchyTreeItem parent) {
+            parent.childRenamed(item);
+        }
+    }
+
+    /**
+     * Detaches a deleted node, with its subtree, if it is loaded.
+     */
+    private void removeItem(HierarchyType type, int id) {
+        LazyHierarchyTreeItem item = rootItem.findLoaded(type, id);
+        if (item != null && item.getParent() instanceof LazyHierarchyTreeItem parent) {
+            parent.removeChild(item);
+        }
     }
 
     public void setMainAppReference(KanbanProjectManager mainApp) {
@@ -35,11 +180,6 @@ public class ProjectHierarchyController {
     }
 
     public void initialize() {
-        rootItem = new TreeItem<>(
-                new HierarchyNode(KanbanProjectManager.HierarchyType.ROOT, null, "All Project Phases"));
-        rootItem.setExpanded(true);
-        dbUtil.loadHierarchyTree(rootItem);
-        treeView.setRoot(rootItem);
         treeView.setShowRoot(true);
         treeView.setCellFactory(tv -> new javafx.scene.control.TreeCell<>() {
             @Override
@@ -68,18 +208,65 @@ public class ProjectHierarchyController {
             event.consume();
         } else if (event.getCode() == KeyCode.DELETE && selected != null
                 && selected.getValue().type != KanbanProjectManager.HierarchyType.ROOT) {
-            dbUtil.deleteHierarchyNode(selected, treeView);
+            confirmDeleteHierarchyNode(selected);
             event.consume();
         }
     }
 
+    /**
+     * Opens the create or edit dialog and selects the saved node. The tree
+     * itself is patched by {@link #applyChanges}, which runs first.
+     * 
+     * @param nodeItem the parent for a create, the edited item otherwise
+     * @param isCreate true to create a child
+     */
     private void showHierarchyCrudDialog(TreeItem<HierarchyNode> nodeItem, boolean isCreate) {
-        if (mainApp != null) {
-            mainApp.showHierarchyCrudDialog(nodeItem, treeView, isCreate);
-            dbUtil.loadHierarchyTree(rootItem);
-        } else {
-            // Fallback: call static if needed (or keep local logic if running standalone)
-            // Optionally, you could throw or log an error here
+        if (mainApp == null) {
+            return;
         }
+        mainApp.showHierarchyCrudDialog(nodeItem, isCreate, saved -> {
+            if (isCreate) {
+                nodeItem.setExpanded(true);
+            }
+            TreeItem<HierarchyNode> item = rootItem.findLoaded(saved.type, saved.id);
+            if (item != null) {
+                treeView.getSelectionModel().select(item);
+            }
+        });
+    }
+
+    /**
+     * Counts what a delete of the node would remove and asks for
+     * confirmation, naming the node and its descendants; deletes only if the
+     * user agrees.
+     * 
+     * @param item the tree item of the node to delete
+     */
+    private void confirmDeleteHierarchyNode(TreeItem<HierarchyNode> item) {
+        AsyncDataAccess.onFxThread(AsyncDataAccess.read("hierarchy.countSubtree", () -> dbUtil.countSubtree(item.getValue())),
+                size -> {
+                    String descendants = size.describe();
+                    Alert confirmDialog = new Alert(Alert.AlertType.CONFIRMATION, "Are you sure you want to delete "
+                            + item.getValue().displayName + (descendants.isEmpty() ? "" : " and its " + descendants)
+                            + "? This cannot be undone.", ButtonType.YES, ButtonType.NO);
+                    confirmDialog.initOwner(treeView.getScene().getWindow());
+                    confirmDialog.setTitle("Confirm Deletion");
+                    confirmDialog.setHeaderText(null);
+                    if (confirmDialog.showAndWait().orElse(ButtonType.NO) == ButtonType.YES) {
+                        deleteHierarchyNode(item);
+                    }
+                }, error -> KanbanProjectManager.showErrorDialogStatic("DB Error", error.getMessage()));
+    }
+
+    /**
+     * Deletes a node and its subtree in the background. The branch is
+     * detached, and its tasks leave the board, when the change is published.
+     * 
+     * @param item the tree item of the node to delete
+     */
+    private void deleteHierarchyNode(TreeItem<HierarchyNode> item) {
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("hierarchy.delete", () -> dbUtil.deleteHierarchyNode(item.getValue())),
+                deleted -> {
+                }, error -> KanbanProjectManager.showErrorDialogStatic("DB Error", error.getMessage()));
     }
 }
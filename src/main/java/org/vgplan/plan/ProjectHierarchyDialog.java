@@ -58,6 +58,7 @@ public class ProjectHierarchyDialog {
             dialog.getDialogPane().setContent(root);
             dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
             dialog.showAndWait();
+            controller.dispose();
         } catch (Exception e) {
             KanbanProjectManager.showErrorDialogStatic("Error loading hierarchy dialog", e.getMessage());
         }
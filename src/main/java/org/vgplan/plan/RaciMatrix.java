@@ -0,0 +1,289 @@
+package org.vgplan.plan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense activity × member grid of RACI roles. Each cell is one byte: 0 for no
+ * role, otherwise the position of the role in
+ * {@link ReferenceDataCache#RACI_ROLES} plus one. A matrix of 5,000
+ * activities and 500 members takes 2.5 MB and is filtered by scanning the
+ * array.
+ * <p>
+ * Edits change the grid at once and are remembered until
+ * {@link #clearSavedEdits(List)}, so they can be written in one transaction by
+ * {@link RaciRepository#saveEdits(List)}. Not thread-safe; used on the
+ * JavaFX thread.
+ */
+public class RaciMatrix {
+    /** Cell value for no role. */
+    public static final byte NONE = 0;
+
+    /**
+     * A changed cell.
+     *
+     * @param activityId the activity id
+     * @param memberId   the team member id
+     * @param role       the new role code, {@link #NONE} to remove the assignment
+     */
+    public record Edit(int activityId, int memberId, byte role) {
+    }
+
+    private final int[] memberIds;
+    private final String[] memberNames;
+    private final Map<Integer, Integer> memberColumns = new HashMap<>();
+    private final Map<Integer, Integer> activityRows = new HashMap<>();
+    private final Map<Long, Byte> pending = new LinkedHashMap<>();
+    private int[] activityIds;
+    private String[] activityNames;
+    private byte[] grid;
+    private int activityCount;
+
+    /**
+     * Creates an empty matrix for the given members.
+     *
+     * @param memberIds          the member ids, one column each
+     * @param memberNames        the member names, in the same order
+     * @param expectedActivities the initial row capacity
+     */
+    public RaciMatrix(int[] memberIds, String[] memberNames, int expectedActivities) {
+        this.memberIds = memberIds.clone();
+        this.memberNames = memberNames.clone();
+        for (int col = 0; col < memberIds.length; col++) {
+            memberColumns.put(memberIds[col], col);
+        }
+        int capacity = Math.max(16, expectedActivities);
+        activityIds = new int[capacity];
+        activityNames = new String[capacity];
+        grid = new byte[capacity * memberIds.length];
+    }
+
+    /**
+     * Appends an activity row with no roles.
+     *
+     * @param activityId the activity id
+     * @param name       the activity name
+     * @return the row index
+     */
+    public int addActivity(int activityId, String name) {
+        if (activityCount == activityIds.length) {
+            int capacity = activityIds.length * 2;
+            activityIds = Arrays.copyOf(activityIds, capacity);
+            activityNames = Arrays.copyOf(activityNames, capacity);
+            grid = Arrays.copyOf(grid, capacity * memberIds.length);
+        }
+        int row = activityCount++;
+        activityIds[row] = activityId;
+        activityNames[row] = name;
+        activityRows.put(activityId, row);
+        return row;
+    }
+
+    /**
+     * Sets a stored assignment while loading; unknown ids are ignored.
+     *
+     * @param activityId the activity id
+     * @param memberId   the member id
+     * @param role       the role code
+     */
+    public void putLoaded(int activityId, int memberId, byte role) {
+        Integer row = activityRows.get(activityId);
+        Integer col = memberColumns.get(memberId);
+        if (row != null && col != null) {
+            grid[row * memberIds.length + col] = role;
+        }
+    }
+
+    /**
+     * Returns the number of activity rows.
+     *
+     * @return the row count
+     */
+    public int activityCount() {
+        return activityCount;
+    }
+
+    /**
+     * Returns the number of member columns.
+     *
+     * @return the column count
+     */
+    public int memberCount() {
+        return memberIds.length;
+    }
+
+    /**
+     * Returns the name of an activity.
+     *
+     * @param row the row index
+     * @return the activity name
+     */
+    public String activityName(int row) {
+        return activityNames[row];
+    }
+
+    /**
+     * Returns the name of a member.
+     *
+     * @param col the column index
+     * @return the member name
+     */
+    public String memberName(int col) {
+        return memberNames[col];
+    }
+
+    /**
+     * Returns the role of a member in an activity.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the role code, {@link #NONE} if unassigned
+     */
+    public byte role(int row, int col) {
+        return grid[row * memberIds.length + col];
+    }
+
+    /**
+     * Changes a cell and remembers the edit.
+     *
+     * @param row  the row index
+     * @param col  the column index
+     * @param role the new role code
+     */
+    public void setRole(int row, int col, byte role) {
+        int cell = row * memberIds.length + col;
+        if (grid[cell] != role) {
+            grid[cell] = role;
+            pending.put((long) cell, role);
+        }
+    }
+
+    /**
+     * Tells whether a cell has an unsaved edit.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return true if the cell was edited since the last save
+     */
+    public boolean isPending(int row, int col) {
+        return pending.containsKey((long) row * memberIds.length + col);
+    }
+
+    /**
+     * Tells whether any cell has an unsaved edit.
+     *
+     * @return true if there are pending edits
+     */
+    public boolean hasPendingEdits() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Returns the number of cells with unsaved edits.
+     *
+     * @return the pending edit count
+     */
+    public int pendingEditCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the unsaved edits in the order they were made, one per cell.
+     *
+     * @return the edits
+     */
+    public List<Edit> pendingEdits() {
+        List<Edit> edits = new ArrayList<>(pending.size());
+        pending.forEach((cell, role) -> edits.add(new Edit(activityIds[(int) (cell / memberIds.length)],
+                memberIds[(int) (cell % memberIds.length)], role)));
+        return edits;
+    }
+
+    /**
+     * Forgets edits after they were written. A cell edited again while the
+     * write was in flight keeps its newer edit.
+     *
+     * @param saved the edits that were written, as returned by {@link #pendingEdits()}
+     */
+    public void clearSavedEdits(List<Edit> saved) {
+        for (Edit edit : saved) {
+            long cell = (long) activityRows.get(edit.activityId()) * memberIds.length
+                    + memberColumns.get(edit.memberId());
+            pending.remove(cell, edit.role());
+        }
+    }
+
+    /**
+     * Returns the rows matching a filter, in row order.
+     *
+     * @param col        a member column, or -1 for any member
+     * @param role       a role code, or {@link #NONE} for any role
+     * @param nameFilter text the activity name must contain, ignoring case;
+     *                   blank for all
+     * @return the matching row indexes
+     */
+    public int[] filterRows(int col, byte role, String nameFilter) {
+        String needle = nameFilter == null || nameFilter.isBlank() ? null : nameFilter.strip().toLowerCase();
+        boolean anyCell = col < 0 && role == NONE;
+        int[] rows = new int[activityCount];
+        int matches = 0;
+        for (int row = 0; row < activityCount; row++) {
+            if ((anyCell || rowMatches(row, col, role))
+                    && (needle == null || activityNames[row].toLowerCase().contains(needle))) {
+                rows[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, matches);
+    }
+
+    /**
+     * Checks one row for the member and role of a filter.
+     */
+    private boolean rowMatches(int row, int col, byte role) {
+        int base = row * memberIds.length;
+        if (col >= 0) {
+            byte cell = grid[base + col];
+            return role == NONE ? cell != NONE : cell == role;
+        }
+        for (int c = 0; c < memberIds.length; c++) {
+            if (grid[base + c] == role) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the code of a role label.
+     *
+     * @param label a label from {@link ReferenceDataCache#RACI_ROLES}
+     * @return the role code, {@link #NONE} if the label is unknown
+     */
+    public static byte roleCode(String label) {
+        return (byte) (ReferenceDataCache.RACI_ROLES.indexOf(label) + 1);
+    }
+
+    /**
+     * Returns the label of a role code.
+     *
+     * @param role the role code
+     * @return the label, empty for {@link #NONE}
+     */
+    public static String roleLabel(byte role) {
+        return role == NONE ? "" : ReferenceDataCache.RACI_ROLES.get(role - 1);
+    }
+
+    /**
+     * Returns the role after the given one, cycling back to no role.
+     *
+     * @param role the current role code
+     * @return the next role code
+     */
+    public static byte nextRole(byte role) {
+        return (byte) ((role + 1) % (ReferenceDataCache.RACI_ROLES.size() + 1));
+    }
+}
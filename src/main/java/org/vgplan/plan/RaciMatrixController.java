@@ -0,0 +1,265 @@
+package org.vgplan.plan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TablePosition;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputDialog;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+
+/**
+ * Controller for the RACI matrix FXML UI. The table rows are indexes into a
+ * {@link RaciMatrix}; with a fixed cell size the table only creates cells for
+ * the visible rows and columns, so thousands of activities and hundreds of
+ * members stay responsive. Filters rescan the byte grid in memory.
+ * <p>
+ * Double-clicking a cell cycles its role; with cells selected, the keys R, A,
+ * C and I assign a role and Delete or Backspace clears it. Edits stay in the
+ * matrix until saved in one transaction.
+ */
+public class RaciMatrixController {
+    private static final String ALL = "All";
+    private static final double CELL_SIZE = 24;
+    private static final double MEMBER_COLUMN_WIDTH = 56;
+
+    @FXML
+    private ComboBox<String> memberFilter;
+    @FXML
+    private ComboBox<String> roleFilter;
+    @FXML
+    private TextField activityFilter;
+    @FXML
+    private Button saveButton;
+    @FXML
+    private TableView<Integer> matrixTable;
+    @FXML
+    private Label summaryLabel;
+
+    private RaciRepository repository;
+    private ReferenceDataCache referenceData;
+    private RaciMatrix matrix = new RaciMatrix(new int[0], new String[0], 0);
+    private final List<TableColumn<Integer, Byte>> memberColumns = new ArrayList<>();
+
+    /**
+     * Sets up the filters and the table.
+     */
+    @FXML
+    private void initialize() {
+        List<String> roles = new ArrayList<>(List.of(ALL));
+        roles.addAll(ReferenceDataCache.RACI_ROLES);
+        roleFilter.setItems(FXCollections.observableArrayList(roles));
+        roleFilter.setValue(ALL);
+        memberFilter.setItems(FXCollections.observableArrayList(ALL));
+        memberFilter.setValue(ALL);
+        memberFilter.valueProperty().addListener((obs, old, value) -> applyFilter());
+        roleFilter.valueProperty().addListener((obs, old, value) -> applyFilter());
+        activityFilter.textProperty().addListener((obs, old, value) -> applyFilter());
+        matrixTable.setFixedCellSize(CELL_SIZE);
+        matrixTable.getSelectionModel().setCellSelectionEnabled(true);
+        matrixTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        matrixTable.addEventFilter(KeyEvent.KEY_PRESSED, this::handleKey);
+        saveButton.setDisable(true);
+    }
+
+    /**
+     * Loads the matrix in the background and shows it.
+     *
+     * @param repository    the RACI repository
+     * @param referenceData the cache to refresh after activities are added
+     */
+    public void setRepository(RaciRepository repository, ReferenceDataCache referenceData) {
+        this.repository = repository;
+        this.referenceData = referenceData;
+        summaryLabel.setText("Loading...");
+        AsyncDataAccess.onFxThread(AsyncDataAccess.read("raci.load", repository::loadMatrix), this::showMatrix,
+                error -> KanbanProjectManager.showErrorDialogStatic("Error loading RACI matrix", error.getMessage()));
+    }
+
+    /**
+     * Tells whether there are edits that were not saved.
+     *
+     * @return true if the matrix has pending edits
+     */
+    public boolean hasUnsavedEdits() {
+        return matrix.hasPendingEdits();
+    }
+
+    /**
+     * Rebuilds the columns for a freshly loaded matrix.
+     */
+    private void showMatrix(RaciMatrix loaded) {
+        matrix = loaded;
+        TableColumn<Integer, String> activityColumn = new TableColumn<>("Activity");
+        activityColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(matrix.activityName(cell.getValue())));
+        activityColumn.setPrefWidth(240);
+        activityColumn.setSortable(false);
+        memberColumns.clear();
+        List<String> members = new ArrayList<>(List.of(ALL));
+        for (int col = 0; col < matrix.memberCount(); col++) {
+            memberColumns.add(memberColumn(col));
+            members.add(matrix.memberName(col));
+        }
+        matrixTable.getColumns().setAll(List.of(activityColumn));
+        matrixTable.getColumns().addAll(memberColumns);
+        memberFilter.setItems(FXCollections.observableArrayList(members));
+        memberFilter.setValue(ALL);
+        applyFilter();
+    }
+
+    /**
+     * Creates the column of one member.
+     */
+    private TableColumn<Integer, Byte> memberColumn(int col) {
+        TableColumn<Integer, Byte> column = new TableColumn<>(matrix.memberName(col));
+        column.setUserData(col);
+        column.setPrefWidth(MEMBER_COLUMN_WIDTH);
+        column.setSortable(false);
+        column.setReorderable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(matrix.role(cell.getValue(), col)));
+        column.setCellFactory(c -> new RoleCell(col));
+        return column;
+    }
+
+    /**
+     * Shows the rows matching the filters and, when a member is chosen, only
+     * that member's column.
+     */
+    private void applyFilter() {
+        int memberCol = memberFilter.getSelectionModel().getSelectedIndex() - 1;
+        String role = roleFilter.getValue();
+        byte roleCode = role == null || ALL.equals(role) ? RaciMatrix.NONE : RaciMatrix.roleCode(role);
+        long start = Metrics.start();
+        int[] rows = matrix.filterRows(memberCol, roleCode, activityFilter.getText());
+        Metrics.stop("raci.filter", start);
+        for (int col = 0; col < memberColumns.size(); col++) {
+            memberColumns.get(col).setVisible(memberCol < 0 || memberCol == col);
+        }
+        matrixTable.getItems().setAll(Arrays.stream(rows).boxed().toList());
+        updateSummary(rows.length);
+    }
+
+    /**
+     * Assigns or clears a role on all selected cells with one key.
+     */
+    private void handleKey(KeyEvent event) {
+        byte role;
+        if (event.getCode() == KeyCode.DELETE || event.getCode() == KeyCode.BACK_SPACE) {
+            role = RaciMatrix.NONE;
+        } else {
+            role = RaciMatrix.roleCode(event.getText().toUpperCase());
+            if (role == RaciMatrix.NONE) {
+                return;
+            }
+        }
+        for (TablePosition<?, ?> position : matrixTable.getSelectionModel().getSelectedCells()) {
+            if (position.getTableColumn() != null && position.getTableColumn().getUserData() instanceof Integer col) {
+                matrix.setRole(matrixTable.getItems().get(position.getRow()), col, role);
+            }
+        }
+        event.consume();
+        editsChanged();
+    }
+
+    /**
+     * Redraws the visible cells after edits.
+     */
+    private void editsChanged() {
+        matrixTable.refresh();
+        updateSummary(matrixTable.getItems().size());
+    }
+
+    private void updateSummary(int shown) {
+        int pending = matrix.pendingEditCount();
+        saveButton.setDisable(pending == 0);
+        summaryLabel.setText(String.format("%d of %d activities, %d members%s", shown, matrix.activityCount(),
+                matrix.memberCount(), pending == 0 ? "" : ", " + pending + " unsaved changes"));
+    }
+
+    /**
+     * Writes the pending edits in one transaction.
+     */
+    @FXML
+    private void saveEdits() {
+        List<RaciMatrix.Edit> edits = matrix.pendingEdits();
+        if (edits.isEmpty()) {
+            return;
+        }
+        saveButton.setDisable(true);
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("raci.save", () -> repository.saveEdits(edits)), saved -> {
+            matrix.clearSavedEdits(edits);
+            editsChanged();
+            summaryLabel.setText(summaryLabel.getText() + " (saved " + saved + " changes)");
+        }, error -> {
+            saveButton.setDisable(false);
+            KanbanProjectManager.showErrorDialogStatic("Error saving RACI matrix", error.getMessage());
+        });
+    }
+
+    /**
+     * Asks for a name and adds an activity row.
+     */
+    @FXML
+    private void addActivity() {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.initOwner(matrixTable.getScene().getWindow());
+        dialog.setTitle("Add Activity");
+        dialog.setHeaderText("New RACI activity");
+        Optional<String> name = dialog.showAndWait().map(String::strip).filter(s -> !s.isEmpty());
+        if (name.isEmpty()) {
+            return;
+        }
+        AsyncDataAccess.onFxThread(AsyncDataAccess.write("raci.addActivity", () -> repository.addActivity(name.get())),
+                id -> {
+                    matrix.addActivity(id, name.get());
+                    referenceData.invalidate();
+                    applyFilter();
+                }, error -> KanbanProjectManager.showErrorDialogStatic("Error adding activity", error.getMessage()));
+    }
+
+    /**
+     * Shows one role and cycles it on double-click. Unsaved cells are bold.
+     */
+    private final class RoleCell extends TableCell<Integer, Byte> {
+        private final int col;
+
+        RoleCell(int col) {
+            this.col = col;
+            setStyle("-fx-alignment: center;");
+            setOnMouseClicked(event -> {
+                if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2 && !isEmpty()) {
+                    int row = getTableRow().getItem();
+                    matrix.setRole(row, col, RaciMatrix.nextRole(matrix.role(row, col)));
+                    editsChanged();
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(Byte role, boolean empty) {
+            super.updateItem(role, empty);
+            if (empty || role == null || getTableRow() == null || getTableRow().getItem() == null) {
+                setText(null);
+                return;
+            }
+            setText(RaciMatrix.roleLabel(role));
+            boolean pending = matrix.isPending(getTableRow().getItem(), col);
+            setStyle(pending ? "-fx-alignment: center; -fx-font-weight: bold;" : "-fx-alignment: center;");
+        }
+    }
+}
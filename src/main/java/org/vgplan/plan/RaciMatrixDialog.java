@@ -0,0 +1,75 @@
+package org.vgplan.plan;
+
+import java.net.URL;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Dialog;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+/**
+ * Dialog showing the RACI matrix of activities and team members. Closing it
+ * with unsaved edits asks for confirmation.
+ */
+public class RaciMatrixDialog {
+    private final Stage ownerStage;
+    private final RaciRepository repository;
+    private final ReferenceDataCache referenceData;
+
+    /**
+     * Constructs the RaciMatrixDialog.
+     *
+     * @param ownerStage    the parent stage
+     * @param repository    the RACI repository
+     * @param referenceData the reference data cache to refresh after edits
+     */
+    public RaciMatrixDialog(Stage ownerStage, RaciRepository repository, ReferenceDataCache referenceData) {
+        this.ownerStage = ownerStage;
+        this.repository = repository;
+        this.referenceData = referenceData;
+    }
+
+    /**
+     * Shows the RACI matrix dialog using FXML and controller.
+     */
+    public void show() {
+        try {
+            URL fxml = RaciMatrixDialog.class.getResource("/org/vgplan/plan/raci_matrix.fxml");
+            if (fxml == null) {
+                throw new RuntimeException("FXML not found: /org/vgplan/plan/raci_matrix.fxml");
+            }
+            FXMLLoader loader = new FXMLLoader(fxml);
+            Parent root = loader.load();
+            RaciMatrixController controller = loader.getController();
+            controller.setRepository(repository, referenceData);
+            Dialog<Void> dialog = new Dialog<>();
+            dialog.initModality(Modality.APPLICATION_MODAL);
+            dialog.initOwner(ownerStage);
+            dialog.setTitle("RACI Matrix");
+            dialog.setResizable(true);
+            dialog.getDialogPane().setContent(root);
+            dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+            dialog.setOnCloseRequest(event -> {
+                if (controller.hasUnsavedEdits() && !confirmDiscard()) {
+                    event.consume();
+                }
+            });
+            dialog.showAndWait();
+        } catch (Exception e) {
+            KanbanProjectManager.showErrorDialogStatic("Error loading RACI matrix dialog", e.getMessage());
+        }
+    }
+
+    /**
+     * Asks whether unsaved edits may be discarded.
+     */
+    private boolean confirmDiscard() {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, "Discard unsaved RACI changes?", ButtonType.OK,
+                ButtonType.CANCEL);
+        alert.initOwner(ownerStage);
+        return alert.showAndWait().filter(ButtonType.OK::equals).isPresent();
+    }
+}
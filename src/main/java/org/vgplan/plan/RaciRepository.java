@@ -0,0 +1,153 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.vgplan.plan.RaciMatrix.Edit;
+
+/**
+ * Blocking JDBC access to {@code raci_activities}, {@code team_members} and
+ * {@code raci_assignments}. Callers on the JavaFX thread go through
+ * {@link AsyncDataAccess} instead of calling this directly.
+ */
+public class RaciRepository {
+    /** Edits per JDBC batch when saving. */
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL = "INSERT INTO raci_assignments (activity_id, member_id, raci_role) "
+            + "VALUES (?, ?, ?) ON CONFLICT (activity_id, member_id) DO UPDATE SET raci_role = excluded.raci_role";
+    private static final String DELETE_SQL = "DELETE FROM raci_assignments WHERE activity_id = ? AND member_id = ?";
+
+    private final DataSource reader;
+    private final DataSource writer;
+
+    /**
+     * Creates a repository that queries through the reader pool and writes
+     * through the writer pool.
+     *
+     * @param reader the read-only data source
+     * @param writer the data source for writes
+     */
+    public RaciRepository(DataSource reader, DataSource writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Loads all members, activities and assignments into a matrix with one
+     * connection and three sequential scans. Assignments with an unknown role
+     * are left out.
+     *
+     * @return the matrix, with no pending edits
+     * @throws SQLException if a query fails
+     */
+    public RaciMatrix loadMatrix() throws SQLException {
+        try (Connection conn = reader.getConnection(); Statement stmt = conn.createStatement()) {
+            List<Integer> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT member_id, member_name FROM team_members "
+                    + "ORDER BY member_id")) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                    names.add(rs.getString(2));
+                }
+            }
+            int activities;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM raci_activities")) {
+                activities = rs.next() ? rs.getInt(1) : 0;
+            }
+            RaciMatrix matrix = new RaciMatrix(ids.stream().mapToInt(Integer::intValue).toArray(),
+                    names.toArray(String[]::new), activities);
+            try (ResultSet rs = stmt.executeQuery("SELECT activity_id, activity_name FROM raci_activities "
+                    + "ORDER BY activity_id")) {
+                while (rs.next()) {
+                    matrix.addActivity(rs.getInt(1), rs.getString(2));
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT activity_id, member_id, raci_role FROM raci_assignments")) {
+                while (rs.next()) {
+                    byte role = RaciMatrix.roleCode(rs.getString(3));
+                    if (role != RaciMatrix.NONE) {
+                        matrix.putLoaded(rs.getInt(1), rs.getInt(2), role);
+                    }
+                }
+            }
+            return matrix;
+        }
+    }
+
+    /**
+     * Writes edits in one transaction: assigned roles as batched upserts and
+     * removed roles as batched deletes. Either all edits are stored or none.
+     *
+     * @param edits the edits, at most one per cell
+     * @return the number of edits written
+     * @throws SQLException if a statement fails; the transaction is rolled back
+     */
+    public int saveEdits(List<Edit> edits) throws SQLException {
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL);
+                    PreparedStatement delete = conn.prepareStatement(DELETE_SQL)) {
+                int upserts = 0;
+                int deletes = 0;
+                for (Edit edit : edits) {
+                    if (edit.role() == RaciMatrix.NONE) {
+                        delete.setInt(1, edit.activityId());
+                        delete.setInt(2, edit.memberId());
+                        delete.addBatch();
+                        if (++deletes % BATCH_SIZE == 0) {
+                            delete.executeBatch();
+                        }
+                    } else {
+                        upsert.setInt(1, edit.activityId());
+                        upsert.setInt(2, edit.memberId());
+                        upsert.setString(3, RaciMatrix.roleLabel(edit.role()));
+                        upsert.addBatch();
+                        if (++upserts % BATCH_SIZE == 0) {
+                            upsert.executeBatch();
+                        }
+                    }
+                }
+                upsert.executeBatch();
+                delete.executeBatch();
+                conn.commit();
+                return edits.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Adds an activity.
+     *
+     * @param name the activity name; must be unique
+     * @return the new activity id
+     * @throws SQLException if the insert fails, for example on a duplicate name
+     */
+    public int addActivity(String name) throws SQLException {
+        String sql = "INSERT INTO raci_activities (activity_name) VALUES (?)";
+        try (Connection conn = writer.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, name);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No id returned for activity " + name);
+                }
+                return keys.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+/**
+ * In-memory copy of the reference data offered by the task dialog, the board
+ * filters and the RACI matrix: team members, modules, priorities, statuses,
+ * RACI activities and RACI roles.
+ * <p>
+ * Readers get an immutable {@link Snapshot} and never touch SQLite. The
+ * snapshot starts out with the built-in defaults and is replaced by a
+ * background load from the database at start-up and after every
+ * {@link #invalidate()}. Code that writes {@code team_members} or
+ * {@code raci_activities}, or imports tasks with new modules, must call
+ * {@link #invalidate()} afterwards. Each list holds at most
+ * {@link #MAX_ENTRIES} entries.
+ */
+public class ReferenceDataCache {
+    /** Upper bound on the entries of each list. */
+    public static final int MAX_ENTRIES = 1000;
+    /** Team members seeded into an empty database. */
+    public static final List<String> DEFAULT_TEAM_MEMBERS = List.of("SSA1", "SA2", "India PM", "Dev1", "Dev2",
+            "Dev3", "Dev4", "Dev5", "Dev6", "Unassigned");
+    /** Modules offered before any task uses another one. */
+    public static final List<String> DEFAULT_MODULES = List.of("Ingress", "Egress", "MDM Customization",
+            "Planning", "General");
+    /** Task priorities, highest first. */
+    public static final List<String> PRIORITIES = List.of("High", "Medium", "Low");
+    /** RACI roles: responsible, accountable, consulted, informed. */
+    public static final List<String> RACI_ROLES = List.of("R", "A", "C", "I");
+
+    private static final String TEAM_MEMBERS_SQL = "SELECT member_name FROM team_members ORDER BY member_id LIMIT ?";
+    private static final String RACI_ACTIVITIES_SQL = "SELECT activity_name FROM raci_activities "
+            + "ORDER BY activity_id LIMIT ?";
+    private static final String MODULES_SQL = "SELECT DISTINCT module FROM tasks WHERE module IS NOT NULL "
+            + "AND module <> '' LIMIT ?";
+
+    /**
+     * One consistent set of reference data.
+     *
+     * @param teamMembers    team member names in creation order
+     * @param modules        the default modules followed by any others in use
+     * @param priorities     the task priorities
+     * @param statuses       the board statuses
+     * @param raciActivities RACI activity names in creation order
+     * @param raciRoles      the RACI roles
+     */
+    public record Snapshot(List<String> teamMembers, List<String> modules, List<String> priorities,
+            List<String> statuses, List<String> raciActivities, List<String> raciRoles) {
+    }
+
+    private final DataSource reader;
+    private volatile Snapshot snapshot = new Snapshot(DEFAULT_TEAM_MEMBERS, DEFAULT_MODULES, PRIORITIES,
+            List.copyOf(KanbanProjectManager.STATUS_LIST), List.of(), RACI_ROLES);
+    private int generation;
+
+    /**
+     * Creates a cache holding the defaults until the first load.
+     *
+     * @param reader the read-only data source
+     */
+    public ReferenceDataCache(DataSource reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the current reference data.
+     *
+     * @return the snapshot; never null
+     */
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Reloads the reference data in the background and swaps it in once
+     * read. Until then {@link #current()} keeps returning the old snapshot.
+     * Of overlapping reloads only the latest is kept.
+     */
+    public void invalidate() {
+        int requested;
+        synchronized (this) {
+            requested = ++generation;
+        }
+        AsyncDataAccess.read("referenceData", this::load).whenComplete((loaded, error) -> {
+            if (error != null) {
+                System.err.println("Could not load reference data: " + error.getMessage());
+                return;
+            }
+            synchronized (this) {
+                if (requested == generation) {
+                    snapshot = loaded;
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads all reference data with one connection.
+     *
+     * @return the loaded snapshot
+     * @throws SQLException if a query fails
+     */
+    public Snapshot load() throws SQLException {
+        try (Connection conn = reader.getConnection()) {
+            List<String> teamMembers = names(conn, TEAM_MEMBERS_SQL);
+            Set<String> modules = new LinkedHashSet<>(DEFAULT_MODULES);
+            modules.addAll(names(conn, MODULES_SQL));
+            return new Snapshot(teamMembers.isEmpty() ? DEFAULT_TEAM_MEMBERS : teamMembers,
+                    bounded(List.copyOf(modules)), PRIORITIES, List.copyOf(KanbanProjectManager.STATUS_LIST),
+                    names(conn, RACI_ACTIVITIES_SQL), RACI_ROLES);
+        }
+    }
+
+    /**
+     * Inserts the default team members that are missing, in one batch.
+     *
+     * @param conn a writable connection
+     * @return the number of members inserted
+     * @throws SQLException if the insert fails
+     */
+    public static int seedTeamMembers(Connection conn) throws SQLException {
+        String sql = "INSERT OR IGNORE INTO team_members (member_name) VALUES (?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (String member : DEFAULT_TEAM_MEMBERS) {
+                ps.setString(1, member);
+                ps.addBatch();
+            }
+            int inserted = 0;
+            for (int count : ps.executeBatch()) {
+                inserted += Math.max(count, 0);
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Runs a single-column name query limited to one more than the maximum.
+     */
+    private static List<String> names(Connection conn, String sql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, MAX_ENTRIES + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return bounded(names);
+    }
+
+    private static List<String> bounded(List<String> names) {
+        if (names.size() > MAX_ENTRIES) {
+            System.err.println("Reference list truncated to " + MAX_ENTRIES + " entries.");
+            return List.copyOf(names.subList(0, MAX_ENTRIES));
+        }
+        return List.copyOf(names);
+    }
+}
@@ -0,0 +1,176 @@
+package org.vgplan.plan;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Applies the versioned schema migrations defined over the statements in
+ * {@code db_schema.properties}. The applied version is kept in SQLite's
+ * {@code PRAGMA user_version}; each pending migration runs in its own
+ * transaction together with the version bump, so a failed migration leaves
+ * the database at the previous version.
+ */
+public class SchemaMigrator {
+    private static final String SCHEMA = "/org/vgplan/plan/db_schema.properties";
+
+    /**
+     * One schema version.
+     *
+     * @param version       the version reached once applied
+     * @param description   what the migration does
+     * @param statementKeys the {@code db_schema.properties} keys to execute, in order
+     */
+    public record Migration(int version, String description, List<String> statementKeys) {
+    }
+
+    /** All migrations in version order. Append new versions; never edit applied ones. */
+    public static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "base tables", List.of("createProjectPhasesTable", "createEpicsTable",
+                    "createTaskTable", "createSubTaskTable", "createRaciActivitiesTable", "createTeamMembersTable",
+                    "createRaciAssignmentsTable")),
+            new Migration(2, "foreign-key and sort indexes", List.of("createEpicsPhaseIndex",
+                    "createTasksEpicIndex", "createTasksStatusIndex", "createTasksStatusPriorityIndex",
+                    "createSubtasksTaskIndex", "createRaciAssignmentsMemberIndex")),
+            new Migration(3, "clean up rows orphaned by single-row deletes", List.of("deleteOrphanEpics",
+                    "detachOrphanTasks", "deleteOrphanSubtasks")),
+            new Migration(4, "change log for other instances", List.of("createChangeLogTable",
+                    "createProjectPhasesInsertLog", "createProjectPhasesUpdateLog", "createProjectPhasesDeleteLog",
+                    "createEpicsInsertLog", "createEpicsUpdateLog", "createEpicsDeleteLog",
+                    "createTasksInsertLog", "createTasksUpdateLog", "createTasksDeleteLog",
+                    "createSubtasksInsertLog", "createSubtasksUpdateLog", "createSubtasksDeleteLog")),
+            new Migration(5, "full-text search index", List.of("createSearchIndex",
+                    "createTasksSearchInsert", "createTasksSearchUpdate", "createTasksSearchDelete",
+                    "createEpicsSearchInsert", "createEpicsSearchUpdate", "createEpicsSearchDelete",
+                    "createSubtasksSearchInsert", "createSubtasksSearchUpdate", "createSubtasksSearchDelete",
+                    "backfillTaskSearch", "backfillEpicSearch", "backfillSubtaskSearch")));
+
+    private final Properties schema;
+
+    /**
+     * Creates a migrator over the statements of {@code db_schema.properties}.
+     */
+    public SchemaMigrator() {
+        this.schema = loadSchema();
+    }
+
+    /**
+     * Brings the database up to the latest version.
+     *
+     * @param conn a writable connection
+     * @return the schema version after migrating
+     * @throws SQLException if a migration fails; it is rolled back
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int version = currentVersion(conn);
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version() > version) {
+                apply(conn, migration);
+                version = migration.version();
+                System.out.println("Applied schema migration " + version + ": " + migration.description());
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Reads the schema version recorded in the database.
+     *
+     * @param conn an open connection
+     * @return the value of {@code PRAGMA user_version}
+     * @throws SQLException if the pragma cannot be read
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Runs {@code EXPLAIN QUERY PLAN} on each query and collects the plan steps
+     * that read a whole table without an index or sort in a temporary B-tree.
+     * Parameters are left unbound, which does not change the chosen plan.
+     *
+     * @param conn    an open connection
+     * @param queries the queries to check
+     * @return one entry per offending plan step, empty if all queries use indexes
+     * @throws SQLException if a query cannot be explained
+     */
+    public static List<String> findUnindexedScans(Connection conn, List<String> queries) throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (String query : queries) {
+                try (ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + query)) {
+                    while (rs.next()) {
+                        String detail = rs.getString("detail");
+                        boolean fullScan = detail.startsWith("SCAN ") && !detail.contains(" USING ");
+                        if (fullScan || detail.contains("TEMP B-TREE")) {
+                            problems.add(detail + " in: " + query);
+                        }
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Executes one migration and records its version in a single transaction.
+     */
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String key : migration.statementKeys()) {
+                String sql = schema.getProperty(key);
+                if (sql == null) {
+                    throw new SQLException("Missing schema statement '" + key + "' for migration "
+                            + migration.version());
+                }
+                stmt.execute(sql);
+            }
+            stmt.execute("PRAGMA user_version = " + migration.version());
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Deletes change log entries older than the given age. Instances only
+     * read entries written while they are running, so old ones are dead.
+     *
+     * @param conn    a writable connection
+     * @param maxDays the age in days above which entries are deleted
+     * @return the number of entries deleted
+     * @throws SQLException if the delete fails
+     */
+    public int pruneChangeLog(Connection conn, int maxDays) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(schema.getProperty("pruneChangeLog"))) {
+            ps.setString(1, "-" + maxDays + " days");
+            return ps.executeUpdate();
+        }
+    }
+
+    private static Properties loadSchema() {
+        Properties sqlProps = new Properties();
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(SCHEMA)) {
+            if (in == null) {
+                throw new RuntimeException("Could not find db_schema.properties");
+            }
+            sqlProps.load(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load db_schema.properties: " + e.getMessage(), e);
+        }
+        return sqlProps;
+    }
+}
@@ -0,0 +1,95 @@
+package org.vgplan.plan;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only mapping between strings and small integer codes, used to store
+ * repeated task fields such as assignees and modules as one {@code short} per
+ * task with a single shared copy of each string. Codes are assigned in order
+ * of first use, after the initial values, and are stable for the life of the
+ * process but not across runs. Safe for use from any thread; lookups of a
+ * known string or code never lock.
+ */
+public final class StringDictionary {
+    /** Code of a missing (null) value. */
+    public static final short NONE = -1;
+
+    private final Map<String, Short> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[8];
+    private volatile int size;
+
+    /**
+     * Creates a dictionary whose first codes are the given values, in order.
+     *
+     * @param initialValues the values coded 0, 1, 2, ...
+     */
+    public StringDictionary(List<String> initialValues) {
+        initialValues.forEach(this::encode);
+    }
+
+    /**
+     * Returns the code of a value, adding it if it is new.
+     *
+     * @param value the value, or null
+     * @return its code, or {@link #NONE} for null
+     * @throws IllegalStateException if the dictionary is full
+     */
+    public short encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Short code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Returns the code of a value without adding it.
+     *
+     * @param value the value, or null
+     * @return its code, or {@link #NONE} if it is null or not in the dictionary
+     */
+    public short codeOf(String value) {
+        Short code = value == null ? null : codes.get(value);
+        return code != null ? code : NONE;
+    }
+
+    /**
+     * Returns the value of a code.
+     *
+     * @param code a code returned by {@link #encode(String)}
+     * @return the shared value, or null for {@link #NONE}
+     */
+    public String decode(short code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the dictionary size
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized short add(String value) {
+        Short existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == Short.MAX_VALUE) {
+            throw new IllegalStateException("Dictionary is full; cannot add '" + value + "'");
+        }
+        short code = (short) size;
+        String[] target = code < values.length ? values : Arrays.copyOf(values, Math.min(values.length * 2,
+                Short.MAX_VALUE));
+        target[code] = value;
+        values = target;
+        size = code + 1;
+        codes.put(value, code);
+        return code;
+    }
+}
@@ -0,0 +1,198 @@
+package org.vgplan.plan;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+/**
+ * Write-behind queue for status changes made on the board. Moves are queued
+ * on the JavaFX thread and written once no move has been queued for
+ * {@link #COALESCE_WINDOW}; repeated moves of the same task in the meantime
+ * collapse into one, so holding Ctrl+Arrow writes only the final column. Each
+ * flush is one batched transaction on the writer thread.
+ * <p>
+ * Outcomes come back on the JavaFX thread: a task is reported written once
+ * its last queued move is stored, and failed with the state it had before
+ * its first unwritten move, to which the board should revert. A move queued
+ * while an earlier one of the same task is being written is dropped if that
+ * write fails. Likewise a task moved back to where its last write put it is
+ * only reported once that write is stored.
+ */
+public final class TaskMoveQueue {
+    /** Pause in moves after which the queued moves are written. */
+    public static final Duration COALESCE_WINDOW = Duration.millis(250);
+
+    /**
+     * A queued move.
+     *
+     * @param previous the task as last stored in the database
+     * @param updated  the task with its new status
+     */
+    private record Move(Task previous, Task updated) {
+    }
+
+    private final TaskRepository repository;
+    private final Consumer<Task> onWritten;
+    private final BiConsumer<List<Task>, Throwable> onFailed;
+    private final Executor fxThread;
+    private final Map<Integer, Move> pending = new LinkedHashMap<>();
+    // Batches being written per task id, and tasks whose report waits for them
+    private final Map<Integer, Integer> inFlight = new HashMap<>();
+    private final Map<Integer, Task> deferred = new HashMap<>();
+    private PauseTransition pause;
+
+    /**
+     * Creates a queue writing through a repository.
+     *
+     * @param repository the task repository
+     * @param onWritten  receives each task whose moves are all stored
+     * @param onFailed   receives the tasks to revert after a failed flush, as
+     *                   they were before the move, and the cause
+     */
+    public TaskMoveQueue(TaskRepository repository, Consumer<Task> onWritten,
+            BiConsumer<List<Task>, Throwable> onFailed) {
+        this(repository, onWritten, onFailed, Platform::runLater);
+        pause = new PauseTransition(COALESCE_WINDOW);
+        pause.setOnFinished(e -> flush());
+    }
+
+    /**
+     * Creates a queue without a timer, delivering outcomes through an
+     * executor; queued moves wait for {@link #flush()}.
+     */
+    TaskMoveQueue(TaskRepository repository, Consumer<Task> onWritten, BiConsumer<List<Task>, Throwable> onFailed,
+            Executor fxThread) {
+        this.repository = repository;
+        this.onWritten = onWritten;
+        this.onFailed = onFailed;
+        this.fxThread = fxThread;
+    }
+
+    /**
+     * Queues a status change, merging it with a queued change of the same task.
+     *
+     * @param previous the task as currently shown
+     * @param updated  the task with its new status
+     */
+    public void enqueue(Task previous, Task updated) {
+        Move queued = pending.get(updated.id());
+        if (queued != null) {
+            Metrics.count("tasks.move.coalesced", 1);
+        }
+        pending.put(updated.id(), new Move(queued != null ? queued.previous() : previous, updated));
+        if (pause != null) {
+            pause.playFromStart();
+        }
+    }
+
+    /**
+     * Drops the queued move of a task, for instance because it is deleted.
+     *
+     * @param taskId the task id
+     */
+    public void cancel(int taskId) {
+        pending.remove(taskId);
+        deferred.remove(taskId);
+    }
+
+    /**
+     * Writes all queued moves now in one transaction. Moves that end where
+     * they started need no write; they are reported written at once, or when
+     * an earlier write of the task that is still in flight is stored.
+     *
+     * @return a future completed when the write finishes
+     */
+    public CompletableFuture<List<Integer>> flush() {
+        if (pause != null) {
+            pause.stop();
+        }
+        List<Move> batch = new ArrayList<>();
+        Map<Integer, String> statuses = new LinkedHashMap<>();
+        for (Move move : pending.values()) {
+            int taskId = move.updated().id();
+            if (move.updated().statusCode() != move.previous().statusCode()) {
+                batch.add(move);
+                statuses.put(taskId, move.updated().status());
+                inFlight.merge(taskId, 1, Integer::sum);
+                deferred.remove(taskId);
+            } else if (inFlight.containsKey(taskId)) {
+                deferred.put(taskId, move.updated());
+            } else {
+                onWritten.accept(move.updated());
+            }
+        }
+        pending.clear();
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        CompletableFuture<List<Integer>> write = AsyncDataAccess.write("tasks.moveBatch",
+                () -> repository.updateStatuses(statuses));
+        AsyncDataAccess.onThread(fxThread, write, updated -> {
+            landed(batch);
+            written(batch, updated);
+        }, error -> {
+            landed(batch);
+            failed(batch, error);
+        });
+        return write;
+    }
+
+    /**
+     * Takes the tasks of a finished batch off the in-flight count.
+     */
+    private void landed(List<Move> batch) {
+        for (Move move : batch) {
+            inFlight.computeIfPresent(move.updated().id(), (taskId, batches) -> batches == 1 ? null : batches - 1);
+        }
+    }
+
+    /**
+     * Reports the moves of a stored batch, unless a later move of the task is
+     * still queued or being written, and the moves of deleted tasks as
+     * failures.
+     */
+    private void written(List<Move> batch, List<Integer> updated) {
+        Set<Integer> stored = new HashSet<>(updated);
+        List<Move> missing = new ArrayList<>();
+        for (Move move : batch) {
+            int taskId = move.updated().id();
+            if (!stored.contains(taskId)) {
+                missing.add(move);
+            } else if (!pending.containsKey(taskId) && !inFlight.containsKey(taskId)) {
+                Task later = deferred.remove(taskId);
+                onWritten.accept(later != null ? later : move.updated());
+            }
+        }
+        if (!missing.isEmpty()) {
+            failed(missing, new SQLException("Task no longer exists"));
+        }
+    }
+
+    /**
+     * Reports a failed batch, dropping later moves of its tasks.
+     */
+    private void failed(List<Move> batch, Throwable error) {
+        List<Task> reverted = new ArrayList<>(batch.size());
+        for (Move move : batch) {
+            pending.remove(move.updated().id());
+            deferred.remove(move.updated().id());
+            reverted.add(move.previous());
+        }
+        onFailed.accept(reverted, error);
+    }
+}
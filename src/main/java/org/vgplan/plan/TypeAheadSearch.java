@@ -0,0 +1,71 @@
+package org.vgplan.plan;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.util.Duration;
+
+/**
+ * Type-ahead behaviour for a search field: the query runs through
+ * {@link AsyncDataAccess} once typing pauses for {@link #DEBOUNCE}, and only
+ * the hits of the latest text are delivered, on the JavaFX thread. Escape
+ * clears the field, which delivers an empty result.
+ */
+public final class TypeAheadSearch {
+    /** Pause in typing after which the query runs. */
+    public static final Duration DEBOUNCE = Duration.millis(150);
+
+    private final TextField field;
+    private final TaskSearch search;
+    private final int limit;
+    private final Consumer<List<TaskSearch.Hit>> onHits;
+    private final PauseTransition pause = new PauseTransition(DEBOUNCE);
+    private int generation;
+
+    private TypeAheadSearch(TextField field, TaskSearch search, int limit, Consumer<List<TaskSearch.Hit>> onHits) {
+        this.field = field;
+        this.search = search;
+        this.limit = limit;
+        this.onHits = onHits;
+    }
+
+    /**
+     * Makes a text field search as the user types.
+     *
+     * @param field  the search field
+     * @param search the search to run
+     * @param limit  the maximum number of hits per query
+     * @param onHits receives the hits of the latest query, best first
+     */
+    public static void attach(TextField field, TaskSearch search, int limit, Consumer<List<TaskSearch.Hit>> onHits) {
+        TypeAheadSearch typeAhead = new TypeAheadSearch(field, search, limit, onHits);
+        typeAhead.pause.setOnFinished(e -> typeAhead.run());
+        field.textProperty().addListener((obs, old, text) -> typeAhead.pause.playFromStart());
+        field.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ESCAPE) {
+                field.clear();
+                e.consume();
+            }
+        });
+    }
+
+    /**
+     * Queries the current text, unless it is too short to search for.
+     */
+    private void run() {
+        String text = field.getText();
+        int requested = ++generation;
+        if (TaskSearch.toMatchExpression(text).isEmpty()) {
+            onHits.accept(List.of());
+            return;
+        }
+        AsyncDataAccess.onFxThread(AsyncDataAccess.read("search", () -> search.search(text, limit)), hits -> {
+            if (requested == generation) {
+                onHits.accept(hits);
+            }
+        }, error -> System.err.println("Search failed: " + error.getMessage()));
+    }
+}
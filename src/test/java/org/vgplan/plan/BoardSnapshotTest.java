@@ -0,0 +1,70 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Writes snapshots to disk and reads them back.
+ */
+class BoardSnapshotTest {
+    private static final List<String> STATUSES = List.of("To Do", "Done");
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Every card field survives a round trip, including a title longer
+     * than 65,535 UTF-8 bytes.
+     */
+    @Test
+    void roundTripsCards() throws IOException {
+        String longTitle = "é".repeat(40_000);
+        Task dated = Task.of(1, "Parry", null, "Ana", "Combat", "To Do", "High", LocalDate.of(2026, 3, 15));
+        Task undated = Task.of(2, longTitle, null, null, null, "Done", "Low", null);
+        Map<String, List<Task>> columns = new LinkedHashMap<>();
+        columns.put("To Do", List.of(dated));
+        columns.put("Done", List.of(undated));
+        Path file = dir.resolve("board.snapshot");
+        BoardSnapshot.write(file, columns);
+
+        List<Task> read = BoardSnapshot.read(file, STATUSES);
+        assertEquals(2, read.size());
+        assertEquals("Parry", read.get(0).title());
+        assertEquals("Ana", read.get(0).assignee());
+        assertEquals("Combat", read.get(0).module());
+        assertEquals("High", read.get(0).priority());
+        assertEquals(LocalDate.of(2026, 3, 15), read.get(0).dueDate());
+        assertEquals(longTitle, read.get(1).title());
+        assertEquals("Done", read.get(1).status());
+        assertNull(read.get(1).assignee());
+        assertNull(read.get(1).dueDate());
+    }
+
+    /**
+     * A snapshot for other columns or a truncated file is ignored.
+     */
+    @Test
+    void ignoresMismatchedOrTruncatedFile() throws IOException {
+        Path file = dir.resolve("board.snapshot");
+        BoardSnapshot.write(file, Map.of("To Do",
+                List.of(Task.of(1, "Parry", null, null, null, "To Do", "High", null))));
+        assertEquals(List.of(), BoardSnapshot.read(file, STATUSES));
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+        assertEquals(List.of(), BoardSnapshot.read(file, List.of("To Do")));
+    }
+}
@@ -0,0 +1,88 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vgplan.plan.BulkImporter.ImportReport;
+
+/**
+ * Imports small files into a migrated database on disk.
+ */
+class BulkImporterTest {
+    private static final String CSV = "phase,epic,task,subtask\n"
+            + "Design,Combat,Parry,\n"
+            + ",,Release notes,\n"
+            + ",,Release notes,Proofread\n";
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Opens and migrates a database in the temporary directory.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        Database.openUnpooled("jdbc:sqlite:" + dir.resolve("import.db"));
+        try (Connection conn = Database.writer().getConnection()) {
+            new SchemaMigrator().migrate(conn);
+        }
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() {
+        Database.close();
+    }
+
+    /**
+     * A header starting with a byte order mark still names the phase column.
+     */
+    @Test
+    void skipsByteOrderMark() throws IOException, SQLException {
+        ImportReport report = importCsv("\uFEFF" + CSV);
+        assertEquals(1, report.phases());
+        assertEquals(2, report.tasks());
+        assertEquals(1, report.subtasks());
+    }
+
+    /**
+     * Importing the same file twice adds nothing the second time, including
+     * tasks without an epic.
+     */
+    @Test
+    void reimportAddsNoRows() throws IOException, SQLException {
+        importCsv(CSV);
+        ImportReport again = importCsv(CSV);
+        assertEquals(0, again.rowsInserted());
+        assertEquals(2, count("tasks"));
+        assertEquals(1, count("subtasks"));
+    }
+
+    private static ImportReport importCsv(String csv) throws IOException, SQLException {
+        try (ImportRecordReader records = ImportRecordReader.csv(new StringReader(csv))) {
+            return new BulkImporter(Database.writer()).importRecords(records, report -> {
+            });
+        }
+    }
+
+    private static int count(String table) throws SQLException {
+        try (Connection conn = Database.reader().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Coalesces batches of events without the JavaFX thread.
+ */
+class ChangeBusTest {
+    /**
+     * Only the last save and the last move of a task are kept, at the
+     * position of that last event.
+     */
+    @Test
+    void keepsLastEventPerKey() {
+        ChangeEvent firstSave = saved(1, "To Do");
+        ChangeEvent move = new ChangeEvent.TaskMoved(1, "Done");
+        ChangeEvent otherTask = saved(2, "To Do");
+        ChangeEvent lastSave = saved(1, "In Review");
+        ChangeEvent lastMove = new ChangeEvent.TaskMoved(1, "Blocked");
+
+        assertEquals(List.of(otherTask, lastSave, lastMove),
+                ChangeBus.coalesce(List.of(firstSave, move, otherTask, lastSave, lastMove)));
+    }
+
+    /**
+     * Events without a key, such as deletes, bulk changes and created nodes,
+     * are never dropped.
+     */
+    @Test
+    void keepsEventsWithoutKey() {
+        HierarchyNode epic = new HierarchyNode(HierarchyType.EPIC, 3, "Epic: Combat");
+        ChangeEvent created = new ChangeEvent.NodeSaved(HierarchyType.PHASE, 1, epic, true);
+        ChangeEvent renamed = new ChangeEvent.NodeSaved(null, null, epic, false);
+        ChangeEvent deleted = new ChangeEvent.TasksDeleted(List.of(1));
+        ChangeEvent bulk = new ChangeEvent.BulkChanged("import");
+        List<ChangeEvent> batch = List.of(created, deleted, bulk, created, deleted, renamed, renamed);
+
+        assertEquals(List.of(created, deleted, bulk, created, deleted, renamed), ChangeBus.coalesce(batch));
+    }
+
+    private static ChangeEvent saved(int id, String status) {
+        return new ChangeEvent.TaskSaved(Task.of(id, "Task " + id, null, null, null, status, "High", null));
+    }
+}
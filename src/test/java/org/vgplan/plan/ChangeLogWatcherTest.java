@@ -0,0 +1,121 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Reads the change log of a migrated database on disk. Writes through
+ * {@link ChangeLogWatcher#commitOwn} count as this instance's own; plain
+ * auto-commit statements stand in for another instance.
+ */
+class ChangeLogWatcherTest {
+    @TempDir
+    Path dir;
+
+    private ChangeLogWatcher watcher;
+    private TaskRepository repository;
+
+    /**
+     * Opens and migrates a database with one task and starts watching it.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        Database.openUnpooled("jdbc:sqlite:" + dir.resolve("log.db"));
+        try (Connection conn = Database.writer().getConnection()) {
+            new SchemaMigrator().migrate(conn);
+        }
+        executeForeign("INSERT INTO tasks (id, title, status) VALUES (1, 'Parry', 'To Do')");
+        repository = new TaskRepository(Database.reader(), Database.writer());
+        watcher = ChangeLogWatcher.open();
+    }
+
+    /**
+     * Stops watching and closes the database.
+     */
+    @AfterEach
+    void close() {
+        watcher.close();
+        Database.close();
+    }
+
+    /**
+     * Nothing is read until another connection commits, and then only the
+     * entries after the last round.
+     */
+    @Test
+    void readsForeignChangesOnce() throws SQLException {
+        assertEquals(List.of(), watcher.readNewChanges());
+        executeForeign("UPDATE tasks SET status = 'Done' WHERE id = 1");
+        List<ChangeEvent> events = watcher.readNewChanges();
+        assertEquals(1, events.size());
+        assertEquals("Done", assertInstanceOf(ChangeEvent.TaskSaved.class, events.get(0)).task().status());
+        assertEquals(List.of(), watcher.readNewChanges());
+    }
+
+    /**
+     * Single-row writes of this instance are skipped; a foreign write after
+     * them is still read.
+     */
+    @Test
+    void skipsOwnWrites() throws SQLException {
+        repository.updateStatus(1, "In Review");
+        repository.delete(repository.insert(KanbanProjectManager.Task.of(0, "Block", null, null, null, "To Do",
+                "Low", null)));
+        assertEquals(List.of(), watcher.readNewChanges());
+        executeForeign("UPDATE tasks SET title = 'Riposte' WHERE id = 1");
+        List<ChangeEvent> events = watcher.readNewChanges();
+        assertEquals(1, events.size());
+        assertEquals("Riposte", assertInstanceOf(ChangeEvent.TaskSaved.class, events.get(0)).task().title());
+    }
+
+    /**
+     * A foreign backlog over {@link ChangeLogWatcher#MAX_DELTA} entries is
+     * one bulk change, after which the watcher is at the end of the log.
+     */
+    @Test
+    void largeForeignBacklogIsBulkChange() throws SQLException {
+        executeForeign(insertTasks(ChangeLogWatcher.MAX_DELTA + 1));
+        List<ChangeEvent> events = watcher.readNewChanges();
+        assertEquals(1, events.size());
+        assertInstanceOf(ChangeEvent.BulkChanged.class, events.get(0));
+        executeForeign("UPDATE tasks SET status = 'Done' WHERE id = 1");
+        assertEquals(1, watcher.readNewChanges().size());
+    }
+
+    /**
+     * A large own transaction is skipped entirely and does not count
+     * towards the bulk limit.
+     */
+    @Test
+    void largeOwnTransactionIsSkipped() throws SQLException {
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            ChangeLogWatcher.writeOwn(conn, () -> stmt.executeUpdate(insertTasks(ChangeLogWatcher.MAX_DELTA + 1)));
+        }
+        executeForeign("UPDATE tasks SET status = 'Done' WHERE id = 1");
+        List<ChangeEvent> events = watcher.readNewChanges();
+        assertEquals(1, events.size());
+        assertInstanceOf(ChangeEvent.TaskSaved.class, events.get(0));
+    }
+
+    private static String insertTasks(int count) {
+        return "WITH RECURSIVE n(id) AS (SELECT 2 UNION ALL SELECT id + 1 FROM n WHERE id <= " + count + ") "
+                + "INSERT INTO tasks (id, title, status) SELECT id, 'Bolt ' || id, 'To Do' FROM n";
+    }
+
+    private static void executeForeign(String sql) throws SQLException {
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
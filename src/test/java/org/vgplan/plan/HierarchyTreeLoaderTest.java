@@ -0,0 +1,117 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vgplan.plan.KanbanProjectManager.HierarchyType;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * Checks that the eager hierarchy load issues the same number of statements
+ * however large the project is.
+ */
+class HierarchyTreeLoaderTest {
+    private static final int TASKS_PER_EPIC = 50;
+    private static final int PHASES = 10;
+
+    private Connection conn;
+
+    /**
+     * Opens a fresh in-memory database with some phases.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaMigrator().migrate(conn);
+        insertRange("INSERT INTO project_phases(phase_name) SELECT 'Phase ' || i FROM n", 0, PHASES);
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Grows the project from 1k to 100k tasks and loads the tree at each
+     * size, counting the statements the loader prepares.
+     */
+    @Test
+    void queryCountDoesNotGrowWithProjectSize() throws SQLException {
+        int tasks = 0;
+        for (int size : new int[] { 1_000, 10_000, 100_000 }) {
+            grow(tasks, size);
+            tasks = size;
+            AtomicInteger statements = new AtomicInteger();
+            TreeItem<HierarchyNode> root = new TreeItem<>(new HierarchyNode(HierarchyType.ROOT, 0, "Project"));
+            new HierarchyTreeLoader().load(countingStatements(conn, statements), root);
+            assertEquals(HierarchyTreeLoader.QUERY_COUNT, statements.get(), "statements for " + size + " tasks");
+            assertEquals(size, countItems(root, HierarchyType.TASK), "tasks loaded");
+            assertEquals(size / 2, countItems(root, HierarchyType.SUBTASK), "sub-tasks loaded");
+        }
+    }
+
+    /**
+     * Adds epics, tasks and sub-tasks so that task ids {@code from + 1} to
+     * {@code to} exist, with one sub-task for every other task.
+     */
+    private void grow(int from, int to) throws SQLException {
+        insertRange("INSERT INTO epics(epic_name, phase_id) SELECT 'Epic ' || i, i % " + PHASES + " + 1 FROM n",
+                from / TASKS_PER_EPIC, to / TASKS_PER_EPIC);
+        insertRange("INSERT INTO tasks(title, status, epic_id) SELECT 'Task ' || i, 'To Do', (i - 1) / "
+                + TASKS_PER_EPIC + " + 1 FROM n", from, to);
+        insertRange("INSERT INTO subtasks(subtask_name, task_id) SELECT 'Sub-task ' || i, i * 2 FROM n", from / 2,
+                to / 2);
+    }
+
+    /**
+     * Runs an insert over the numbers {@code from + 1} to {@code to}, exposed
+     * to its SELECT as table {@code n} with column {@code i}.
+     */
+    private void insertRange(String insert, int from, int to) throws SQLException {
+        String sql = "WITH RECURSIVE n(i) AS (SELECT ? + 1 UNION ALL SELECT i + 1 FROM n WHERE i < ?) " + insert;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, from);
+            ps.setInt(2, to);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Wraps a connection so that every statement it creates is counted.
+     */
+    private static Connection countingStatements(Connection conn, AtomicInteger statements) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                        statements.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static int countItems(TreeItem<HierarchyNode> item, HierarchyType type) {
+        int count = item.getValue().type == type ? 1 : 0;
+        for (TreeItem<HierarchyNode> child : item.getChildren()) {
+            count += countItems(child, type);
+        }
+        return count;
+    }
+}
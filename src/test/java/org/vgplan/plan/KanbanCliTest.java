@@ -0,0 +1,118 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs commands against a database on disk and checks their output and exit
+ * status.
+ */
+class KanbanCliTest {
+    @TempDir
+    Path dir;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private String database;
+
+    /**
+     * Creates a database with two old tasks to do and one new one.
+     */
+    @BeforeEach
+    void createDatabase() throws SQLException {
+        database = dir.resolve("cli.db").toString();
+        Database.openUnpooled("jdbc:sqlite:" + database);
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            new SchemaMigrator().migrate(conn);
+            stmt.executeUpdate("INSERT INTO tasks (title, status, created_at) VALUES "
+                    + "('Parry', 'To Do', datetime('now', '-10 days')), "
+                    + "('Riposte', 'To Do', datetime('now', '-10 days')), "
+                    + "('Feint', 'To Do', datetime('now'))");
+        } finally {
+            Database.close();
+        }
+    }
+
+    /**
+     * count prints each status and the total.
+     */
+    @Test
+    void countPrintsTotals() {
+        assertEquals(0, run("count"));
+        assertEquals(String.format("To Do\t3%nTotal\t3%n"), output(out));
+    }
+
+    /**
+     * move-stale moves only tasks older than DAYS.
+     */
+    @Test
+    void moveStaleMovesOldTasks() {
+        assertEquals(0, run("move-stale", "To Do", "Done", "7"));
+        assertEquals(String.format("Moved 2 task(s) from 'To Do' to 'Done'.%n"), output(out));
+        out.reset();
+        assertEquals(0, run("count"));
+        assertEquals(String.format("Done\t2%nTo Do\t1%nTotal\t3%n"), output(out));
+    }
+
+    /**
+     * Unknown statuses on either side and a DAYS that is not a number are
+     * usage errors, and nothing is moved.
+     */
+    @Test
+    void moveStaleRejectsBadArguments() {
+        assertEquals(2, run("move-stale", "Todo", "Done", "7"));
+        assertTrue(output(err).startsWith("Unknown status 'Todo'"));
+        assertEquals(2, run("move-stale", "To Do", "Finished", "7"));
+        assertEquals(2, run("move-stale", "To Do", "Done", "week"));
+        assertEquals(2, run("move-stale", "To Do", "Done"));
+        assertEquals(0, run("count"));
+        assertEquals(String.format("To Do\t3%nTotal\t3%n"), output(out));
+    }
+
+    /**
+     * Unknown commands, options and export formats are usage errors.
+     */
+    @Test
+    void rejectsBadUsage() {
+        assertEquals(2, run());
+        assertEquals(2, run("purge"));
+        assertEquals(2, run("--verbose", "count"));
+        assertEquals(2, run("export", dir.resolve("out").toString(), "xml"));
+        assertEquals(2, run("count", "extra"));
+        assertTrue(output(err).contains("Usage: KanbanCli"));
+    }
+
+    /**
+     * A command that fails at run time exits with status 1.
+     */
+    @Test
+    void failedCommandExitsWithOne() {
+        assertEquals(1, run("import", dir.resolve("missing.csv").toString()));
+        assertTrue(output(err).startsWith("import failed: "));
+    }
+
+    private int run(String... command) {
+        String[] args = new String[command.length + 2];
+        args[0] = "--db";
+        args[1] = database;
+        System.arraycopy(command, 0, args, 2, command.length);
+        return new KanbanCli(new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8)).run(args);
+    }
+
+    private static String output(ByteArrayOutputStream stream) {
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+}
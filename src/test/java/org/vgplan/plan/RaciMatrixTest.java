@@ -0,0 +1,90 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.vgplan.plan.RaciMatrix.Edit;
+
+/**
+ * Edits and filters an in-memory RACI grid.
+ */
+class RaciMatrixTest {
+    private static final byte R = RaciMatrix.roleCode("R");
+    private static final byte A = RaciMatrix.roleCode("A");
+    private static final byte C = RaciMatrix.roleCode("C");
+
+    private final RaciMatrix matrix = new RaciMatrix(new int[] { 10, 20, 30 }, new String[] { "Ana", "Bo", "Cy" },
+            0);
+
+    /**
+     * Growing past the initial capacity keeps every role in its cell and
+     * leaves the new row empty.
+     */
+    @Test
+    void addActivityKeepsRolesWhenGridGrows() {
+        for (int i = 0; i < 16; i++) {
+            matrix.addActivity(100 + i, "Activity " + i);
+            matrix.putLoaded(100 + i, 10 + 10 * (i % 3), (byte) (1 + i % 4));
+        }
+        matrix.setRole(15, 2, C);
+
+        assertEquals(16, matrix.addActivity(200, "Late"));
+        for (int i = 0; i < 15; i++) {
+            assertEquals((byte) (1 + i % 4), matrix.role(i, i % 3));
+        }
+        assertEquals(C, matrix.role(15, 2));
+        assertTrue(matrix.isPending(15, 2));
+        for (int col = 0; col < 3; col++) {
+            assertEquals(RaciMatrix.NONE, matrix.role(16, col));
+        }
+        matrix.putLoaded(200, 20, A);
+        assertEquals(A, matrix.role(16, 1));
+    }
+
+    /**
+     * Clearing saved edits keeps a cell that was edited again while the
+     * save was running, with its newer role.
+     */
+    @Test
+    void clearSavedEditsKeepsNewerEdit() {
+        matrix.addActivity(100, "Design");
+        matrix.setRole(0, 0, R);
+        matrix.setRole(0, 1, A);
+        List<Edit> saving = matrix.pendingEdits();
+        assertEquals(List.of(new Edit(100, 10, R), new Edit(100, 20, A)), saving);
+
+        matrix.setRole(0, 0, C);
+        matrix.clearSavedEdits(saving);
+
+        assertEquals(List.of(new Edit(100, 10, C)), matrix.pendingEdits());
+        assertFalse(matrix.isPending(0, 1));
+    }
+
+    /**
+     * Member, role and name filters combine; a member without a role means
+     * any role in that column, a role without a member any column.
+     */
+    @Test
+    void filtersCombine() {
+        matrix.addActivity(100, "Design combat");
+        matrix.addActivity(101, "Design levels");
+        matrix.addActivity(102, "Playtest combat");
+        matrix.putLoaded(100, 10, R);
+        matrix.putLoaded(101, 20, R);
+        matrix.putLoaded(102, 10, A);
+
+        assertArrayEquals(new int[] { 0, 1, 2 }, matrix.filterRows(-1, RaciMatrix.NONE, " "));
+        assertArrayEquals(new int[] { 0, 2 }, matrix.filterRows(0, RaciMatrix.NONE, null));
+        assertArrayEquals(new int[] { 0, 1 }, matrix.filterRows(-1, R, null));
+        assertArrayEquals(new int[] { 2 }, matrix.filterRows(0, A, ""));
+        assertArrayEquals(new int[] { 1 }, matrix.filterRows(-1, R, "LEVELS"));
+        assertArrayEquals(new int[] { 0, 2 }, matrix.filterRows(-1, RaciMatrix.NONE, " combat "));
+        assertArrayEquals(new int[] {}, matrix.filterRows(2, RaciMatrix.NONE, null));
+        assertArrayEquals(new int[] {}, matrix.filterRows(1, A, "design"));
+    }
+}
@@ -0,0 +1,54 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the migrated schema against the queries the board and the hierarchy
+ * run on every load.
+ */
+class SchemaMigratorTest {
+    private Connection conn;
+
+    /**
+     * Opens a fresh in-memory database and applies every migration.
+     */
+    @BeforeEach
+    void migrateInMemoryDatabase() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaMigrator().migrate(conn);
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * A new database ends at the version of the last migration.
+     */
+    @Test
+    void migratesToLatestVersion() throws SQLException {
+        int latest = SchemaMigrator.MIGRATIONS.get(SchemaMigrator.MIGRATIONS.size() - 1).version();
+        assertEquals(latest, SchemaMigrator.currentVersion(conn));
+    }
+
+    /**
+     * No hot query falls back to a full table scan or a temporary sort.
+     */
+    @Test
+    void hotQueriesUseIndexes() throws SQLException {
+        assertEquals(List.of(), SchemaMigrator.findUnindexedScans(conn, KanbanProjectManager.hotQueries()));
+    }
+}
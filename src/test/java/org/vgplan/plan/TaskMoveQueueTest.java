@@ -0,0 +1,146 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Queues moves against a migrated database on disk. Outcomes are delivered
+ * only when the test runs them, standing in for the JavaFX thread.
+ */
+class TaskMoveQueueTest {
+    private static final byte TO_DO = 0;
+    private static final byte IN_PROGRESS = 1;
+    private static final byte DONE = 4;
+
+    @TempDir
+    Path dir;
+
+    private final BlockingQueue<Runnable> fxThread = new LinkedBlockingQueue<>();
+    private final List<Task> written = new ArrayList<>();
+    private final List<Task> reverted = new ArrayList<>();
+    private TaskMoveQueue queue;
+
+    /**
+     * Opens and migrates a database with one task to do.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        Database.openUnpooled("jdbc:sqlite:" + dir.resolve("moves.db"));
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            new SchemaMigrator().migrate(conn);
+            stmt.executeUpdate("INSERT INTO tasks (id, title, status) VALUES (1, 'Parry', 'To Do')");
+        }
+        queue = new TaskMoveQueue(new TaskRepository(Database.reader(), Database.writer()), written::add,
+                (tasks, error) -> reverted.addAll(tasks), fxThread::add);
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() {
+        Database.close();
+    }
+
+    /**
+     * Several moves of a task before a flush write only the last status.
+     */
+    @Test
+    void coalescesMovesOfATask() throws Exception {
+        move(1, TO_DO, IN_PROGRESS);
+        move(1, IN_PROGRESS, DONE);
+        assertEquals(List.of(1), queue.flush().join());
+        assertEquals("Done", status(1));
+        assertTrue(written.isEmpty());
+        fxThread.take().run();
+        assertEquals(List.of("Done"), written.stream().map(Task::status).toList());
+    }
+
+    /**
+     * A task moved back where it started needs no write and is reported at
+     * once.
+     */
+    @Test
+    void reportsRoundTripAtOnce() {
+        move(1, TO_DO, DONE);
+        move(1, DONE, TO_DO);
+        assertEquals(List.of(), queue.flush().join());
+        assertEquals(1, written.size());
+        assertTrue(fxThread.isEmpty());
+    }
+
+    /**
+     * A move of a task that no longer exists is reverted to its previous
+     * status.
+     */
+    @Test
+    void revertsMoveOfMissingTask() throws Exception {
+        move(2, TO_DO, IN_PROGRESS);
+        assertEquals(List.of(), queue.flush().join());
+        fxThread.take().run();
+        assertTrue(written.isEmpty());
+        assertEquals(List.of("To Do"), reverted.stream().map(Task::status).toList());
+    }
+
+    /**
+     * A round trip flushed while the previous write of the task is in
+     * flight is reported only when that write is stored.
+     */
+    @Test
+    void defersRoundTripUntilWriteLands() throws Exception {
+        move(1, TO_DO, IN_PROGRESS);
+        queue.flush().join();
+        move(1, IN_PROGRESS, DONE);
+        move(1, DONE, IN_PROGRESS);
+        queue.flush().join();
+        assertTrue(written.isEmpty());
+        fxThread.take().run();
+        assertEquals(List.of("In Progress"), written.stream().map(Task::status).toList());
+        assertTrue(fxThread.isEmpty());
+    }
+
+    /**
+     * A round trip waiting on a write that fails is dropped with the revert.
+     */
+    @Test
+    void dropsDeferredRoundTripWhenWriteFails() throws Exception {
+        move(2, TO_DO, IN_PROGRESS);
+        queue.flush().join();
+        move(2, IN_PROGRESS, DONE);
+        move(2, DONE, IN_PROGRESS);
+        queue.flush().join();
+        fxThread.take().run();
+        assertTrue(written.isEmpty());
+        assertEquals(List.of("To Do"), reverted.stream().map(Task::status).toList());
+    }
+
+    private void move(int taskId, byte from, byte to) {
+        Task task = Task.of(taskId, "Parry", null, null, null, KanbanProjectManager.STATUS_LIST.get(from), "High",
+                null);
+        queue.enqueue(task, task.withStatus(to));
+    }
+
+    private static String status(int taskId) throws SQLException {
+        try (Connection conn = Database.reader().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT status FROM tasks WHERE id = " + taskId)) {
+            return rs.getString(1);
+        }
+    }
+}
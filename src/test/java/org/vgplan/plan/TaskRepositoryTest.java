@@ -0,0 +1,80 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Reads board pages from a migrated database on disk.
+ */
+class TaskRepositoryTest {
+    @TempDir
+    Path dir;
+
+    private TaskRepository repository;
+
+    /**
+     * Opens and migrates a database with one task with a due date and one
+     * without.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        Database.openUnpooled("jdbc:sqlite:" + dir.resolve("tasks.db"));
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            new SchemaMigrator().migrate(conn);
+            stmt.executeUpdate("INSERT INTO tasks (id, title, assignee, module, status, priority, due_date) VALUES "
+                    + "(1, 'Parry', 'Ana', NULL, 'To Do', 'High', '2026-03-15'), "
+                    + "(2, 'Release notes', NULL, 'Docs', 'To Do', 'Someday', NULL)");
+        }
+        repository = new TaskRepository(Database.reader(), Database.writer());
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() {
+        Database.close();
+    }
+
+    /**
+     * A page decodes every card field. A NULL due date stays empty and a
+     * NULL in another column does not clear a due date.
+     */
+    @Test
+    void loadPageRoundTripsCardFields() throws SQLException {
+        List<Task> page = repository.loadPage("To Do", 0, 10);
+        assertEquals(2, page.size());
+        Task dated = page.get(0);
+        assertEquals(LocalDate.of(2026, 3, 15), dated.dueDate());
+        assertEquals("Ana", dated.assignee());
+        assertNull(dated.module());
+        assertEquals("High", dated.priority());
+        Task undated = page.get(1);
+        assertEquals(Task.NO_DUE_DATE, undated.dueDay());
+        assertNull(undated.dueDate());
+        assertNull(undated.assignee());
+        assertEquals("Docs", undated.module());
+        assertEquals("Someday", undated.priority());
+    }
+
+    /**
+     * Pages continue after the last id of the previous page.
+     */
+    @Test
+    void loadPageStartsAfterId() throws SQLException {
+        assertEquals(List.of(2), repository.loadPage("To Do", 1, 10).stream().map(Task::id).toList());
+    }
+}
@@ -0,0 +1,102 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vgplan.plan.TaskSearch.Hit;
+
+/**
+ * Builds match expressions and searches a migrated database on disk.
+ */
+class TaskSearchTest {
+    @TempDir
+    Path dir;
+
+    private TaskSearch search;
+
+    /**
+     * Opens and migrates a database; the triggers fill the index.
+     */
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        Database.openUnpooled("jdbc:sqlite:" + dir.resolve("search.db"));
+        try (Connection conn = Database.writer().getConnection()) {
+            new SchemaMigrator().migrate(conn);
+        }
+        search = new TaskSearch(Database.reader());
+    }
+
+    /**
+     * Closes the database.
+     */
+    @AfterEach
+    void close() {
+        Database.close();
+    }
+
+    /**
+     * Text shorter than the minimum, after stripping, is not searched.
+     */
+    @Test
+    void shortTextHasNoExpression() {
+        assertEquals("", TaskSearch.toMatchExpression(null));
+        assertEquals("", TaskSearch.toMatchExpression(" a "));
+    }
+
+    /**
+     * Each word becomes a quoted prefix term, so operators are literal and
+     * double quotes are dropped.
+     */
+    @Test
+    void wordsAreQuotedPrefixes() {
+        assertEquals("\"boss\"* \"OR\"* \"fight\"*", TaskSearch.toMatchExpression("  boss OR\tfight "));
+        assertEquals("\"say\"* \"hi\"*", TaskSearch.toMatchExpression("\"say\" hi \"\""));
+        assertEquals("\"a-b*\"*", TaskSearch.toMatchExpression("a-b*"));
+    }
+
+    /**
+     * A short, exact match outranks earlier rows that mention the word in
+     * passing.
+     */
+    @Test
+    void ranksBestMatchFirst() throws SQLException {
+        insertTasks(20, "Polish the shield and sword handling for the combat milestone");
+        execute("INSERT INTO tasks (id, title, status) VALUES (500, 'Sword', 'To Do')");
+        List<Hit> hits = search.search("swo", 5);
+        assertEquals(5, hits.size());
+        assertEquals(500, hits.get(0).id());
+        assertEquals("Sword", hits.get(0).name());
+        assertEquals(500, hits.get(0).taskId());
+    }
+
+    /**
+     * A query with more matches than can be ranked returns the first rows
+     * of the index.
+     */
+    @Test
+    void broadQueryReturnsFirstMatches() throws SQLException {
+        insertTasks(TaskSearch.RANK_LIMIT + 100, "Bolt");
+        List<Hit> hits = search.search("bo", 3);
+        assertEquals(List.of(1, 2, 3), hits.stream().map(Hit::id).toList());
+    }
+
+    private static void insertTasks(int count, String title) throws SQLException {
+        execute("WITH RECURSIVE n(id) AS (SELECT 1 UNION ALL SELECT id + 1 FROM n WHERE id < " + count + ") "
+                + "INSERT INTO tasks (id, title, status) SELECT id, '" + title + " ' || id, 'To Do' FROM n");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection conn = Database.writer().getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.vgplan.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.vgplan.plan.KanbanProjectManager.Task;
+
+/**
+ * Keeps the status buckets in id order through single and batched changes.
+ */
+class TaskStoreTest {
+    private final TaskStore store = new TaskStore(KanbanProjectManager.STATUS_LIST);
+
+    /**
+     * Puts insert by id, a status change moves the task between buckets and
+     * a remove takes it out of both the bucket and the id map.
+     */
+    @Test
+    void putMoveAndRemoveKeepIdOrder() {
+        store.put(task(5, "To Do"));
+        store.put(task(2, "To Do"));
+        store.put(task(9, "To Do"));
+        store.put(task(7, "Done"));
+        assertEquals(List.of(2, 5, 9), ids("To Do"));
+
+        store.put(task(5, "Done"));
+        assertEquals(List.of(2, 9), ids("To Do"));
+        assertEquals(List.of(5, 7), ids("Done"));
+        assertEquals(0, store.indexInBucket(5));
+
+        assertEquals(9, store.remove(9).id());
+        assertNull(store.remove(9));
+        assertEquals(List.of(2), ids("To Do"));
+        assertEquals(3, store.size());
+    }
+
+    /**
+     * Batched puts and removes give the same buckets as single ones.
+     */
+    @Test
+    void putAllAndRemoveAllKeepIdOrder() {
+        store.putAll(List.of(task(4, "To Do"), task(1, "To Do"), task(3, "Blocked")));
+        store.putAll(List.of(task(1, "Blocked"), task(2, "To Do")));
+        assertEquals(List.of(2, 4), ids("To Do"));
+        assertEquals(List.of(1, 3), ids("Blocked"));
+
+        store.removeAll(List.of(3, 4, 99));
+        assertEquals(List.of(2), ids("To Do"));
+        assertEquals(List.of(1), ids("Blocked"));
+    }
+
+    /**
+     * A page that does not follow the end of the bucket is merged in id
+     * order, and tasks with a write in flight are left alone.
+     */
+    @Test
+    void appendPageSkipsPendingTasks() {
+        store.put(task(10, "To Do"));
+        store.put(task(3, "Done"));
+        store.appendPage("To Do", List.of(task(3, "To Do"), task(4, "To Do"), task(12, "To Do")), id -> id == 3);
+        assertEquals(List.of(4, 10, 12), ids("To Do"));
+        assertEquals(List.of(3), ids("Done"));
+    }
+
+    /**
+     * Reconciling a bucket removes and replaces what differs, except tasks
+     * with a write in flight, and keeps unchanged tasks as they are.
+     */
+    @Test
+    void reconcileHonoursPendingTasks() {
+        Task unchanged = task(1, "To Do");
+        store.putAll(List.of(unchanged, task(2, "To Do"), task(3, "To Do"), task(4, "To Do")));
+        Task inFlight = store.get(4);
+        Set<Integer> pending = Set.of(3, 4);
+
+        store.reconcileBucket("To Do", List.of(task(1, "To Do"), Task.of(4, "Renamed", null, null, null, "To Do",
+                "High", null), task(6, "To Do")), pending::contains);
+
+        assertEquals(List.of(1, 3, 4, 6), ids("To Do"));
+        assertSame(unchanged, store.get(1));
+        assertSame(inFlight, store.get(4));
+        assertNull(store.get(2));
+    }
+
+    private static Task task(int id, String status) {
+        return Task.of(id, "Task " + id, null, null, null, status, "High", null);
+    }
+
+    private List<Integer> ids(String status) {
+        return store.statusBucket(status).stream().map(Task::id).toList();
+    }
+}